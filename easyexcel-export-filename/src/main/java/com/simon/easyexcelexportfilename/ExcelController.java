@@ -1,23 +1,49 @@
 package com.simon.easyexcelexportfilename;
 
 import com.alibaba.excel.EasyExcel;
+import com.simon.easyexcelexportfilename.export.AsyncExportService;
+import com.simon.easyexcelexportfilename.export.ExportJob;
+import com.simon.easyexcelexportfilename.export.StreamingExcelExporter;
+import com.simon.easyexcelexportfilename.importer.ImportResult;
+import com.simon.easyexcelexportfilename.importer.StreamingExcelImporter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping
 @Slf4j
 public class ExcelController {
+    private final StreamingExcelExporter exporter;
+    private final AsyncExportService asyncExports;
+    private final StreamingExcelImporter importer;
+
+    public ExcelController(StreamingExcelExporter exporter, AsyncExportService asyncExports,
+                           StreamingExcelImporter importer) {
+        this.exporter = exporter;
+        this.asyncExports = asyncExports;
+        this.importer = importer;
+    }
+
     /**
      * curl http://localhost:8080/export
      * https://cloud.tencent.com/developer/article/1640279
@@ -35,6 +61,72 @@ public class ExcelController {
         dto.setString("amanda");
         dto.setIgnore("stuff");
         resList.add(dto);
+        attachment(response, filename);
+        EasyExcel.write(response.getOutputStream(), DemoData.class).sheet("列表").doWrite(resList);
+    }// int postman, Content-Disposition is attachment;filename=????20220624.xlsx
+    // chinese string "下载列表" converted to ????
+
+
+    // ref https://segmentfault.com/a/1190000023601065  works !!  read RFC
+    // https://stackoverflow.com/questions/50408723/content-disposition-filename-in-chinese-not-supported doesn't work
+
+    /**
+     * curl -o list.xlsx http://localhost:8080/export/stream
+     * 分页拉取、逐页写入，超过单 sheet 行数自动换 sheet；内存占用与总行数无关
+     */
+    @GetMapping("/export/stream")
+    void exportStream(HttpServletResponse response) throws IOException {
+        attachment(response, "下载列表.xlsx");
+        long rows = exporter.export(response.getOutputStream(), written -> { });
+        log.info("streamed {} rows", rows);
+    }
+
+    /**
+     * curl -X POST http://localhost:8080/export/async
+     * 导出到服务器文件，立即返回任务；用 GET /export/async/{id} 轮询进度
+     */
+    @PostMapping("/export/async")
+    ResponseEntity<ExportJob> exportAsync() {
+        ExportJob job = asyncExports.submit();
+        return ResponseEntity.accepted().location(URI.create("/export/async/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/export/async/{id}")
+    ResponseEntity<ExportJob> exportStatus(@PathVariable String id) {
+        return ResponseEntity.of(asyncExports.find(id));
+    }
+
+    /** 任务完成后下载；未完成返回 409 */
+    @GetMapping("/export/async/{id}/file")
+    void exportFile(@PathVariable String id, HttpServletResponse response) throws IOException {
+        Optional<ExportJob> job = asyncExports.find(id);
+        if (job.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (job.get().getState() != ExportJob.State.DONE) {
+            response.sendError(HttpServletResponse.SC_CONFLICT, "export is " + job.get().getState());
+            return;
+        }
+        attachment(response, "下载列表.xlsx");
+        response.setContentLengthLong(Files.size(job.get().getFile()));
+        Files.copy(job.get().getFile(), response.getOutputStream());
+    }
+
+    /**
+     * curl -F file=@list.xlsx http://localhost:8080/import
+     * 流式解析、多线程校验并分批入库，返回逐行错误；失败后带上返回的 importId 重新上传同一文件，从断点继续
+     */
+    @PostMapping("/import")
+    ImportResult importExcel(@RequestParam("file") MultipartFile file,
+                             @RequestParam(value = "importId", required = false) String importId) throws IOException {
+        String id = importId != null ? importId : UUID.randomUUID().toString();
+        try (InputStream in = file.getInputStream()) {
+            return importer.importFrom(in, id);
+        }
+    }
+
+    private static void attachment(HttpServletResponse response, String filename) throws IOException {
         response.setHeader("Content-Type", "application/vnd.ms-excel");
         response.setCharacterEncoding(StandardCharsets.UTF_8.name());
         String preEncodedFilename = URLEncoder.encode(filename, StandardCharsets.UTF_8.name());
@@ -46,11 +138,5 @@ public class ExcelController {
         log.info("#Content-Disposition={}", contentDispositionBuilder);
 
         response.setHeader("Content-Disposition", contentDispositionBuilder.toString());
-        EasyExcel.write(response.getOutputStream(), DemoData.class).sheet("列表").doWrite(resList);
-    }// int postman, Content-Disposition is attachment;filename=????20220624.xlsx
-    // chinese string "下载列表" converted to ????
-
-
-    // ref https://segmentfault.com/a/1190000023601065  works !!  read RFC
-    // https://stackoverflow.com/questions/50408723/content-disposition-filename-in-chinese-not-supported doesn't work
+    }
 }
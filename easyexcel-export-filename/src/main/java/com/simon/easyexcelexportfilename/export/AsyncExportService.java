@@ -0,0 +1,96 @@
+package com.simon.easyexcelexportfilename.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs exports into files under {@code export.async.dir} on a small fixed pool, so large exports do not tie up
+ * a request thread and a dropped connection does not lose the work. Finished jobs and their files are purged
+ * after {@code export.async.retention}.
+ */
+@Slf4j
+@Service
+public class AsyncExportService {
+    private final StreamingExcelExporter exporter;
+    private final Path dir;
+    private final long retentionMillis;
+    private final ExecutorService pool;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public AsyncExportService(StreamingExcelExporter exporter,
+                              @Value("${export.async.dir:${java.io.tmpdir}/excel-exports}") String dir,
+                              @Value("${export.async.threads:2}") int threads,
+                              @Value("${export.async.retention:PT1H}") Duration retention) throws IOException {
+        this.exporter = exporter;
+        this.dir = Files.createDirectories(Paths.get(dir));
+        this.retentionMillis = retention.toMillis();
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "excel-export");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public ExportJob submit() {
+        purgeExpired();
+        String id = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(id, exporter.total(), dir.resolve(id + ".xlsx"));
+        jobs.put(id, job);
+        pool.execute(() -> run(job));
+        return job;
+    }
+
+    public Optional<ExportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(ExportJob job) {
+        job.running();
+        try (OutputStream out = Files.newOutputStream(job.getFile())) {
+            exporter.export(out, job::progress);
+            job.done();
+            log.info("export {} done, {} rows", job.getId(), job.getRowsWritten());
+        } catch (IOException | RuntimeException e) {
+            log.warn("export {} failed", job.getId(), e);
+            job.failed(e);
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getFinishedAt() != 0 && job.getFinishedAt() < cutoff;
+            if (expired) deleteQuietly(job.getFile());
+            return expired;
+        });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("could not delete {}", file, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
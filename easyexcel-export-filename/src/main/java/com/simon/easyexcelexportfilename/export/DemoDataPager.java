@@ -0,0 +1,16 @@
+package com.simon.easyexcelexportfilename.export;
+
+import com.simon.easyexcelexportfilename.DemoData;
+
+import java.util.List;
+
+/**
+ * Source of export rows, read page by page so only one page is ever held in memory.
+ * Implementations backed by a database should page by key (where id > lastId) rather than by offset.
+ */
+public interface DemoDataPager {
+    long count();
+
+    /** Rows {@code [offset, offset + limit)}; fewer than {@code limit} only at the end. */
+    List<DemoData> page(long offset, int limit);
+}
@@ -0,0 +1,56 @@
+package com.simon.easyexcelexportfilename.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** State of one export-to-file run, polled through {@code GET /export/async/{id}}. */
+@Getter
+public class ExportJob {
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final long totalRows;
+    @JsonIgnore
+    private final Path file;
+    @JsonIgnore
+    private final AtomicLong written = new AtomicLong();
+    private volatile State state = State.QUEUED;
+    private volatile String error;
+    private volatile long finishedAt;
+
+    ExportJob(String id, long totalRows, Path file) {
+        this.id = id;
+        this.totalRows = totalRows;
+        this.file = file;
+    }
+
+    public long getRowsWritten() {
+        return written.get();
+    }
+
+    public int getPercent() {
+        return totalRows == 0 ? 100 : (int) (written.get() * 100 / totalRows);
+    }
+
+    void running() {
+        state = State.RUNNING;
+    }
+
+    void progress(long rows) {
+        written.set(rows);
+    }
+
+    void done() {
+        finishedAt = System.currentTimeMillis();
+        state = State.DONE;
+    }
+
+    void failed(Throwable t) {
+        error = t.toString();
+        finishedAt = System.currentTimeMillis();
+        state = State.FAILED;
+    }
+}
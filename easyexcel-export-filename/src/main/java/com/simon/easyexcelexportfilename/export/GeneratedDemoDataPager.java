@@ -0,0 +1,39 @@
+package com.simon.easyexcelexportfilename.export;
+
+import com.simon.easyexcelexportfilename.DemoData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/** Synthetic rows computed from their index, standing in for a real table of {@code export.demo.rows} rows. */
+@Component
+public class GeneratedDemoDataPager implements DemoDataPager {
+    private static final long EPOCH = 1656000000000L;
+    private final long rows;
+
+    public GeneratedDemoDataPager(@Value("${export.demo.rows:2000000}") long rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public long count() {
+        return rows;
+    }
+
+    @Override
+    public List<DemoData> page(long offset, int limit) {
+        int size = (int) Math.max(0, Math.min(limit, rows - offset));
+        List<DemoData> page = new ArrayList<>(size);
+        for (long i = offset; i < offset + size; i++) {
+            DemoData d = new DemoData();
+            d.setString("row-" + i);
+            d.setDate(new Date(EPOCH + i * 1000));
+            d.setDoubleData(i / 100.0);
+            page.add(d);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,74 @@
+package com.simon.easyexcelexportfilename.export;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import com.simon.easyexcelexportfilename.DemoData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes every row of a {@link DemoDataPager} to one xlsx without holding the data set.
+ * Pages are pulled one at a time and appended through a single {@link ExcelWriter}, which keeps only a small
+ * window of rows in memory (SXSSF) and flushes the rest to a temp file; the next sheet starts when the current one
+ * reaches {@code export.rows-per-sheet}, below the xlsx limit of 1,048,576 rows including the header.
+ */
+@Component
+public class StreamingExcelExporter {
+    private final DemoDataPager pager;
+    private final int pageSize;
+    private final long rowsPerSheet;
+
+    public StreamingExcelExporter(DemoDataPager pager,
+                                  @Value("${export.page-size:5000}") int pageSize,
+                                  @Value("${export.rows-per-sheet:1000000}") long rowsPerSheet) {
+        if (rowsPerSheet < 1 || rowsPerSheet > 1_048_575) {
+            throw new IllegalArgumentException("export.rows-per-sheet must be within 1..1048575");
+        }
+        this.pager = pager;
+        this.pageSize = pageSize;
+        this.rowsPerSheet = rowsPerSheet;
+    }
+
+    public long total() {
+        return pager.count();
+    }
+
+    /** Writes all rows to {@code out} and returns how many were written; {@code progress} sees the running count. */
+    public long export(OutputStream out, LongConsumer progress) {
+        ExcelWriter writer = EasyExcel.write(out, DemoData.class).autoCloseStream(false).build();
+        try {
+            long written = 0;
+            int sheetNo = 0;
+            long inSheet = 0;
+            WriteSheet sheet = sheet(sheetNo);
+            while (true) {
+                // never let a page run past the sheet boundary
+                int limit = (int) Math.min(pageSize, rowsPerSheet - inSheet);
+                List<DemoData> page = pager.page(written, limit);
+                if (page.isEmpty()) break;
+                writer.write(page, sheet);
+                written += page.size();
+                inSheet += page.size();
+                progress.accept(written);
+                if (page.size() < limit) break;
+                if (inSheet == rowsPerSheet) {
+                    sheet = sheet(++sheetNo);
+                    inSheet = 0;
+                }
+            }
+            if (written == 0) writer.write(List.of(), sheet);
+            return written;
+        } finally {
+            writer.finish();
+        }
+    }
+
+    private static WriteSheet sheet(int no) {
+        return EasyExcel.writerSheet(no, no == 0 ? "列表" : "列表" + (no + 1)).build();
+    }
+}
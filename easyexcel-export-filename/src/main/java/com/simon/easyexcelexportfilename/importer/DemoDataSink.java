@@ -0,0 +1,20 @@
+package com.simon.easyexcelexportfilename.importer;
+
+import java.util.List;
+
+/**
+ * Destination of imported rows plus the per-import checkpoint. {@link #insert} is called concurrently from the
+ * import workers with batches in any order; {@link #checkpoint(String, long)} only ever moves forward and only past
+ * rows whose batches have been inserted.
+ */
+public interface DemoDataSink {
+    void insert(String importId, List<ImportRow> rows);
+
+    /** Last row known to be committed together with every row before it, 0 if the import never ran. */
+    long checkpoint(String importId);
+
+    void checkpoint(String importId, long lastRow);
+
+    /** Drops rows after {@code lastRow} left behind by an interrupted run, so a resumed run can insert them again. */
+    void discardAfter(String importId, long lastRow);
+}
@@ -0,0 +1,29 @@
+package com.simon.easyexcelexportfilename.importer;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of one upload. Counts cover this run only; rows up to {@code resumedAfter} were committed by an earlier
+ * run of the same {@code importId} and were skipped. After a failure, uploading the same file again with the same
+ * {@code importId} continues after {@code checkpoint}.
+ */
+@Value
+@Builder
+public class ImportResult {
+    public enum State { COMPLETED, FAILED }
+
+    String importId;
+    State state;
+    long resumedAfter;
+    long checkpoint;
+    long rowsRead;
+    long rowsImported;
+    long rowsRejected;
+    /** At most {@code import.max-errors} of the rejected rows, in row order; {@code rowsRejected} has the total. */
+    List<RowError> errors;
+    String failure;
+    long elapsedMillis;
+}
@@ -0,0 +1,16 @@
+package com.simon.easyexcelexportfilename.importer;
+
+import com.simon.easyexcelexportfilename.DemoData;
+import lombok.Value;
+
+/**
+ * One parsed data row. {@code row} is the 1-based position among all data rows of the workbook (headers excluded,
+ * sheets in order); it is stable across uploads of the same file, which is what checkpoints are expressed in.
+ */
+@Value
+public class ImportRow {
+    long row;
+    String sheet;
+    int excelRow;
+    DemoData data;
+}
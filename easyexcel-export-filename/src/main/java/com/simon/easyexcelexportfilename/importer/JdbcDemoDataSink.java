@@ -0,0 +1,56 @@
+package com.simon.easyexcelexportfilename.importer;
+
+import com.simon.easyexcelexportfilename.DemoData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/** Writes rows with one JDBC batch per call, keyed by {@code (import_id, row_no)} so a row can never land twice. */
+@Component
+public class JdbcDemoDataSink implements DemoDataSink {
+    private static final String INSERT =
+            "insert into demo_data(import_id, row_no, string_value, date_value, double_value) values (?, ?, ?, ?, ?)";
+    private final JdbcTemplate jdbc;
+
+    public JdbcDemoDataSink(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void insert(String importId, List<ImportRow> rows) {
+        jdbc.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            DemoData d = row.getData();
+            ps.setString(1, importId);
+            ps.setLong(2, row.getRow());
+            ps.setString(3, d.getString());
+            ps.setTimestamp(4, new Timestamp(d.getDate().getTime()));
+            ps.setDouble(5, d.getDoubleData());
+        });
+    }
+
+    @Override
+    public long checkpoint(String importId) {
+        List<Long> last = jdbc.queryForList(
+                "select last_row from demo_import_checkpoint where import_id = ?", Long.class, importId);
+        return last.isEmpty() ? 0 : last.get(0);
+    }
+
+    // checkpoints of one import are written by one thread at a time, so update-then-insert cannot race
+    @Override
+    public void checkpoint(String importId, long lastRow) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int updated = jdbc.update("update demo_import_checkpoint set last_row = ?, updated_at = ? where import_id = ?",
+                lastRow, now, importId);
+        if (updated == 0) {
+            jdbc.update("insert into demo_import_checkpoint(import_id, last_row, updated_at) values (?, ?, ?)",
+                    importId, lastRow, now);
+        }
+    }
+
+    @Override
+    public void discardAfter(String importId, long lastRow) {
+        jdbc.update("delete from demo_data where import_id = ? and row_no > ?", importId, lastRow);
+    }
+}
@@ -0,0 +1,12 @@
+package com.simon.easyexcelexportfilename.importer;
+
+import lombok.Value;
+
+/** A rejected row, located both by its import position and by sheet name and 1-based row number as Excel shows it. */
+@Value
+public class RowError {
+    long row;
+    String sheet;
+    int excelRow;
+    String message;
+}
@@ -0,0 +1,268 @@
+package com.simon.easyexcelexportfilename.importer;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.exception.ExcelDataConvertException;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.simon.easyexcelexportfilename.DemoData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports every sheet of an xlsx into a {@link DemoDataSink} without holding the workbook.
+ * EasyExcel parses the file with SAX on the calling thread and hands rows to a {@link ReadListener}, which groups them
+ * into batches of {@code import.batch-size} and puts them on a queue of {@code import.queue-capacity} batches; when the
+ * queue is full the parser waits, so memory stays bounded however fast the file is read. {@code import.workers}
+ * threads take batches, validate their rows and insert the valid ones in one call.
+ *
+ * <p>Batches finish out of order, so the checkpoint advances only over the unbroken prefix of finished batches.
+ * A run of the same {@code importId} first drops rows inserted after that checkpoint, then skips the rows up to it.
+ */
+@Slf4j
+@Component
+public class StreamingExcelImporter {
+    private static final Batch END = new Batch(-1);
+    private final DemoDataSink sink;
+    private final int batchSize;
+    private final int workers;
+    private final int queueCapacity;
+    private final int maxErrors;
+
+    public StreamingExcelImporter(DemoDataSink sink,
+                                  @Value("${import.batch-size:2000}") int batchSize,
+                                  @Value("${import.workers:4}") int workers,
+                                  @Value("${import.queue-capacity:8}") int queueCapacity,
+                                  @Value("${import.max-errors:1000}") int maxErrors) {
+        if (batchSize < 1 || workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("import.batch-size, import.workers and import.queue-capacity must be positive");
+        }
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportResult importFrom(InputStream in, String importId) {
+        long start = System.currentTimeMillis();
+        long resumeAfter = sink.checkpoint(importId);
+        sink.discardAfter(importId, resumeAfter);
+        Run run = new Run(importId, resumeAfter);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "excel-import");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < workers; i++) pool.execute(run::work);
+        try {
+            EasyExcel.read(in, DemoData.class, run).autoCloseStream(false).doReadAll();
+            run.flush();
+        } catch (RuntimeException e) {
+            run.fail(e);
+        } finally {
+            run.finish(pool);
+        }
+        ImportResult result = run.result(System.currentTimeMillis() - start);
+        log.info("import {} {}: {} rows read, {} imported, {} rejected, checkpoint {}", importId, result.getState(),
+                result.getRowsRead(), result.getRowsImported(), result.getRowsRejected(), result.getCheckpoint());
+        return result;
+    }
+
+    /** {@code null} when the row can be stored. */
+    static String validate(DemoData d) {
+        if (d.getString() == null || d.getString().isBlank()) return "string is required";
+        if (d.getString().length() > 255) return "string is longer than 255 characters";
+        if (d.getDate() == null) return "date is required";
+        if (d.getDoubleData() == null || !Double.isFinite(d.getDoubleData())) return "doubleData must be a finite number";
+        return null;
+    }
+
+    private static final class Batch {
+        final long seq;
+        final List<ImportRow> rows = new ArrayList<>();
+        long lastRow;
+
+        Batch(long seq) {
+            this.seq = seq;
+        }
+    }
+
+    /** State of one import: the listener side runs on the parsing thread, {@link #work} on the pool. */
+    private final class Run implements ReadListener<DemoData> {
+        private final String importId;
+        private final long resumeAfter;
+        private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final List<RowError> errors = new ArrayList<>();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicInteger running = new AtomicInteger(workers);
+        // finished batches past the checkpoint, by sequence number; guarded by this
+        private final Map<Long, Long> finished = new HashMap<>();
+        private long nextSeq;
+        private volatile long checkpoint;
+        private volatile Throwable failure;
+        // parsing thread only
+        private long row;
+        private long seq;
+        private Batch current = new Batch(0);
+
+        Run(String importId, long resumeAfter) {
+            this.importId = importId;
+            this.resumeAfter = resumeAfter;
+            this.checkpoint = resumeAfter;
+        }
+
+        @Override
+        public void invoke(DemoData data, AnalysisContext context) {
+            if (++row <= resumeAfter) return;
+            current.rows.add(new ImportRow(row, sheet(context), excelRow(context), data));
+            current.lastRow = row;
+            if (current.rows.size() >= batchSize) flush();
+        }
+
+        // a cell that does not convert still takes its row position, so positions match between runs
+        @Override
+        public void onException(Exception exception, AnalysisContext context) throws Exception {
+            if (!(exception instanceof ExcelDataConvertException)) throw exception;
+            if (++row <= resumeAfter) return;
+            ExcelDataConvertException e = (ExcelDataConvertException) exception;
+            reject(new RowError(row, sheet(context), e.getRowIndex() + 1,
+                    "column " + (e.getColumnIndex() + 1) + " cannot be read: " + e.getCellData()));
+            current.lastRow = row;
+        }
+
+        @Override
+        public boolean hasNext(AnalysisContext context) {
+            return failure == null;
+        }
+
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+        }
+
+        void flush() {
+            if (current.lastRow == 0) return;
+            try {
+                queue.put(current);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("import interrupted", e);
+            }
+            current = new Batch(++seq);
+        }
+
+        void work() {
+            try {
+                for (Batch batch; (batch = queue.take()) != END; ) {
+                    // after a failure keep draining so the parser never blocks on a full queue
+                    if (failure != null) continue;
+                    try {
+                        process(batch);
+                    } catch (RuntimeException e) {
+                        fail(e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        private void process(Batch batch) {
+            List<ImportRow> valid = new ArrayList<>(batch.rows.size());
+            for (ImportRow r : batch.rows) {
+                String problem = validate(r.getData());
+                if (problem == null) {
+                    valid.add(r);
+                } else {
+                    reject(new RowError(r.getRow(), r.getSheet(), r.getExcelRow(), problem));
+                }
+            }
+            if (!valid.isEmpty()) sink.insert(importId, valid);
+            imported.addAndGet(valid.size());
+            finished(batch);
+        }
+
+        private synchronized void finished(Batch batch) {
+            finished.put(batch.seq, batch.lastRow);
+            Long last = null;
+            for (Long r; (r = finished.remove(nextSeq)) != null; nextSeq++) last = r;
+            if (last != null) {
+                sink.checkpoint(importId, last);
+                checkpoint = last;
+            }
+        }
+
+        private void reject(RowError error) {
+            rejected.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) errors.add(error);
+            }
+        }
+
+        synchronized void fail(Throwable t) {
+            if (failure != null) return;
+            failure = t;
+            log.warn("import {} failed", importId, t);
+        }
+
+        void finish(ExecutorService pool) {
+            try {
+                for (int i = 0; i < workers; i++) queue.put(END);
+                pool.shutdown();
+                if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                    fail(new IllegalStateException(running.get() + " import workers still busy"));
+                    pool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                pool.shutdownNow();
+            }
+        }
+
+        ImportResult result(long elapsedMillis) {
+            List<RowError> sorted;
+            synchronized (errors) {
+                sorted = new ArrayList<>(errors);
+            }
+            sorted.sort(Comparator.comparingLong(RowError::getRow));
+            return ImportResult.builder()
+                    .importId(importId)
+                    .state(failure == null ? ImportResult.State.COMPLETED : ImportResult.State.FAILED)
+                    .resumedAfter(resumeAfter)
+                    .checkpoint(checkpoint)
+                    .rowsRead(Math.max(0, row - resumeAfter))
+                    .rowsImported(imported.get())
+                    .rowsRejected(rejected.get())
+                    .errors(sorted)
+                    .failure(failure == null ? null : failure.toString())
+                    .elapsedMillis(elapsedMillis)
+                    .build();
+        }
+
+        private String sheet(AnalysisContext context) {
+            return context.readSheetHolder().getSheetName();
+        }
+
+        private int excelRow(AnalysisContext context) {
+            return context.readRowHolder().getRowIndex() + 1;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+create table if not exists demo_data (
+    import_id    varchar(64)  not null,
+    row_no       bigint       not null,
+    string_value varchar(255) not null,
+    date_value   timestamp    not null,
+    double_value double       not null,
+    primary key (import_id, row_no)
+);
+
+create table if not exists demo_import_checkpoint (
+    import_id  varchar(64) primary key,
+    last_row   bigint      not null,
+    updated_at timestamp   not null
+);
@@ -0,0 +1,41 @@
+package com.simon.easyexcelexportfilename.export;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.read.metadata.ReadSheet;
+import com.simon.easyexcelexportfilename.DemoData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingExcelExporterTests {
+
+    @Test
+    void splitsSheetsAtRowLimitAndReportsProgress() {
+        StreamingExcelExporter exporter = new StreamingExcelExporter(new GeneratedDemoDataPager(7), 2, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Long> progress = new ArrayList<>();
+
+        long written = exporter.export(out, progress::add);
+
+        assertEquals(7, written);
+        assertEquals(7L, progress.get(progress.size() - 1));
+        byte[] xlsx = out.toByteArray();
+        ExcelReader reader = EasyExcel.read(new ByteArrayInputStream(xlsx)).build();
+        List<ReadSheet> sheets = reader.excelExecutor().sheetList();
+        reader.finish();
+        assertEquals(3, sheets.size());
+
+        List<Integer> rowsPerSheet = new ArrayList<>();
+        for (int i = 0; i < sheets.size(); i++) {
+            List<DemoData> rows = EasyExcel.read(new ByteArrayInputStream(xlsx)).head(DemoData.class).sheet(i).doReadSync();
+            rowsPerSheet.add(rows.size());
+        }
+        assertEquals(List.of(3, 3, 1), rowsPerSheet);
+    }
+}
@@ -0,0 +1,109 @@
+package com.simon.easyexcelexportfilename.importer;
+
+import com.alibaba.excel.EasyExcel;
+import com.simon.easyexcelexportfilename.DemoData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingExcelImporterTests {
+
+    @Test
+    void insertsValidRowsInParallelAndCollectsRowErrors() {
+        MemorySink sink = new MemorySink();
+        StreamingExcelImporter importer = new StreamingExcelImporter(sink, 3, 3, 1, 100);
+
+        ImportResult result = importer.importFrom(new ByteArrayInputStream(workbook(10, 3, 7)), "a");
+
+        assertEquals(ImportResult.State.COMPLETED, result.getState());
+        assertEquals(10, result.getRowsRead());
+        assertEquals(8, result.getRowsImported());
+        assertEquals(2, result.getRowsRejected());
+        assertEquals(List.of(3L, 7L), result.getErrors().stream().map(RowError::getRow).collect(Collectors.toList()));
+        assertEquals(4, result.getErrors().get(0).getExcelRow());
+        assertEquals(10, result.getCheckpoint());
+        assertEquals(8, sink.rows.size());
+    }
+
+    @Test
+    void resumesAfterTheCheckpointOfAFailedRun() {
+        MemorySink sink = new MemorySink();
+        sink.failOnRow = 5;
+        StreamingExcelImporter importer = new StreamingExcelImporter(sink, 2, 1, 1, 100);
+        byte[] xlsx = workbook(10);
+
+        ImportResult failed = importer.importFrom(new ByteArrayInputStream(xlsx), "b");
+
+        assertEquals(ImportResult.State.FAILED, failed.getState());
+        assertEquals(4, failed.getCheckpoint());
+
+        sink.failOnRow = 0;
+        ImportResult resumed = importer.importFrom(new ByteArrayInputStream(xlsx), "b");
+
+        assertEquals(ImportResult.State.COMPLETED, resumed.getState());
+        assertEquals(4, resumed.getResumedAfter());
+        assertEquals(6, resumed.getRowsImported());
+        assertEquals(10, resumed.getCheckpoint());
+        assertEquals(10, sink.rows.size());
+    }
+
+    /** {@code rows} data rows; the listed 1-based rows miss their date or string. */
+    private static byte[] workbook(int rows, int... broken) {
+        List<DemoData> data = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            DemoData d = new DemoData();
+            d.setString("row-" + i);
+            d.setDate(new Date(1656000000000L + i * 1000L));
+            d.setDoubleData(i / 100.0);
+            data.add(d);
+        }
+        for (int i = 0; i < broken.length; i++) {
+            DemoData d = data.get(broken[i] - 1);
+            if (i % 2 == 0) d.setString(null); else d.setDate(null);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.write(out, DemoData.class).sheet("列表").doWrite(data);
+        return out.toByteArray();
+    }
+
+    private static final class MemorySink implements DemoDataSink {
+        final ConcurrentSkipListMap<Long, DemoData> rows = new ConcurrentSkipListMap<>();
+        final Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+        volatile long failOnRow;
+
+        @Override
+        public void insert(String importId, List<ImportRow> batch) {
+            for (ImportRow r : batch) {
+                if (r.getRow() == failOnRow) throw new IllegalStateException("sink down");
+            }
+            for (ImportRow r : batch) {
+                if (rows.putIfAbsent(r.getRow(), r.getData()) != null) throw new IllegalStateException("duplicate " + r.getRow());
+            }
+        }
+
+        @Override
+        public long checkpoint(String importId) {
+            return checkpoints.getOrDefault(importId, 0L);
+        }
+
+        @Override
+        public void checkpoint(String importId, long lastRow) {
+            checkpoints.put(importId, lastRow);
+        }
+
+        @Override
+        public void discardAfter(String importId, long lastRow) {
+            rows.tailMap(lastRow, false).clear();
+        }
+    }
+}
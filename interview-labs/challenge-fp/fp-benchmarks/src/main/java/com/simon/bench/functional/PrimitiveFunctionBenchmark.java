@@ -0,0 +1,112 @@
+package com.simon.bench.functional;
+
+import com.simon.functional.primitive.IntIntToLongFunction;
+import com.simon.functional.primitive.PrimitiveFunctions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 装箱函数式接口 vs 原始类型特化接口
+ * 输入取值远超Integer缓存范围(-128~127)，装箱版本每次调用都会分配对象；用 -prof gc 看 gc.alloc.rate.norm
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PrimitiveFunctionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private int[] values;
+
+    private Function<Integer, Integer> boxedPipeline;
+    private IntUnaryOperator primitivePipeline;
+
+    private BiFunction<Integer, Integer, Long> boxedMultiply;
+    private IntIntToLongFunction primitiveMultiply;
+
+    private Supplier<Long> boxedMemo;
+    private LongSupplier primitiveMemo;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        values = random.ints(size, 1_000, 1_000_000).toArray();
+
+        Function<Integer, Integer> addOne = x -> x + 1;
+        boxedPipeline = addOne.andThen(x -> x * 3).andThen(x -> x ^ (x >>> 7));
+        primitivePipeline = PrimitiveFunctions.pipeline(x -> x + 1, x -> x * 3, x -> x ^ (x >>> 7));
+
+        boxedMultiply = (a, b) -> (long) a * b;
+        primitiveMultiply = (a, b) -> (long) a * b;
+
+        long seed = random.nextLong();
+        Long cached = seed;
+        boxedMemo = () -> cached;
+        primitiveMemo = PrimitiveFunctions.memoize(() -> seed);
+    }
+
+    @Benchmark
+    public long boxedComposition() {
+        long sum = 0;
+        for (int v : values) {
+            sum += boxedPipeline.apply(v);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveComposition() {
+        long sum = 0;
+        for (int v : values) {
+            sum += primitivePipeline.applyAsInt(v);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long boxedBiFunction() {
+        long sum = 0;
+        for (int i = 1; i < values.length; i++) {
+            sum += boxedMultiply.apply(values[i - 1], values[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveBiFunction() {
+        long sum = 0;
+        for (int i = 1; i < values.length; i++) {
+            sum += primitiveMultiply.applyAsLong(values[i - 1], values[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long boxedSupplier() {
+        long sum = 0;
+        for (int v : values) {
+            sum += boxedMemo.get() + v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long memoizedLongSupplier() {
+        long sum = 0;
+        for (int v : values) {
+            sum += primitiveMemo.getAsLong() + v;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,85 @@
+package com.simon.bench.stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 收集器：groupingBy、summarizingInt，以及把多次遍历合并成一次的收集器融合
+ * 对应 StreamApiDemo.demonstrateCollectors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CollectorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<String> words;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        words = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // 长度1~16的单词，分组后有16个桶
+            words.add("w".repeat(1 + random.nextInt(16)));
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingByToList() {
+        return words.stream().collect(Collectors.groupingBy(String::length));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCounting() {
+        // 下游收集器直接计数，不保留分组里的元素
+        return words.stream().collect(Collectors.groupingBy(String::length, Collectors.counting()));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics summarizingInt() {
+        return words.stream().collect(Collectors.summarizingInt(String::length));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics mapToIntSummaryStatistics() {
+        return words.stream().mapToInt(String::length).summaryStatistics();
+    }
+
+    @Benchmark
+    public Object[] separatePasses() {
+        // 三次遍历分别算数量、总长度、最大长度；count()前加filter，避免SIZED流直接返回大小而不遍历
+        long count = words.stream().filter(w -> !w.isEmpty()).count();
+        long total = words.stream().mapToLong(String::length).sum();
+        int max = words.stream().mapToInt(String::length).max().orElse(0);
+        return new Object[]{count, total, max};
+    }
+
+    @Benchmark
+    public Object[] fusedTeeing() {
+        // teeing把两个收集器合成一次遍历
+        return words.stream().collect(Collectors.teeing(
+            Collectors.summarizingInt(String::length),
+            Collectors.counting(),
+            (stats, count) -> new Object[]{count, stats.getSum(), stats.getMax()}));
+    }
+
+    @Benchmark
+    public Map<Integer, IntSummaryStatistics> fusedGroupingSummary() {
+        // 分组和统计一次完成，而不是先groupingBy再对每组单独统计
+        return words.stream().collect(Collectors.groupingBy(String::length,
+            Collectors.summarizingInt(String::length)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.simon.bench.stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并行流在不同大小的ForkJoinPool里运行。在自定义池里调用parallelStream()，
+ * 拆出来的任务会留在这个池里执行，而不是公共池
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ForkJoinPoolSizingBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private List<Integer> numbers;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        numbers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            numbers.add(random.nextInt(1_000));
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long cpuBound() throws ExecutionException, InterruptedException {
+        return pool.submit(() -> numbers.parallelStream()
+            .mapToLong(x -> (long) x * x)
+            .filter(x -> x % 3 == 0)
+            .sum()).get();
+    }
+
+    @Benchmark
+    public long commonPool() {
+        // 对照组：公共池，并行度 = CPU核数 - 1
+        return numbers.parallelStream()
+            .mapToLong(x -> (long) x * x)
+            .filter(x -> x % 3 == 0)
+            .sum();
+    }
+}
@@ -0,0 +1,87 @@
+package com.simon.bench.stream;
+
+import com.simon.stream.FixedBatchSpliterator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+/**
+ * 数据源的可拆分性对并行流的影响：ArrayList按下标对半拆，LinkedList和Iterator只能按递增批次拆，
+ * FixedBatchSpliterator按固定批大小拆。每个元素做一点CPU计算，模拟非平凡的map
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SpliteratorBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"64", "1024"})
+    private int batchSize;
+
+    private List<Integer> arrayList;
+    private List<Integer> linkedList;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        arrayList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            arrayList.add(random.nextInt());
+        }
+        linkedList = new LinkedList<>(arrayList);
+    }
+
+    private static long work(int seed) {
+        // 约几百纳秒的纯计算，足以让并行有收益
+        long h = seed;
+        for (int i = 0; i < 64; i++) {
+            h = h * 0x9E3779B97F4A7C15L + i;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    @Benchmark
+    public long arrayListSequential() {
+        return arrayList.stream().mapToLong(SpliteratorBenchmark::work).sum();
+    }
+
+    @Benchmark
+    public long arrayListParallel() {
+        return arrayList.parallelStream().mapToLong(SpliteratorBenchmark::work).sum();
+    }
+
+    @Benchmark
+    public long linkedListParallel() {
+        return linkedList.parallelStream().mapToLong(SpliteratorBenchmark::work).sum();
+    }
+
+    @Benchmark
+    public long linkedListFixedBatch() {
+        return FixedBatchSpliterator.parallelStream(linkedList, batchSize)
+            .mapToLong(SpliteratorBenchmark::work).sum();
+    }
+
+    @Benchmark
+    public long iteratorParallel() {
+        return StreamSupport.stream(
+                java.util.Spliterators.spliteratorUnknownSize(linkedList.iterator(), java.util.Spliterator.ORDERED), true)
+            .mapToLong(SpliteratorBenchmark::work).sum();
+    }
+
+    @Benchmark
+    public long iteratorFixedBatch() {
+        return FixedBatchSpliterator.parallelStream(linkedList.iterator(), batchSize)
+            .mapToLong(SpliteratorBenchmark::work).sum();
+    }
+}
@@ -0,0 +1,126 @@
+package com.simon.bench.stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * map/filter/sum管道：装箱流、原始类型流、手写循环，顺序与并行
+ * 对应 StreamApiDemo.demonstrateBasicOperations / demonstrateParallelStream / demonstrateShortCircuit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StreamPipelineBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Integer> boxed;
+    private int[] primitive;
+
+    @Setup
+    public void setUp() {
+        // 固定种子，每次运行的输入完全相同
+        SplittableRandom random = new SplittableRandom(42);
+        primitive = random.ints(size, 0, 1_000).toArray();
+        boxed = new ArrayList<>(size);
+        for (int value : primitive) {
+            boxed.add(value);
+        }
+    }
+
+    @Benchmark
+    public long boxedSequential() {
+        return boxed.stream()
+            .map(x -> x * x)
+            .filter(x -> x % 2 == 0)
+            .mapToLong(Integer::longValue)
+            .sum();
+    }
+
+    @Benchmark
+    public long boxedParallel() {
+        return boxed.parallelStream()
+            .map(x -> x * x)
+            .filter(x -> x % 2 == 0)
+            .mapToLong(Integer::longValue)
+            .sum();
+    }
+
+    @Benchmark
+    public long boxedReduce() {
+        // StreamApiDemo里的写法：reduce(0, Integer::sum)每一步都要拆箱再装箱
+        return boxed.stream()
+            .map(x -> x * x)
+            .filter(x -> x % 2 == 0)
+            .reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public long primitiveSequential() {
+        return boxed.stream()
+            .mapToInt(Integer::intValue)
+            .map(x -> x * x)
+            .filter(x -> x % 2 == 0)
+            .asLongStream()
+            .sum();
+    }
+
+    @Benchmark
+    public long primitiveArraySequential() {
+        return java.util.Arrays.stream(primitive)
+            .map(x -> x * x)
+            .filter(x -> x % 2 == 0)
+            .asLongStream()
+            .sum();
+    }
+
+    @Benchmark
+    public long primitiveArrayParallel() {
+        return java.util.Arrays.stream(primitive)
+            .parallel()
+            .map(x -> x * x)
+            .filter(x -> x % 2 == 0)
+            .asLongStream()
+            .sum();
+    }
+
+    @Benchmark
+    public long loop() {
+        long sum = 0;
+        for (int x : primitive) {
+            int square = x * x;
+            if (square % 2 == 0) {
+                sum += square;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Optional<Integer> lazyFindFirst() {
+        return boxed.stream()
+            .map(x -> x * 2)
+            .filter(x -> x > 1_990)
+            .findFirst();
+    }
+
+    @Benchmark
+    public Optional<Integer> eagerCollectThenFirst() {
+        // 反例：先collect再取第一个，失去了短路
+        List<Integer> all = boxed.stream()
+            .map(x -> x * 2)
+            .filter(x -> x > 1_990)
+            .collect(Collectors.toList());
+        return all.isEmpty() ? Optional.empty() : Optional.of(all.get(0));
+    }
+}
@@ -0,0 +1,20 @@
+package com.simon.functional.primitive;
+
+import java.util.Objects;
+
+/**
+ * (int, int) -> void
+ * 对应 BiConsumer<Integer, Integer>，例如遍历下标和值
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+    void accept(int a, int b);
+
+    default IntIntConsumer andThen(IntIntConsumer after) {
+        Objects.requireNonNull(after);
+        return (a, b) -> {
+            accept(a, b);
+            after.accept(a, b);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.simon.functional.primitive;
+
+import java.util.Objects;
+
+/**
+ * (int, int) -> boolean
+ * 对应 BiPredicate<Integer, Integer>
+ */
+@FunctionalInterface
+public interface IntIntPredicate {
+    boolean test(int a, int b);
+
+    default IntIntPredicate and(IntIntPredicate other) {
+        Objects.requireNonNull(other);
+        return (a, b) -> test(a, b) && other.test(a, b);
+    }
+
+    default IntIntPredicate or(IntIntPredicate other) {
+        Objects.requireNonNull(other);
+        return (a, b) -> test(a, b) || other.test(a, b);
+    }
+
+    default IntIntPredicate negate() {
+        return (a, b) -> !test(a, b);
+    }
+}
@@ -0,0 +1,19 @@
+package com.simon.functional.primitive;
+
+import java.util.Objects;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * (int, int) -> long
+ * 对应 BiFunction<Integer, Integer, Long>，但参数和结果都不装箱；
+ * 常用于两个int相乘或拼接成long而不溢出
+ */
+@FunctionalInterface
+public interface IntIntToLongFunction {
+    long applyAsLong(int a, int b);
+
+    default IntIntToLongFunction andThen(LongUnaryOperator after) {
+        Objects.requireNonNull(after);
+        return (a, b) -> after.applyAsLong(applyAsLong(a, b));
+    }
+}
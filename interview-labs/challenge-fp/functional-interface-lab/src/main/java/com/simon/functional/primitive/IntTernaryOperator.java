@@ -0,0 +1,18 @@
+package com.simon.functional.primitive;
+
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * (int, int, int) -> int
+ * TriFunction<Integer, Integer, Integer, Integer> 的原始类型版本
+ */
+@FunctionalInterface
+public interface IntTernaryOperator {
+    int applyAsInt(int a, int b, int c);
+
+    default IntTernaryOperator andThen(IntUnaryOperator after) {
+        Objects.requireNonNull(after);
+        return (a, b, c) -> after.applyAsInt(applyAsInt(a, b, c));
+    }
+}
@@ -0,0 +1,18 @@
+package com.simon.functional.primitive;
+
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * (T, int) -> int
+ * 适合作为折叠的累加步骤：acc = step.applyAsInt(element, acc)
+ */
+@FunctionalInterface
+public interface ObjIntToIntFunction<T> {
+    int applyAsInt(T t, int value);
+
+    default ObjIntToIntFunction<T> andThen(IntUnaryOperator after) {
+        Objects.requireNonNull(after);
+        return (t, value) -> after.applyAsInt(applyAsInt(t, value));
+    }
+}
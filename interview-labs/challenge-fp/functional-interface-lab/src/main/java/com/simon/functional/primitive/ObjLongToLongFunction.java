@@ -0,0 +1,18 @@
+package com.simon.functional.primitive;
+
+import java.util.Objects;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * (T, long) -> long
+ * ObjIntToIntFunction 的long版本
+ */
+@FunctionalInterface
+public interface ObjLongToLongFunction<T> {
+    long applyAsLong(T t, long value);
+
+    default ObjLongToLongFunction<T> andThen(LongUnaryOperator after) {
+        Objects.requireNonNull(after);
+        return (t, value) -> after.applyAsLong(applyAsLong(t, value));
+    }
+}
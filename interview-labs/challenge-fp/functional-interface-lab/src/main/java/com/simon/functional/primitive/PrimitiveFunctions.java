@@ -0,0 +1,139 @@
+package com.simon.functional.primitive;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.*;
+
+/**
+ * 原始类型函数的组合工具
+ * JDK的 IntUnaryOperator、LongSupplier、ObjLongConsumer 等已经覆盖单参数场景，
+ * 这里补上跨类型组合（int -> long -> int）、折叠和记忆化，整个调用链都不产生装箱对象
+ */
+public final class PrimitiveFunctions {
+
+    private PrimitiveFunctions() {
+    }
+
+    /**
+     * 依次执行多个 IntUnaryOperator：pipeline(f, g, h).applyAsInt(x) == h(g(f(x)))
+     */
+    public static IntUnaryOperator pipeline(IntUnaryOperator... steps) {
+        IntUnaryOperator[] copy = steps.clone();
+        return x -> {
+            int result = x;
+            for (IntUnaryOperator step : copy) {
+                result = step.applyAsInt(result);
+            }
+            return result;
+        };
+    }
+
+    public static IntToLongFunction andThen(IntUnaryOperator before, IntToLongFunction after) {
+        Objects.requireNonNull(before);
+        Objects.requireNonNull(after);
+        return x -> after.applyAsLong(before.applyAsInt(x));
+    }
+
+    public static IntToLongFunction andThen(IntToLongFunction before, LongUnaryOperator after) {
+        Objects.requireNonNull(before);
+        Objects.requireNonNull(after);
+        return x -> after.applyAsLong(before.applyAsLong(x));
+    }
+
+    public static <T> ToIntFunction<T> andThen(ToIntFunction<T> before, IntUnaryOperator after) {
+        Objects.requireNonNull(before);
+        Objects.requireNonNull(after);
+        return t -> after.applyAsInt(before.applyAsInt(t));
+    }
+
+    public static IntPredicate filter(IntUnaryOperator mapper, IntPredicate predicate) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(predicate);
+        return x -> predicate.test(mapper.applyAsInt(x));
+    }
+
+    /**
+     * 固定第一个参数，得到单参数函数
+     */
+    public static IntToLongFunction bindFirst(IntIntToLongFunction function, int a) {
+        Objects.requireNonNull(function);
+        return b -> function.applyAsLong(a, b);
+    }
+
+    /**
+     * 折叠成 int，相当于 stream().map(...).reduce(identity, Integer::sum) 但累加器不装箱
+     */
+    public static <T> int foldInt(Iterable<T> items, int identity, ObjIntToIntFunction<? super T> step) {
+        int acc = identity;
+        for (T item : items) {
+            acc = step.applyAsInt(item, acc);
+        }
+        return acc;
+    }
+
+    /**
+     * 折叠成 long
+     */
+    public static <T> long foldLong(Iterable<T> items, long identity, ObjLongToLongFunction<? super T> step) {
+        long acc = identity;
+        for (T item : items) {
+            acc = step.applyAsLong(item, acc);
+        }
+        return acc;
+    }
+
+    /**
+     * 带下标遍历 int 数组
+     */
+    public static void forEachIndexed(int[] values, IntIntConsumer action) {
+        for (int i = 0; i < values.length; i++) {
+            action.accept(i, values[i]);
+        }
+    }
+
+    /**
+     * 记忆化的 LongSupplier：第一次调用时计算，之后返回缓存值；多线程下只计算一次
+     */
+    public static LongSupplier memoize(LongSupplier supplier) {
+        Objects.requireNonNull(supplier);
+        return new LongSupplier() {
+            private volatile boolean computed;
+            private long value;
+
+            @Override
+            public long getAsLong() {
+                if (!computed) {
+                    synchronized (this) {
+                        if (!computed) {
+                            value = supplier.getAsLong();
+                            computed = true;
+                        }
+                    }
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * 记忆化的 IntUnaryOperator，适用于参数落在 [0, size) 的纯函数，范围外的参数直接计算。
+     * 缓存是 long 数组而不是 Map<Integer, Integer>：高32位标记已计算，低32位存结果，
+     * 一次原子读就能同时拿到标记和值；并发时同一个参数最多被重复计算，结果不会错
+     */
+    public static IntUnaryOperator memoize(IntUnaryOperator function, int size) {
+        Objects.requireNonNull(function);
+        AtomicLongArray cache = new AtomicLongArray(size);
+        return x -> {
+            if (x < 0 || x >= size) {
+                return function.applyAsInt(x);
+            }
+            long cached = cache.get(x);
+            if (cached != 0) {
+                return (int) cached;
+            }
+            int value = function.applyAsInt(x);
+            cache.set(x, (1L << 32) | (value & 0xFFFFFFFFL));
+            return value;
+        };
+    }
+}
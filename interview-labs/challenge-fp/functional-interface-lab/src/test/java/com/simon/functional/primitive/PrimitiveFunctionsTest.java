@@ -0,0 +1,86 @@
+package com.simon.functional.primitive;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * 原始类型函数式接口测试
+ */
+class PrimitiveFunctionsTest {
+
+    @Test
+    void testMultiArityInterfaces() {
+        IntIntToLongFunction multiply = (a, b) -> (long) a * b;
+        assertEquals(4_000_000_000L, multiply.applyAsLong(2, 2_000_000_000));
+        assertEquals(4_000_000_001L, multiply.andThen(x -> x + 1).applyAsLong(2, 2_000_000_000));
+
+        IntIntPredicate less = (a, b) -> a < b;
+        assertTrue(less.test(1, 2));
+        assertFalse(less.negate().test(1, 2));
+        assertTrue(less.or((a, b) -> a == b).test(2, 2));
+        assertFalse(less.and((a, b) -> a > 0).test(-1, 2));
+
+        IntTernaryOperator sumThree = (a, b, c) -> a + b + c;
+        assertEquals(12, sumThree.andThen(x -> x * 2).applyAsInt(1, 2, 3));
+    }
+
+    @Test
+    void testCompositionHelpers() {
+        IntUnaryOperator pipeline = PrimitiveFunctions.pipeline(x -> x + 1, x -> x * 10, x -> x - 3);
+        assertEquals(17, pipeline.applyAsInt(1));
+        assertEquals(5, PrimitiveFunctions.pipeline().applyAsInt(5));
+
+        assertEquals(9L, PrimitiveFunctions.andThen((IntUnaryOperator) x -> x + 2, x -> (long) x * x).applyAsLong(1));
+        assertEquals(6L, PrimitiveFunctions.bindFirst((a, b) -> (long) a * b, 3).applyAsLong(2));
+        assertTrue(PrimitiveFunctions.filter(x -> x * 2, x -> x > 5).test(3));
+    }
+
+    @Test
+    void testFolds() {
+        List<String> words = List.of("a", "bb", "ccc");
+        assertEquals(6, PrimitiveFunctions.foldInt(words, 0, (w, acc) -> acc + w.length()));
+        assertEquals(6L, PrimitiveFunctions.foldLong(words, 1, (w, acc) -> acc * w.length()));
+
+        int[] sum = new int[1];
+        PrimitiveFunctions.forEachIndexed(new int[]{5, 6, 7}, (i, v) -> sum[0] += i * v);
+        assertEquals(20, sum[0]);
+    }
+
+    @Test
+    void testMemoizedLongSupplier() {
+        AtomicInteger calls = new AtomicInteger();
+        LongSupplier memoized = PrimitiveFunctions.memoize(() -> {
+            calls.incrementAndGet();
+            return 42L;
+        });
+
+        assertEquals(42L, memoized.getAsLong());
+        assertEquals(42L, memoized.getAsLong());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testMemoizedIntFunction() {
+        AtomicInteger calls = new AtomicInteger();
+        IntUnaryOperator negate = PrimitiveFunctions.memoize(x -> {
+            calls.incrementAndGet();
+            return -x;
+        }, 10);
+
+        assertEquals(-3, negate.applyAsInt(3));
+        assertEquals(-3, negate.applyAsInt(3));
+        assertEquals(0, negate.applyAsInt(0));
+        assertEquals(0, negate.applyAsInt(0));
+        assertEquals(2, calls.get());
+
+        // 范围外不缓存
+        assertEquals(-20, negate.applyAsInt(20));
+        assertEquals(-20, negate.applyAsInt(20));
+        assertEquals(4, calls.get());
+    }
+}
@@ -27,12 +27,19 @@ public class ExerciseEngine {
     private final Map<String, Exercise> exercises;
     private Progress progress;
     private final ExecutorService testExecutor;
+    private final ExerciseTestRunner testRunner;
 
     public ExerciseEngine() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         this.exercises = new HashMap<>();
-        this.testExecutor = Executors.newSingleThreadExecutor();
+        // 守护线程，CLI命令结束时不会因为线程池而无法退出
+        this.testExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "exercise-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.testRunner = new ExerciseTestRunner(new InMemoryCompiler());
 
         initializeExercises();
         loadProgress();
@@ -171,6 +178,20 @@ public class ExerciseEngine {
         }
 
         progress.updateLastActivity();
+        TestResult result = evaluate(exercise, verbose);
+        if (result.isSuccess()) {
+            recordCompletion(exercise);
+            checkAchievements();
+            saveProgress();
+        }
+        return result;
+    }
+
+    /**
+     * 检查并运行单个练习，只修改练习自身的状态，可以在线程池里并发执行；
+     * 进度的更新和保存由调用方在当前线程完成
+     */
+    private TestResult evaluate(Exercise exercise, boolean verbose) {
         exercise.incrementAttempts();
 
         try {
@@ -193,19 +214,6 @@ public class ExerciseEngine {
                 int score = calculateScore(exercise, testResult);
                 exercise.markAsCompleted(score);
 
-                // 更新进度
-                Progress.ExerciseProgress exerciseProgress = new Progress.ExerciseProgress();
-                exerciseProgress.setCompleted(true);
-                exerciseProgress.setScore(score);
-                exerciseProgress.setMaxScore(exercise.getMaxScore());
-                exerciseProgress.setAttempts(exercise.getAttempts());
-                exerciseProgress.setCompletedAt(exercise.getCompletedAt());
-
-                progress.addExerciseProgress(exerciseId, exerciseProgress);
-
-                checkAchievements();
-                saveProgress();
-
                 return new TestResult(true, score, exercise.getMaxScore(), null);
             } else {
                 // 测试失败
@@ -226,32 +234,78 @@ public class ExerciseEngine {
         }
     }
 
+    /**
+     * 记录练习完成情况到学习进度
+     */
+    private void recordCompletion(Exercise exercise) {
+        Progress.ExerciseProgress exerciseProgress = new Progress.ExerciseProgress();
+        exerciseProgress.setCompleted(true);
+        exerciseProgress.setScore(exercise.getScore());
+        exerciseProgress.setMaxScore(exercise.getMaxScore());
+        exerciseProgress.setAttempts(exercise.getAttempts());
+        exerciseProgress.setCompletedAt(exercise.getCompletedAt());
+
+        progress.addExerciseProgress(exercise.getId(), exerciseProgress);
+    }
+
     /**
      * 运行所有练习题测试
+     * 各练习在线程池中并行编译和测试，全部结束后统一更新进度并只保存一次
      */
     public TestAllResult runAllExercises(boolean failFast, boolean verbose) {
         List<Exercise> allExercises = new ArrayList<>(exercises.values());
-        List<Exercise> failedExercises = new ArrayList<>();
-        int totalScore = 0;
-        int maxTotalScore = 0;
+        progress.updateLastActivity();
 
+        CompletionService<TestResult> completion = new ExecutorCompletionService<>(testExecutor);
+        List<Future<TestResult>> futures = new ArrayList<>();
         for (Exercise exercise : allExercises) {
-            TestResult result = runExercise(exercise.getId(), verbose);
+            futures.add(completion.submit(() -> evaluate(exercise, verbose)));
+        }
+
+        try {
+            for (int done = 0; done < futures.size(); done++) {
+                if (failFast && !completion.take().get().isSuccess()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // evaluate自己捕获了所有异常，这里不会发生
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
 
+        List<Exercise> failedExercises = new ArrayList<>();
+        int passedCount = 0;
+        int totalScore = 0;
+        int maxTotalScore = 0;
+        for (int i = 0; i < allExercises.size(); i++) {
+            Exercise exercise = allExercises.get(i);
             maxTotalScore += exercise.getMaxScore();
+            TestResult result = completedResult(futures.get(i));
+            if (result == null) {
+                // fail-fast时被取消，没有运行完
+                continue;
+            }
             totalScore += result.getScore();
-
-            if (!result.isSuccess()) {
+            if (result.isSuccess()) {
+                passedCount++;
+                recordCompletion(exercise);
+            } else {
                 failedExercises.add(exercise);
-                if (failFast) {
-                    break;
-                }
             }
         }
 
+        if (passedCount > 0) {
+            checkAchievements();
+            saveProgress();
+        }
+
         return new TestAllResult(
             allExercises.size(),
-            allExercises.size() - failedExercises.size(),
+            passedCount,
             failedExercises.size(),
             totalScore,
             maxTotalScore,
@@ -259,6 +313,17 @@ public class ExerciseEngine {
         );
     }
 
+    private static TestResult completedResult(Future<TestResult> future) {
+        if (!future.isDone() || future.isCancelled()) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return null;
+        }
+    }
+
     /**
      * 检查TODO完成情况
      */
@@ -275,30 +340,40 @@ public class ExerciseEngine {
     }
 
     /**
-     * 运行测试（简化版本）
+     * 运行测试：把练习模板和验证器编译到内存，再用JUnit Platform运行验证器
      */
-    private TestExecutionResult runTests(Exercise exercise, boolean verbose) {
-        // 这里应该使用JUnit或其他测试框架来实际运行测试
-        // 为了简化，我们返回一个模拟的成功结果
-
-        // 在实际实现中，这里应该：
-        // 1. 编译源代码
-        // 2. 运行对应的JUnit测试
-        // 3. 收集测试结果和编译错误
+    private TestExecutionResult runTests(Exercise exercise, boolean verbose) throws IOException {
+        ExerciseTestRunner.Report report = testRunner.run(
+            Paths.get(exercise.getTemplateFile()),
+            Paths.get(exercise.getTestFile()),
+            toClassName(exercise.getTestFile()));
+
+        if (verbose) {
+            System.out.printf("[%s] 测试 %d/%d 通过%n", exercise.getId(),
+                report.getTestsSucceeded(), report.getTestsFound());
+        }
+        return new TestExecutionResult(report.isSuccess(), report.getCompileErrors(), report.getTestFailures());
+    }
 
-        return new TestExecutionResult(true, null, null);
+    /**
+     * 由源文件路径推出类名，如 src/test/java/a/b/C.java -> a.b.C
+     */
+    private static String toClassName(String sourceFile) {
+        String path = sourceFile.replace('\\', '/');
+        int root = path.lastIndexOf("/java/");
+        if (root >= 0) {
+            path = path.substring(root + "/java/".length());
+        }
+        return path.substring(0, path.length() - ".java".length()).replace('/', '.');
     }
 
     /**
      * 计算得分
      */
     private int calculateScore(Exercise exercise, TestExecutionResult testResult) {
-        // 基础分数：根据尝试次数计算
+        // 基础分数：根据尝试次数计算；只有全部测试通过才会计分，所以不再按通过率折算
         int attempts = exercise.getAttempts();
-        int baseScore = Math.max(exercise.getMaxScore() - (attempts - 1) * 5, exercise.getMaxScore() / 2);
-
-        // 实际实现中可以根据测试通过率调整分数
-        return baseScore;
+        return Math.max(exercise.getMaxScore() - (attempts - 1) * 5, exercise.getMaxScore() / 2);
     }
 
     /**
@@ -0,0 +1,98 @@
+package com.simon.practice.core;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * 进程内测试运行器
+ * 把练习模板和验证器一起编译到内存，再通过JUnit Platform Launcher运行验证器；
+ * 每次运行使用独立的类加载器和Launcher，可以被多个线程同时调用
+ */
+public class ExerciseTestRunner {
+
+    private final InMemoryCompiler compiler;
+
+    public ExerciseTestRunner(InMemoryCompiler compiler) {
+        this.compiler = compiler;
+    }
+
+    public Report run(Path templateFile, Path testFile, String testClassName) throws IOException {
+        if (!Files.exists(testFile)) {
+            return Report.compileFailed("找不到验证器: " + testFile);
+        }
+        InMemoryCompiler.CompileResult compiled = compiler.compile(List.of(templateFile, testFile));
+        if (!compiled.isSuccess()) {
+            return Report.compileFailed(compiled.getErrors());
+        }
+
+        ClassLoader loader = compiled.newClassLoader(getClass().getClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            LauncherDiscoveryRequest discovery = request()
+                .selectors(selectClass(Class.forName(testClassName, false, loader)))
+                .build();
+            Launcher launcher = LauncherFactory.create();
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            launcher.execute(discovery, listener);
+            return Report.of(listener.getSummary());
+        } catch (ClassNotFoundException e) {
+            return Report.compileFailed("验证器编译后找不到类: " + testClassName);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * 单次运行的结果
+     */
+    public static class Report {
+        private final long testsFound;
+        private final long testsSucceeded;
+        private final String compileErrors;
+        private final String testFailures;
+
+        private Report(long testsFound, long testsSucceeded, String compileErrors, String testFailures) {
+            this.testsFound = testsFound;
+            this.testsSucceeded = testsSucceeded;
+            this.compileErrors = compileErrors;
+            this.testFailures = testFailures;
+        }
+
+        static Report compileFailed(String errors) {
+            return new Report(0, 0, errors, null);
+        }
+
+        static Report of(TestExecutionSummary summary) {
+            StringBuilder failures = new StringBuilder();
+            for (TestExecutionSummary.Failure failure : summary.getFailures()) {
+                failures.append("- ").append(failure.getTestIdentifier().getDisplayName())
+                    .append(": ").append(failure.getException().getMessage())
+                    .append(System.lineSeparator());
+            }
+            return new Report(summary.getTestsFoundCount(), summary.getTestsSucceededCount(), null,
+                failures.length() == 0 ? null : failures.toString());
+        }
+
+        public boolean isSuccess() {
+            return compileErrors == null && testFailures == null && testsFound > 0;
+        }
+
+        public long getTestsFound() { return testsFound; }
+        public long getTestsSucceeded() { return testsSucceeded; }
+        public String getCompileErrors() { return compileErrors; }
+        public String getTestFailures() { return testFailures; }
+    }
+}
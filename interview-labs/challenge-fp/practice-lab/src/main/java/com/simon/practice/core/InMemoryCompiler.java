@@ -0,0 +1,235 @@
+package com.simon.practice.core;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存编译器
+ * 用 javax.tools.JavaCompiler 把练习源码和验证器直接编译到内存，不落盘；
+ * 编译结果按源码内容的 SHA-256 缓存，源码没改过就不会重复编译；
+ * 缓存有上限，超出后淘汰最久没用过的结果，批改大量提交时不会把每份字节码和类加载器都留在内存里
+ */
+public class InMemoryCompiler {
+
+    // 默认缓存的编译结果数上限
+    private static final int DEFAULT_CACHE_LIMIT = 64;
+
+    private final JavaCompiler compiler;
+    private final List<String> options;
+    private final Map<String, CompileResult> cache;
+
+    public InMemoryCompiler() {
+        this(DEFAULT_CACHE_LIMIT);
+    }
+
+    InMemoryCompiler(int cacheLimit) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompileResult> eldest) {
+                return size() > cacheLimit;
+            }
+        });
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        // 练习代码可以引用引擎本身的类（如TodoDetector）和JUnit
+        this.options = List.of("-classpath", System.getProperty("java.class.path"),
+            "-encoding", "UTF-8", "-proc:none", "-g");
+    }
+
+    /**
+     * 编译一组源文件，命中缓存时直接返回上一次的结果（包括编译失败的结果）。
+     * javac 在锁外运行，不会挡住其他源码的编译；同一份源码并发编译时以先放进缓存的结果为准
+     */
+    public CompileResult compile(List<Path> sourceFiles) throws IOException {
+        if (compiler == null) {
+            throw new IllegalStateException("当前运行环境没有Java编译器，请使用JDK而不是JRE运行");
+        }
+        Map<Path, String> sources = new LinkedHashMap<>();
+        for (Path file : sourceFiles) {
+            sources.put(file, Files.readString(file, StandardCharsets.UTF_8));
+        }
+        String key = hash(sources);
+        CompileResult cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompileResult compiled = doCompile(sources);
+        CompileResult raced = cache.putIfAbsent(key, compiled);
+        return raced != null ? raced : compiled;
+    }
+
+    int cachedResults() {
+        return cache.size();
+    }
+
+    private CompileResult doCompile(Map<Path, String> sources) {
+        List<JavaFileObject> units = new ArrayList<>(sources.size());
+        sources.forEach((path, content) -> units.add(new SourceFile(path, content)));
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, byte[]> classes = new ConcurrentHashMap<>();
+        StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, Locale.getDefault(), StandardCharsets.UTF_8);
+        try (JavaFileManager fileManager = new MemoryFileManager(standard, classes)) {
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, units).call();
+            if (success) {
+                return new CompileResult(classes, null);
+            }
+        } catch (IOException e) {
+            return new CompileResult(Map.of(), "关闭编译器失败: " + e.getMessage());
+        }
+
+        StringBuilder errors = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+            if (d.getKind() != Diagnostic.Kind.ERROR) {
+                continue;
+            }
+            String source = d.getSource() == null ? "" : d.getSource().getName();
+            errors.append(String.format("%s:%d: %s%n", source, d.getLineNumber(), d.getMessage(Locale.getDefault())));
+        }
+        return new CompileResult(Map.of(), errors.toString());
+    }
+
+    private static String hash(Map<Path, String> sources) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            sources.forEach((path, content) -> {
+                digest.update(path.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(content.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 编译结果：成功时持有类名到字节码的映射，失败时持有编译错误
+     */
+    public static class CompileResult {
+        private final Map<String, byte[]> classes;
+        private final String errors;
+
+        CompileResult(Map<String, byte[]> classes, String errors) {
+            this.classes = Map.copyOf(classes);
+            this.errors = errors;
+        }
+
+        public boolean isSuccess() { return errors == null; }
+        public String getErrors() { return errors; }
+
+        /**
+         * 每次运行都新建类加载器，保证练习类的静态状态不会在两次运行之间共享
+         */
+        public ClassLoader newClassLoader(ClassLoader parent) {
+            return new MemoryClassLoader(classes, parent);
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String content;
+
+        SourceFile(Path path, String content) {
+            super(path.toUri(), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+        private final String className;
+        private final Map<String, byte[]> classes;
+
+        ClassFile(String className, Map<String, byte[]> classes) {
+            super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.className = className;
+            this.classes = classes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    classes.put(className, toByteArray());
+                }
+            };
+        }
+    }
+
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, byte[]> classes;
+
+        MemoryFileManager(StandardJavaFileManager delegate, Map<String, byte[]> classes) {
+            super(delegate);
+            this.classes = classes;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) {
+            return new ClassFile(className, classes);
+        }
+    }
+
+    /**
+     * 子优先的类加载器：即使父加载器的classpath上也有同名练习类，也总是加载刚编译出来的版本
+     */
+    private static class MemoryClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        MemoryClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!classes.containsKey(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -1,22 +1,45 @@
 package com.simon.practice.utils;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * TODO检测工具类
  * 用于检测Java源文件中的TODO标记
+ *
+ * 一遍扫描的词法分析：逐字节识别注释、字符串、字符和文本块，只统计注释里的TODO，
+ * 字符串里的"// TODO"不算；每个标记只计一次。注释符和TODO都是ASCII，UTF-8多字节字符
+ * 的每个字节都大于0x7F，所以直接扫字节不需要解码。按文件修改时间和大小缓存结果，
+ * 只保留最近用过的一批文件（LRU），长时间运行也不会无限增长。
  */
 public class TodoDetector {
 
-    private static final Pattern TODO_PATTERN = Pattern.compile(
-        "//\\s*TODO|/\\*\\s*TODO\\s*\\*/|/\\*\\s*TODO.*?\\*/",
-        Pattern.CASE_INSENSITIVE | Pattern.DOTALL
-    );
+    // 超过这个大小的文件用内存映射读取
+    private static final long MAP_THRESHOLD = 64 * 1024;
+
+    // 缓存的文件数上限，超出后淘汰最久没用过的
+    private static final int CACHE_LIMIT = 256;
+
+    private static final Map<Path, CachedResult> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedResult> eldest) {
+                return size() > CACHE_LIMIT;
+            }
+        });
+
+    private enum State { CODE, LINE_COMMENT, BLOCK_COMMENT, STRING, CHAR, TEXT_BLOCK }
 
     /**
      * 检测文件中是否包含TODO标记
@@ -26,8 +49,16 @@ public class TodoDetector {
      */
     public static TodoResult detectTodos(Path filePath) {
         try {
-            String content = Files.readString(filePath);
-            return detectTodos(content);
+            Path key = filePath.toAbsolutePath().normalize();
+            BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+            long modified = attrs.lastModifiedTime().toMillis();
+            CachedResult cached = CACHE.get(key);
+            if (cached != null && cached.modified == modified && cached.size == attrs.size()) {
+                return cached.result;
+            }
+            TodoResult result = scan(read(key, attrs.size()));
+            CACHE.put(key, new CachedResult(modified, attrs.size(), result));
+            return result;
         } catch (IOException e) {
             throw new RuntimeException("Failed to read file: " + filePath, e);
         }
@@ -40,37 +71,155 @@ public class TodoDetector {
      * @return Todo检测结果
      */
     public static TodoResult detectTodos(String content) {
-        Matcher matcher = TODO_PATTERN.matcher(content);
+        return scan(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
 
-        int todoCount = 0;
-        int lineCount = 0;
-        String[] lines = content.split("\n");
+    /**
+     * 并行扫描目录下所有Java源文件
+     *
+     * @param root 练习目录
+     * @return 每个文件的检测结果
+     */
+    public static Map<Path, TodoResult> detectTodosInTree(Path root) {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.parallel()
+                .filter(p -> p.toString().endsWith(".java") && Files.isRegularFile(p))
+                .collect(Collectors.toConcurrentMap(p -> p, TodoDetector::detectTodos));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to scan directory: " + root, e);
+        }
+    }
 
-        // 检查每一行
-        for (int i = 0; i < lines.length; i++) {
-            lineCount++;
-            String line = lines[i].trim();
+    static int cachedFiles() {
+        return CACHE.size();
+    }
 
-            // 检查单行TODO
-            if (line.matches("(?i).*//\\s*TODO.*")) {
-                todoCount++;
+    private static ByteBuffer read(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (size > MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满为止
             }
+            return buffer.flip();
         }
+    }
+
+    static TodoResult scan(ByteBuffer buf) {
+        int todoCount = 0;
+        int lineCount = 0;
+        boolean hasCode = false;
+        // 当前注释行里是否还没遇到正文（只有空白和*），此时遇到TODO才算标记
+        boolean atCommentStart = false;
+        State state = State.CODE;
+        int end = buf.limit();
 
-        // 检查多行TODO注释
-        matcher.reset();
-        while (matcher.find()) {
-            // 多行TODO可能已经在单行检查中计算过，这里只计算新增的
-            String matched = matcher.group();
-            if (!matched.startsWith("//")) {
-                todoCount++;
+        for (int i = buf.position(); i < end; i++) {
+            byte b = buf.get(i);
+            if (b == '\n') {
+                lineCount++;
+                if (state == State.LINE_COMMENT || state == State.STRING || state == State.CHAR) {
+                    // 普通字符串不能跨行，未闭合的字面量到行尾为止
+                    state = State.CODE;
+                } else if (state == State.BLOCK_COMMENT) {
+                    atCommentStart = true;
+                }
+                continue;
             }
+            switch (state) {
+                case CODE:
+                    if (b == '/' && i + 1 < end && buf.get(i + 1) == '/') {
+                        state = State.LINE_COMMENT;
+                        atCommentStart = true;
+                        i++;
+                    } else if (b == '/' && i + 1 < end && buf.get(i + 1) == '*') {
+                        state = State.BLOCK_COMMENT;
+                        atCommentStart = true;
+                        i++;
+                    } else if (b == '"') {
+                        hasCode = true;
+                        if (i + 2 < end && buf.get(i + 1) == '"' && buf.get(i + 2) == '"') {
+                            state = State.TEXT_BLOCK;
+                            i += 2;
+                        } else {
+                            state = State.STRING;
+                        }
+                    } else if (b == '\'') {
+                        hasCode = true;
+                        state = State.CHAR;
+                    } else if (!isWhitespace(b)) {
+                        hasCode = true;
+                    }
+                    break;
+                case LINE_COMMENT:
+                case BLOCK_COMMENT:
+                    if (state == State.BLOCK_COMMENT && b == '*' && i + 1 < end && buf.get(i + 1) == '/') {
+                        state = State.CODE;
+                        i++;
+                    } else if (atCommentStart && (b == 'T' || b == 't') && isTodo(buf, i, end)) {
+                        todoCount++;
+                        atCommentStart = false;
+                        i += 3;
+                    } else if (!isWhitespace(b) && b != '*') {
+                        atCommentStart = false;
+                    }
+                    break;
+                case STRING:
+                case CHAR:
+                    if (b == '\\' && i + 1 < end && buf.get(i + 1) != '\n') {
+                        i++;
+                    } else if (b == (state == State.STRING ? '"' : '\'')) {
+                        state = State.CODE;
+                    }
+                    break;
+                case TEXT_BLOCK:
+                    // 文本块里的 \<换行> 是续行，换行仍要计数
+                    if (b == '\\' && i + 1 < end && buf.get(i + 1) != '\n') {
+                        i++;
+                    } else if (b == '"' && i + 2 < end && buf.get(i + 1) == '"' && buf.get(i + 2) == '"') {
+                        state = State.CODE;
+                        i += 2;
+                    }
+                    break;
+            }
+        }
+        if (end > buf.position() && buf.get(end - 1) != '\n') {
+            lineCount++;
         }
 
-        boolean hasTodos = todoCount > 0;
-        boolean isEmptyFile = content.trim().isEmpty() || content.trim().equals("// TODO: 实现这个方法");
+        // 没有任何注释之外的代码（空文件或只剩占位注释）视为还没开始写
+        return new TodoResult(todoCount > 0, todoCount, lineCount, !hasCode);
+    }
+
+    // TODO后面必须是单词边界，"// todoList 的说明"不算标记
+    private static boolean isTodo(ByteBuffer buf, int i, int end) {
+        return i + 3 < end
+            && (buf.get(i + 1) | 0x20) == 'o'
+            && (buf.get(i + 2) | 0x20) == 'd'
+            && (buf.get(i + 3) | 0x20) == 'o'
+            && (i + 4 == end || !isIdentifierPart(buf.get(i + 4)));
+    }
+
+    private static boolean isIdentifierPart(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '$';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+    }
+
+    private static final class CachedResult {
+        final long modified;
+        final long size;
+        final TodoResult result;
 
-        return new TodoResult(hasTodos, todoCount, lineCount, isEmptyFile);
+        CachedResult(long modified, long size, TodoResult result) {
+            this.modified = modified;
+            this.size = size;
+            this.result = result;
+        }
     }
 
     /**
@@ -104,4 +253,4 @@ public class TodoDetector {
                     hasTodos, todoCount, totalLines, isEmptyFile, isCompleted());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.simon.practice.exercises.functional;
 
+import java.io.PrintStream;
 import java.util.function.*;
 import java.util.List;
 import java.util.ArrayList;
@@ -32,13 +33,13 @@ public class FunctionalInterfaceExercise {
 
     /**
      * 练习1: 使用Consumer接口处理列表
-     * 目标：创建一个Consumer，处理字符串列表
+     * 目标：创建一个Consumer，处理字符串列表，结果打印到传入的out
      */
-    public static Consumer<List<String>> createStringListProcessor() {
+    public static Consumer<List<String>> createStringListProcessor(PrintStream out) {
         // TODO: 创建一个Consumer，接收字符串列表并：
         // 1. 移除所有空字符串
         // 2. 将每个字符串转为大写
-        // 3. 打印处理后的列表
+        // 3. 用out打印处理后的列表（不要用System.out）
         return null;
     }
 
@@ -0,0 +1,68 @@
+package com.simon.practice.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InMemoryCompiler的结果缓存
+ */
+class InMemoryCompilerTest {
+
+    @TempDir
+    Path dir;
+
+    private Path source(int version) throws IOException {
+        return Files.writeString(dir.resolve("Answer.java"),
+            "public class Answer { public static int get() { return " + version + "; } }\n");
+    }
+
+    @Test
+    @DisplayName("源码没变时直接返回缓存的结果")
+    void reusesResultForSameSource() throws Exception {
+        InMemoryCompiler compiler = new InMemoryCompiler(4);
+
+        InMemoryCompiler.CompileResult first = compiler.compile(List.of(source(1)));
+        InMemoryCompiler.CompileResult second = compiler.compile(List.of(source(1)));
+
+        assertTrue(first.isSuccess(), first.getErrors());
+        assertSame(first, second);
+        Class<?> answer = first.newClassLoader(getClass().getClassLoader()).loadClass("Answer");
+        assertEquals(1, answer.getMethod("get").invoke(null));
+    }
+
+    @Test
+    @DisplayName("缓存数量有上限，最久没用过的先淘汰")
+    void evictsLeastRecentlyUsed() throws Exception {
+        InMemoryCompiler compiler = new InMemoryCompiler(2);
+        InMemoryCompiler.CompileResult first = compiler.compile(List.of(source(1)));
+        compiler.compile(List.of(source(2)));
+        assertSame(first, compiler.compile(List.of(source(1))));
+
+        compiler.compile(List.of(source(3)));
+
+        assertEquals(2, compiler.cachedResults());
+        assertSame(first, compiler.compile(List.of(source(1))));
+        assertEquals(2, compiler.cachedResults());
+    }
+
+    @Test
+    @DisplayName("编译失败的结果也会缓存")
+    void cachesFailures() throws Exception {
+        InMemoryCompiler compiler = new InMemoryCompiler(2);
+        Path broken = Files.writeString(dir.resolve("Broken.java"), "public class Broken { int x = ; }\n");
+
+        InMemoryCompiler.CompileResult result = compiler.compile(List.of(broken));
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getErrors().contains("Broken.java"));
+        assertSame(result, compiler.compile(List.of(broken)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.simon.practice.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoDetector词法分析的边界情况
+ */
+class TodoDetectorTest {
+
+    private static int todos(String source) {
+        return TodoDetector.detectTodos(source).getTodoCount();
+    }
+
+    @Test
+    @DisplayName("行注释和块注释里的TODO都计数")
+    void countsTodosInComments() {
+        assertEquals(1, todos("int a = 1; // TODO 实现\n"));
+        assertEquals(1, todos("/* TODO: 块注释 */ int a;\n"));
+        assertEquals(1, todos("//todo 小写也算\n"));
+        assertEquals(2, todos("/**\n * 说明\n * TODO 第一项\n *   TODO 第二项\n */\nclass A {}\n"));
+    }
+
+    @Test
+    @DisplayName("TODO必须是注释行的第一个词")
+    void countsOnlyLeadingTodos() {
+        assertEquals(0, todos("// 这里不是TODO标记\n"));
+        assertEquals(0, todos("// see TODO.md\n"));
+        assertEquals(0, todos("// todoList 的说明\n"));
+        assertEquals(1, todos("// TODO: a TODO inside\n"));
+        assertEquals(1, todos("// TODO\n"));
+        assertEquals(1, todos("// TODO"));
+    }
+
+    @Test
+    @DisplayName("字符串里的注释符和TODO不算")
+    void ignoresStrings() {
+        assertEquals(0, todos("String s = \"// TODO 不是注释\";\n"));
+        assertEquals(0, todos("String s = \"/* TODO */\";\n"));
+        assertEquals(0, todos("String s = \"\\\" // TODO\";\n"));
+        assertEquals(1, todos("String s = \"a\\\\\"; // TODO 转义的反斜杠之后字符串已结束\n"));
+        assertEquals(1, todos("String s = \"http://example.com\"; // TODO\n"));
+    }
+
+    @Test
+    @DisplayName("字符字面量里的引号不会打开字符串")
+    void handlesCharLiterals() {
+        assertEquals(1, todos("char q = '\"'; // TODO\n"));
+        assertEquals(1, todos("char q = '\\''; // TODO\n"));
+        assertEquals(1, todos("char s = '/'; char t = '*'; // TODO\n"));
+    }
+
+    @Test
+    @DisplayName("文本块跨行，里面的TODO和引号不算")
+    void handlesTextBlocks() {
+        String source = "String s = \"\"\"\n"
+            + "    // TODO 文本块里的内容\n"
+            + "    \"quoted\" and \\\"\"\" still inside\n"
+            + "    \"\"\";\n"
+            + "// TODO 文本块之后\n";
+        TodoDetector.TodoResult result = TodoDetector.detectTodos(source);
+
+        assertEquals(1, result.getTodoCount());
+        assertEquals(5, result.getTotalLines());
+    }
+
+    @Test
+    @DisplayName("未闭合的字符串到行尾结束")
+    void unterminatedStringEndsAtLineBreak() {
+        assertEquals(1, todos("String s = \"没有结束\n// TODO 下一行\n"));
+    }
+
+    @Test
+    @DisplayName("块注释结束后回到代码")
+    void blockCommentEnds() {
+        assertEquals(0, todos("/**/ String s = \"// TODO\";\n"));
+        assertEquals(1, todos("/* a */ int x; /* TODO b */\n"));
+        assertEquals(0, todos("int x = a / b; int y = c * d; // 除法和乘法\n"));
+    }
+
+    @Test
+    @DisplayName("只有注释的文件视为空文件")
+    void detectsEmptyFiles() {
+        assertTrue(TodoDetector.detectTodos("").isEmptyFile());
+        assertTrue(TodoDetector.detectTodos("// TODO 开始写\n/* 占位 */\n").isEmptyFile());
+        assertFalse(TodoDetector.detectTodos("class A {}\n").isEmptyFile());
+    }
+
+    @Test
+    @DisplayName("非ASCII字符不影响扫描")
+    void scansUtf8() {
+        assertEquals(1, todos("String s = \"中文\\\"引号\"; // TODO 完成中文处理\n"));
+        assertEquals(0, todos("// 说明：TODO已完成\n"));
+    }
+
+    @Test
+    @DisplayName("文件修改后重新扫描")
+    void rescansChangedFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("A.java");
+        Files.writeString(file, "class A {\n    // TODO\n}\n");
+        assertEquals(1, TodoDetector.detectTodos(file).getTodoCount());
+
+        Files.writeString(file, "class A {\n    int done;\n}\n\n");
+        assertEquals(0, TodoDetector.detectTodos(file).getTodoCount());
+    }
+
+    @Test
+    @DisplayName("缓存的文件数有上限")
+    void cacheIsBounded(@TempDir Path dir) throws IOException {
+        for (int i = 0; i < 300; i++) {
+            Path file = dir.resolve("F" + i + ".java");
+            Files.writeString(file, "class F" + i + " {}\n");
+            TodoDetector.detectTodos(file);
+        }
+        assertTrue(TodoDetector.cachedFiles() <= 256, "缓存应该淘汰最久没用过的文件");
+    }
+}
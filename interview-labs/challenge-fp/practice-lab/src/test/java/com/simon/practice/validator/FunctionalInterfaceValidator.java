@@ -0,0 +1,223 @@
+package com.simon.practice.validator;
+
+import com.simon.practice.exercises.functional.FunctionalInterfaceExercise;
+import com.simon.practice.utils.TodoDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 函数式接口练习验证器
+ * 验证学生完成的函数式接口练习是否正确
+ */
+public class FunctionalInterfaceValidator {
+
+    private static final String EXERCISE_FILE =
+        "src/practice/java/com/simon/practice/exercises/functional/FunctionalInterfaceExercise.java";
+
+    private TestInfo currentTest;
+
+    @BeforeEach
+    void setUp(TestInfo testInfo) {
+        this.currentTest = testInfo;
+    }
+
+    @Test
+    @DisplayName("练习1: Consumer处理字符串列表")
+    void testStringListProcessor() {
+        // 验证器并行运行，只收集传给练习的这个输出流，不替换全局的System.out
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Consumer<List<String>> processor = FunctionalInterfaceExercise.createStringListProcessor(
+            new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        assertNotNull(processor, "❌ 练习1未完成：请实现createStringListProcessor()方法");
+
+        List<String> words = new ArrayList<>(Arrays.asList("java", "", "lambda", ""));
+        processor.accept(words);
+        String printed = output.toString(StandardCharsets.UTF_8);
+
+        // 原地修改列表还是处理副本都可以，只检查打印出来的结果
+        assertTrue(printed.contains("JAVA") && printed.contains("LAMBDA"), "Consumer应该打印转为大写后的字符串");
+        assertFalse(printed.contains("java"), "打印的字符串应该已经转为大写");
+
+        System.out.println("✅ 练习1通过：Consumer处理字符串列表实现正确");
+    }
+
+    @Test
+    @DisplayName("练习2: Supplier生成随机数列表")
+    void testRandomListSupplier() {
+        Supplier<List<Integer>> supplier = FunctionalInterfaceExercise.createRandomListSupplier(50, 10);
+
+        assertNotNull(supplier, "❌ 练习2未完成：请实现createRandomListSupplier()方法");
+
+        List<Integer> numbers = supplier.get();
+        assertNotNull(numbers, "Supplier不应返回null");
+        assertEquals(50, numbers.size(), "列表长度应该等于size");
+        assertTrue(numbers.stream().allMatch(n -> n >= 0 && n < 10), "随机数应该在[0, bound)范围内");
+
+        System.out.println("✅ 练习2通过：Supplier生成随机数列表实现正确");
+    }
+
+    @Test
+    @DisplayName("练习3: Function复合转换")
+    void testStringTransformer() {
+        Function<String, String> transformer = FunctionalInterfaceExercise.createStringTransformer();
+
+        assertNotNull(transformer, "❌ 练习3未完成：请实现createStringTransformer()方法");
+
+        assertEquals("PROCESSED:HELLO", transformer.apply("  hello  "), "应该先去空格、再转大写、最后加前缀");
+        assertEquals("PROCESSED:JAVA 8", transformer.apply("Java 8"), "中间的空格应该保留");
+
+        System.out.println("✅ 练习3通过：Function复合转换实现正确");
+    }
+
+    @Test
+    @DisplayName("练习4: Predicate复合条件")
+    void testStringValidator() {
+        Predicate<String> validator = FunctionalInterfaceExercise.createStringValidator();
+
+        assertNotNull(validator, "❌ 练习4未完成：请实现createStringValidator()方法");
+
+        assertTrue(validator.test("abc1"), "\"abc1\"应该通过验证");
+        assertTrue(validator.test("hello world 2"), "字母、数字和空格都是允许的");
+        assertFalse(validator.test(""), "空字符串不应通过验证");
+        assertFalse(validator.test("a1"), "长度小于3不应通过验证");
+        assertFalse(validator.test("abcdefghij1234567890x"), "长度大于20不应通过验证");
+        assertFalse(validator.test("abcdef"), "不含数字不应通过验证");
+        assertFalse(validator.test("abc1!"), "含特殊字符不应通过验证");
+
+        System.out.println("✅ 练习4通过：Predicate复合条件实现正确");
+    }
+
+    @Test
+    @DisplayName("练习5: 自定义TriFunction")
+    void testSumAndMultiply() throws Exception {
+        Object triFunction = FunctionalInterfaceExercise.createSumAndMultiply();
+
+        assertNotNull(triFunction, "❌ 练习5未完成：请实现createSumAndMultiply()方法");
+
+        // TriFunction是练习包内的接口，这里通过反射调用apply
+        Method apply = FunctionalInterfaceExercise.class.getMethod("createSumAndMultiply")
+            .getReturnType().getMethod("apply", Object.class, Object.class, Object.class);
+        apply.setAccessible(true);
+        assertEquals(20, apply.invoke(triFunction, 2, 3, 4), "(2 + 3) * 4 应该等于20");
+        assertEquals(0, apply.invoke(triFunction, 5, -5, 7), "(5 + -5) * 7 应该等于0");
+
+        System.out.println("✅ 练习5通过：自定义TriFunction实现正确");
+    }
+
+    @Test
+    @DisplayName("练习6: BiFunction处理两个参数")
+    void testCombinedAnalyzer() {
+        BiFunction<String, String, Integer> analyzer = FunctionalInterfaceExercise.createCombinedAnalyzer();
+
+        assertNotNull(analyzer, "❌ 练习6未完成：请实现createCombinedAnalyzer()方法");
+
+        assertEquals(6, analyzer.apply("ab", "cde"), "长度2和3的乘积应该是6");
+        assertEquals(0, analyzer.apply("", "java"), "空字符串的长度乘积应该是0");
+
+        System.out.println("✅ 练习6通过：BiFunction实现正确");
+    }
+
+    @Test
+    @DisplayName("练习7: UnaryOperator和BinaryOperator")
+    void testOperators() {
+        UnaryOperator<Integer> incrementer = FunctionalInterfaceExercise.createIncrementer();
+        BinaryOperator<String> concat = FunctionalInterfaceExercise.createSmartConcat();
+
+        assertNotNull(incrementer, "❌ 练习7未完成：请实现createIncrementer()方法");
+        assertNotNull(concat, "❌ 练习7未完成：请实现createSmartConcat()方法");
+
+        assertEquals(15, incrementer.apply(5), "5加10应该是15");
+        assertEquals("a,b", concat.apply("a", "b"), "都不为空时应该用逗号连接");
+        assertEquals("b", concat.apply("", "b"), "第一个为空时应该返回第二个");
+        assertEquals("a", concat.apply("a", ""), "第二个为空时应该返回第一个");
+        assertEquals("empty", concat.apply("", ""), "都为空时应该返回\"empty\"");
+
+        System.out.println("✅ 练习7通过：UnaryOperator和BinaryOperator实现正确");
+    }
+
+    @Test
+    @DisplayName("练习8: 方法引用")
+    void testMethodReferences() {
+        Function<String, Integer> length = FunctionalInterfaceExercise.createLengthCalculator();
+        Predicate<String> empty = FunctionalInterfaceExercise.createEmptyChecker();
+        Supplier<List<String>> listSupplier = FunctionalInterfaceExercise.createArrayListSupplier();
+
+        assertNotNull(length, "❌ 练习8未完成：请实现createLengthCalculator()方法");
+        assertNotNull(empty, "❌ 练习8未完成：请实现createEmptyChecker()方法");
+        assertNotNull(listSupplier, "❌ 练习8未完成：请实现createArrayListSupplier()方法");
+
+        assertEquals(5, length.apply("hello"), "\"hello\"的长度应该是5");
+        assertTrue(empty.test(""), "空字符串应该返回true");
+        assertFalse(empty.test("a"), "非空字符串应该返回false");
+
+        List<String> first = listSupplier.get();
+        List<String> second = listSupplier.get();
+        assertTrue(first instanceof ArrayList, "Supplier应该返回ArrayList");
+        assertTrue(first.isEmpty(), "新创建的列表应该为空");
+        assertNotSame(first, second, "每次调用都应该创建新的列表");
+
+        System.out.println("✅ 练习8通过：方法引用实现正确");
+    }
+
+    @Test
+    @DisplayName("练习9: 高阶函数")
+    void testLengthPredicateFactory() {
+        Function<Integer, Predicate<String>> factory = FunctionalInterfaceExercise.createLengthPredicateFactory();
+
+        assertNotNull(factory, "❌ 练习9未完成：请实现createLengthPredicateFactory()方法");
+
+        Predicate<String> atLeastThree = factory.apply(3);
+        assertNotNull(atLeastThree, "工厂函数不应返回null");
+        assertTrue(atLeastThree.test("abc"), "长度等于最小长度应该返回true");
+        assertTrue(atLeastThree.test("abcd"), "长度大于最小长度应该返回true");
+        assertFalse(atLeastThree.test("ab"), "长度小于最小长度应该返回false");
+        assertFalse(factory.apply(5).test("abcd"), "每次调用应该按新的最小长度创建Predicate");
+
+        System.out.println("✅ 练习9通过：高阶函数实现正确");
+    }
+
+    /**
+     * 检查所有练习是否完成
+     */
+    @Test
+    @DisplayName("综合检查：所有TODO是否完成")
+    void testAllTodosCompleted() {
+        try {
+            TodoDetector.TodoResult result = TodoDetector.detectTodos(Paths.get(EXERCISE_FILE));
+
+            if (result.hasTodos()) {
+                fail("❌ 还有 " + result.getTodoCount() + " 个TODO未完成");
+            }
+
+            if (result.isEmptyFile()) {
+                fail("❌ 文件似乎为空或只有模板代码");
+            }
+
+            System.out.println("🎉 恭喜！所有函数式接口练习都已完成！");
+
+        } catch (RuntimeException e) {
+            System.out.println("⚠️  无法检查TODO状态，请确保练习文件存在");
+        }
+    }
+}
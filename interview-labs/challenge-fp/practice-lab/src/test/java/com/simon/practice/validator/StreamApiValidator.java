@@ -0,0 +1,251 @@
+package com.simon.practice.validator;
+
+import com.simon.practice.exercises.stream.StreamApiExercise;
+import com.simon.practice.utils.TodoDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stream API练习验证器
+ * 验证学生完成的Stream API练习是否正确
+ */
+public class StreamApiValidator {
+
+    private static final String EXERCISE_FILE =
+        "src/practice/java/com/simon/practice/exercises/stream/StreamApiExercise.java";
+
+    private TestInfo currentTest;
+
+    @BeforeEach
+    void setUp(TestInfo testInfo) {
+        this.currentTest = testInfo;
+    }
+
+    @Test
+    @DisplayName("练习1: 基本过滤和映射")
+    void testFilterEvenAndSquare() {
+        List<Integer> result = StreamApiExercise.filterEvenAndSquare(Arrays.asList(1, 2, 3, 4, 5, 6));
+
+        assertNotNull(result, "❌ 练习1未完成：请实现filterEvenAndSquare()方法");
+        assertEquals(Arrays.asList(4, 16, 36), result, "应该只保留偶数并计算平方");
+
+        System.out.println("✅ 练习1通过：基本过滤和映射实现正确");
+    }
+
+    @Test
+    @DisplayName("练习2: 字符串处理")
+    void testProcessWords() {
+        List<String> result = StreamApiExercise.processWords(Arrays.asList("a", "java", "the", "stream"));
+
+        assertNotNull(result, "❌ 练习2未完成：请实现processWords()方法");
+        assertEquals(Arrays.asList("JAVA", "STREAM"), result, "应该只保留长度大于3的单词并转为大写");
+
+        System.out.println("✅ 练习2通过：字符串处理实现正确");
+    }
+
+    @Test
+    @DisplayName("练习3: 按长度分组")
+    void testGroupByLength() {
+        Map<Integer, List<String>> result = StreamApiExercise.groupByLength(Arrays.asList("a", "bb", "cc", "ddd"));
+
+        assertNotNull(result, "❌ 练习3未完成：请实现groupByLength()方法");
+        assertEquals(List.of("a"), result.get(1), "长度为1的分组不正确");
+        assertEquals(List.of("bb", "cc"), result.get(2), "长度为2的分组不正确");
+        assertEquals(List.of("ddd"), result.get(3), "长度为3的分组不正确");
+        assertEquals(3, result.size(), "应该有3个分组");
+
+        System.out.println("✅ 练习3通过：按长度分组实现正确");
+    }
+
+    @Test
+    @DisplayName("练习4: 数值流统计")
+    void testCalculateStats() {
+        IntSummaryStatistics stats = StreamApiExercise.calculateStats(Arrays.asList(3, 1, 2));
+
+        assertNotNull(stats, "❌ 练习4未完成：请实现calculateStats()方法");
+        assertEquals(3, stats.getCount(), "数量应该是3");
+        assertEquals(1, stats.getMin(), "最小值应该是1");
+        assertEquals(3, stats.getMax(), "最大值应该是3");
+        assertEquals(6, stats.getSum(), "总和应该是6");
+        assertEquals(2.0, stats.getAverage(), 1e-9, "平均值应该是2.0");
+
+        System.out.println("✅ 练习4通过：数值流统计实现正确");
+    }
+
+    @Test
+    @DisplayName("练习5: 扁平化操作")
+    void testFlattenNestedLists() {
+        List<String> result = StreamApiExercise.flattenNestedLists(
+            Arrays.asList(Arrays.asList("a", "b"), List.of(), List.of("c")));
+
+        assertNotNull(result, "❌ 练习5未完成：请实现flattenNestedLists()方法");
+        assertEquals(Arrays.asList("a", "b", "c"), result, "应该按顺序展开所有子列表");
+
+        System.out.println("✅ 练习5通过：扁平化操作实现正确");
+    }
+
+    @Test
+    @DisplayName("练习6: 查找操作")
+    void testFindFirstLongWord() {
+        List<String> words = Arrays.asList("hi", "java", "lambda", "stream");
+        Optional<String> found = StreamApiExercise.findFirstLongWord(words, 4);
+        Optional<String> missing = StreamApiExercise.findFirstLongWord(words, 10);
+
+        assertNotNull(found, "❌ 练习6未完成：请实现findFirstLongWord()方法");
+        assertEquals(Optional.of("lambda"), found, "应该返回第一个长度大于minLength的单词");
+        assertNotNull(missing, "没有找到时应该返回Optional.empty()而不是null");
+        assertTrue(missing.isEmpty(), "没有符合条件的单词时应该返回Optional.empty()");
+
+        System.out.println("✅ 练习6通过：查找操作实现正确");
+    }
+
+    @Test
+    @DisplayName("练习7: 规约操作")
+    void testConcatenateWithSeparator() {
+        String result = StreamApiExercise.concatenateWithSeparator(Arrays.asList("a", "b", "c"), "-");
+
+        assertNotNull(result, "❌ 练习7未完成：请实现concatenateWithSeparator()方法");
+        assertEquals("a-b-c", result, "分隔符只应该出现在单词之间");
+        assertEquals("a", StreamApiExercise.concatenateWithSeparator(List.of("a"), "-"), "单个单词不应该带分隔符");
+
+        System.out.println("✅ 练习7通过：规约操作实现正确");
+    }
+
+    @Test
+    @DisplayName("练习8: 统计词频")
+    void testCountWordFrequency() {
+        Map<String, Long> result = StreamApiExercise.countWordFrequency(Arrays.asList("a", "b", "a", "c", "a"));
+
+        assertNotNull(result, "❌ 练习8未完成：请实现countWordFrequency()方法");
+        assertEquals(Map.of("a", 3L, "b", 1L, "c", 1L), result, "词频统计不正确");
+
+        System.out.println("✅ 练习8通过：统计词频实现正确");
+    }
+
+    @Test
+    @DisplayName("练习9: 并行流处理")
+    void testParallelSumOfSquares() {
+        List<Integer> numbers = IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList());
+
+        assertEquals(14.0, StreamApiExercise.parallelSumOfSquares(Arrays.asList(1, 2, 3)), 1e-9,
+            "1² + 2² + 3² 应该等于14");
+        assertEquals(333_833_500.0, StreamApiExercise.parallelSumOfSquares(numbers), 1e-6,
+            "1到1000的平方和不正确");
+
+        System.out.println("✅ 练习9通过：并行流处理实现正确");
+    }
+
+    @Test
+    @DisplayName("练习10: 去重并排序")
+    void testRemoveDuplicatesAndSort() {
+        List<String> result = StreamApiExercise.removeDuplicatesAndSort(Arrays.asList("pear", "apple", "pear", "fig"));
+
+        assertNotNull(result, "❌ 练习10未完成：请实现removeDuplicatesAndSort()方法");
+        assertEquals(Arrays.asList("apple", "fig", "pear"), result, "应该去掉重复元素并按字母排序");
+
+        System.out.println("✅ 练习10通过：去重并排序实现正确");
+    }
+
+    @Test
+    @DisplayName("练习11: 条件分区")
+    void testPartitionByEvenOdd() {
+        Map<Boolean, List<Integer>> result = StreamApiExercise.partitionByEvenOdd(Arrays.asList(1, 2, 3, 4, 5));
+
+        assertNotNull(result, "❌ 练习11未完成：请实现partitionByEvenOdd()方法");
+        assertEquals(Arrays.asList(2, 4), result.get(true), "true分区应该是偶数");
+        assertEquals(Arrays.asList(1, 3, 5), result.get(false), "false分区应该是奇数");
+
+        System.out.println("✅ 练习11通过：条件分区实现正确");
+    }
+
+    @Test
+    @DisplayName("练习12: 链式处理")
+    void testComplexProcessing() {
+        List<Integer> result = StreamApiExercise.complexProcessing(Arrays.asList("12", "abc", "3", "x1", "12", "5"));
+
+        assertNotNull(result, "❌ 练习12未完成：请实现complexProcessing()方法");
+        assertEquals(Arrays.asList(3, 5, 12), result, "应该过滤非数字、去重并排序");
+
+        List<String> many = IntStream.rangeClosed(1, 15).mapToObj(String::valueOf).collect(Collectors.toList());
+        assertEquals(10, StreamApiExercise.complexProcessing(many).size(), "结果最多保留前10个");
+
+        System.out.println("✅ 练习12通过：链式处理实现正确");
+    }
+
+    @Test
+    @DisplayName("练习13: 创建Stream的不同方式")
+    void testCreateStreamFromVariousSources() {
+        Stream<Integer> stream = StreamApiExercise.createStreamFromVariousSources();
+
+        assertNotNull(stream, "❌ 练习13未完成：请实现createStreamFromVariousSources()方法");
+        // generate和iterate可能是无限流，只取前几个元素
+        assertEquals(3, stream.limit(3).count(), "合并后的Stream至少应该有3个元素");
+
+        System.out.println("✅ 练习13通过：创建Stream的不同方式实现正确");
+    }
+
+    @Test
+    @DisplayName("练习14: 收集到不同类型的容器")
+    void testCollectToContainers() {
+        List<String> words = Arrays.asList("a", "b", "a");
+        Set<String> set = StreamApiExercise.collectToSet(words);
+        String[] array = StreamApiExercise.collectToArray(words);
+
+        assertNotNull(set, "❌ 练习14未完成：请实现collectToSet()方法");
+        assertNotNull(array, "❌ 练习14未完成：请实现collectToArray()方法");
+        assertEquals(Set.of("a", "b"), set, "Set应该自动去重");
+        assertArrayEquals(new String[]{"a", "b", "a"}, array, "数组应该按原顺序包含所有元素");
+
+        System.out.println("✅ 练习14通过：收集到不同类型的容器实现正确");
+    }
+
+    @Test
+    @DisplayName("练习15: 高级收集器操作")
+    void testCountByFirstChar() {
+        Map<Character, Long> result = StreamApiExercise.countByFirstChar(Arrays.asList("apple", "avocado", "banana"));
+
+        assertNotNull(result, "❌ 练习15未完成：请实现countByFirstChar()方法");
+        assertEquals(Map.of('a', 2L, 'b', 1L), result, "按首字母统计的数量不正确");
+
+        System.out.println("✅ 练习15通过：高级收集器操作实现正确");
+    }
+
+    /**
+     * 检查所有练习是否完成
+     */
+    @Test
+    @DisplayName("综合检查：所有TODO是否完成")
+    void testAllTodosCompleted() {
+        try {
+            TodoDetector.TodoResult result = TodoDetector.detectTodos(Paths.get(EXERCISE_FILE));
+
+            if (result.hasTodos()) {
+                fail("❌ 还有 " + result.getTodoCount() + " 个TODO未完成");
+            }
+
+            if (result.isEmptyFile()) {
+                fail("❌ 文件似乎为空或只有模板代码");
+            }
+
+            System.out.println("🎉 恭喜！所有Stream API练习都已完成！");
+
+        } catch (RuntimeException e) {
+            System.out.println("⚠️  无法检查TODO状态，请确保练习文件存在");
+        }
+    }
+}
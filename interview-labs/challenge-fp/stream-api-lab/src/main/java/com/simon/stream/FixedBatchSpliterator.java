@@ -0,0 +1,76 @@
+package com.simon.stream;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 固定批大小的Spliterator
+ * 大小未知的数据源（Iterator、链表、按行读取等）默认按1024、2048……递增分批，
+ * 元素少或单个元素很重时几乎不会真正并行。这里每次trySplit固定切出batchSize个元素，
+ * 让并行流可以尽早把工作分给多个线程。
+ * 切出去的批次不再属于这里，所以剩余大小直接问数据源：数据源是SIZED时仍然精确，
+ * 切出的批次和剩余部分也都是SIZED（AbstractSpliterator据此带上SUBSIZED）；
+ * 否则和数据源一样是估计值
+ */
+public class FixedBatchSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final Spliterator<T> source;
+    private final int batchSize;
+
+    public FixedBatchSpliterator(Spliterator<T> source, int batchSize) {
+        super(source.estimateSize(), source.characteristics());
+        this.source = source;
+        this.batchSize = batchSize;
+    }
+
+    public static <T> Stream<T> parallelStream(Iterator<T> iterator, int batchSize) {
+        Spliterator<T> source = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(new FixedBatchSpliterator<>(source, batchSize), true);
+    }
+
+    public static <T> Stream<T> parallelStream(Iterable<T> iterable, int batchSize) {
+        return StreamSupport.stream(new FixedBatchSpliterator<>(iterable.spliterator(), batchSize), true);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        HoldingConsumer<T> holder = new HoldingConsumer<>();
+        if (!source.tryAdvance(holder)) {
+            return null;
+        }
+        Object[] batch = new Object[batchSize];
+        int n = 0;
+        do {
+            batch[n++] = holder.value;
+        } while (n < batchSize && source.tryAdvance(holder));
+        return Spliterators.spliterator(batch, 0, n, characteristics() | Spliterator.SIZED);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        return source.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        source.forEachRemaining(action);
+    }
+
+    private static final class HoldingConsumer<T> implements Consumer<T> {
+        T value;
+
+        @Override
+        public void accept(T value) {
+            this.value = value;
+        }
+    }
+}
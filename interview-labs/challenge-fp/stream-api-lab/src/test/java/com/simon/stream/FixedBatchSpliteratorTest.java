@@ -0,0 +1,70 @@
+package com.simon.stream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * FixedBatchSpliterator 测试
+ * 切分之后剩余大小要准确，并行结果要和顺序执行一致
+ */
+class FixedBatchSpliteratorTest {
+
+    private final List<Integer> numbers = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+    @Test
+    void testSplitKeepsSizeExact() {
+        FixedBatchSpliterator<Integer> spliterator = new FixedBatchSpliterator<>(numbers.spliterator(), 64);
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+
+        Spliterator<Integer> batch = spliterator.trySplit();
+
+        assertEquals(64, batch.getExactSizeIfKnown());
+        assertEquals(1000 - 64, spliterator.getExactSizeIfKnown());
+
+        spliterator.tryAdvance(x -> { });
+        assertEquals(1000 - 65, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    void testSplitUntilExhausted() {
+        FixedBatchSpliterator<Integer> spliterator = new FixedBatchSpliterator<>(numbers.spliterator(), 300);
+        List<Integer> seen = new ArrayList<>();
+
+        for (Spliterator<Integer> batch; (batch = spliterator.trySplit()) != null; ) {
+            batch.forEachRemaining(seen::add);
+        }
+
+        assertEquals(numbers, seen);
+        assertEquals(0, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    void testSizedSourceMatchesSequential() {
+        Stream<Integer> parallel = FixedBatchSpliterator.parallelStream(numbers, 7);
+        assertEquals(numbers.size(), parallel.count());
+
+        Object[] sequential = numbers.stream().map(x -> x * 2).toArray();
+        assertArrayEquals(sequential, FixedBatchSpliterator.parallelStream(numbers, 7).map(x -> x * 2).toArray());
+
+        assertEquals(numbers.stream().filter(x -> x % 3 == 0).count(),
+            FixedBatchSpliterator.parallelStream(numbers, 7).filter(x -> x % 3 == 0).count());
+        assertEquals(numbers.stream().skip(10).limit(500).collect(Collectors.toList()),
+            FixedBatchSpliterator.parallelStream(numbers, 7).skip(10).limit(500).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testUnknownSizeSourceMatchesSequential() {
+        Stream<Integer> parallel = FixedBatchSpliterator.parallelStream(numbers.iterator(), 16);
+        assertEquals(numbers.size(), parallel.count());
+
+        assertArrayEquals(numbers.toArray(),
+            FixedBatchSpliterator.parallelStream(numbers.iterator(), 16).toArray());
+        assertEquals(numbers.stream().mapToLong(x -> x).sum(),
+            FixedBatchSpliterator.parallelStream(numbers.iterator(), 16).mapToLong(x -> x).sum());
+    }
+}
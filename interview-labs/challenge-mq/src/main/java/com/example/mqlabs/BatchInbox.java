@@ -0,0 +1,147 @@
+package com.example.mqlabs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Batch form of the inbox pattern used by the lab consumers: a whole delivery batch is deduplicated with one
+ * multi-row {@code insert ... on conflict do nothing returning}, counter deltas of the fresh messages are summed
+ * in memory and written with one upsert per key. Both happen in one transaction, so the caller acks only after
+ * the batch is durable.
+ *
+ * <p>With {@code lab.inbox.bloom.enabled} a {@link RotatingBloomFilter} of recently seen ids sits in front of
+ * each inbox table: ids it has never seen skip the lookup and go straight to the insert, and only probable
+ * duplicates are confirmed with a {@code select}, so redeliveries no longer attempt an inbox write. Ids enter
+ * the filter only after the transaction commits: a rolled-back batch is redelivered as unseen, not as a duplicate.
+ */
+@Component
+public class BatchInbox {
+  private static final int MAX_ROWS_PER_INSERT = 1000;
+  private final JdbcTemplate jdbc;
+  private final MeterRegistry registry;
+  private final boolean bloomEnabled;
+  private final long expectedInsertions;
+  private final double fpp;
+  private final int generations;
+  private final Duration window;
+  private final Map<String, Front> fronts = new ConcurrentHashMap<>();
+  public BatchInbox(JdbcTemplate jdbc, MeterRegistry registry,
+                    @Value("${lab.inbox.bloom.enabled:true}") boolean bloomEnabled,
+                    @Value("${lab.inbox.bloom.expected-insertions:1000000}") long expectedInsertions,
+                    @Value("${lab.inbox.bloom.fpp:0.01}") double fpp,
+                    @Value("${lab.inbox.bloom.generations:3}") int generations,
+                    @Value("${lab.inbox.bloom.window:10m}") Duration window) {
+    this.jdbc = jdbc; this.registry = registry; this.bloomEnabled = bloomEnabled;
+    this.expectedInsertions = expectedInsertions; this.fpp = fpp; this.generations = generations; this.window = window;
+  }
+
+  /** Inbox table + id column, and counter table + key column (counter column is always {@code count}). */
+  public record Tables(String inbox, String idColumn, String counters, String keyColumn) {}
+
+  @Transactional(transactionManager = "transactionManager")
+  public <T> int consume(Tables t, List<T> batch, Function<T, ?> id, Function<T, String> counterKey) {
+    var byId = new LinkedHashMap<Object, T>();
+    for (var m : batch) byId.putIfAbsent(id.apply(m), m);
+    if (byId.isEmpty()) return 0;
+    var ids = new ArrayList<>(byId.keySet());
+    var fresh = bloomEnabled ? claimFiltered(t, ids) : claim(t, ids);
+    var deltas = new TreeMap<String, Integer>();
+    for (var k : fresh) deltas.merge(counterKey.apply(byId.get(k)), 1, Integer::sum);
+    increment(t, deltas);
+    return fresh.size();
+  }
+
+  private Set<Object> claimFiltered(Tables t, List<Object> ids) {
+    var front = fronts.computeIfAbsent(t.inbox(), this::newFront);
+    var unseen = new ArrayList<>();
+    var maybeSeen = new ArrayList<>();
+    for (var id : ids) (front.filter().mightContain(id) ? maybeSeen : unseen).add(id);
+    front.checks().increment(ids.size());
+    if (!maybeSeen.isEmpty()) {
+      var known = existing(t, maybeSeen);
+      front.probableDuplicates().increment(maybeSeen.size());
+      for (var id : maybeSeen) {
+        if (known.contains(id)) continue;
+        front.falsePositives().increment();
+        unseen.add(id);
+      }
+    }
+    var fresh = claim(t, unseen);
+    afterCommit(() -> { for (var id : unseen) front.filter().put(id); });
+    return fresh;
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private Set<Object> existing(Tables t, List<Object> ids) {
+    var found = new HashSet<>();
+    for (int from = 0; from < ids.size(); from += MAX_ROWS_PER_INSERT) {
+      var chunk = ids.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, ids.size()));
+      var sql = "select " + t.idColumn() + " from " + t.inbox() + " where " + t.idColumn() + " in (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+      found.addAll(jdbc.query(sql, (rs, i) -> rs.getObject(1), chunk.toArray()));
+    }
+    return found;
+  }
+
+  private Front newFront(String inbox) {
+    var filter = new RotatingBloomFilter(expectedInsertions, fpp, generations, window);
+    Gauge.builder("inbox.bloom.expected.fpp", filter, RotatingBloomFilter::expectedFpp).tag("inbox", inbox).register(registry);
+    return new Front(filter,
+      Counter.builder("inbox.bloom.checks").tag("inbox", inbox).register(registry),
+      Counter.builder("inbox.bloom.probable.duplicates").tag("inbox", inbox).register(registry),
+      Counter.builder("inbox.bloom.false.positives").tag("inbox", inbox).register(registry));
+  }
+
+  private record Front(RotatingBloomFilter filter, Counter checks, Counter probableDuplicates, Counter falsePositives) {}
+
+  private Set<Object> claim(Tables t, List<Object> ids) {
+    var fresh = new HashSet<>();
+    var now = java.sql.Timestamp.from(java.time.Instant.now());
+    for (int from = 0; from < ids.size(); from += MAX_ROWS_PER_INSERT) {
+      var chunk = ids.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, ids.size()));
+      var args = new ArrayList<>(chunk.size() * 2);
+      for (var id : chunk) { args.add(id); args.add(now); }
+      var sql = "insert into " + t.inbox() + "(" + t.idColumn() + ",processed_at) values " + String.join(",", Collections.nCopies(chunk.size(), "(?,?)"))
+        + " on conflict do nothing returning " + t.idColumn();
+      fresh.addAll(jdbc.query(sql, (rs, i) -> rs.getObject(1), args.toArray()));
+    }
+    return fresh;
+  }
+
+  // keys arrive sorted so concurrent consumers lock counter rows in the same order
+  private void increment(Tables t, Map<String, Integer> deltas) {
+    if (deltas.isEmpty()) return;
+    var rows = new ArrayList<Object[]>(deltas.size());
+    deltas.forEach((k, d) -> rows.add(new Object[]{k, d}));
+    jdbc.batchUpdate("insert into " + t.counters() + "(" + t.keyColumn() + ",count) values(?,?) on conflict (" + t.keyColumn() + ") do update set count=" + t.counters() + ".count+excluded.count", rows);
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.mqlabs;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-partitioned Bloom filter of recently seen keys. Inserts go into the current generation, lookups check all
+ * of them, and every {@code window} the oldest generation is dropped, so a key is remembered for at least
+ * {@code (generations - 1) * window}. Each generation is sized for {@code expectedInsertions} keys at the target
+ * false-positive probability. A negative answer is exact; a positive one has to be confirmed elsewhere.
+ */
+public class RotatingBloomFilter {
+  private final long bits;
+  private final int hashes;
+  private final long windowMillis;
+  private final AtomicLongArray[] generations;
+  private final AtomicLong[] inserted;
+  private final LongSupplier clock;
+  private volatile int current;
+  private volatile long nextRotation;
+
+  public RotatingBloomFilter(long expectedInsertions, double fpp, int generations, Duration window) {
+    this(expectedInsertions, fpp, generations, window, System::currentTimeMillis);
+  }
+
+  RotatingBloomFilter(long expectedInsertions, double fpp, int generations, Duration window, LongSupplier clock) {
+    this.clock = clock;
+    var n = Math.max(expectedInsertions, 1);
+    this.bits = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+    this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    this.windowMillis = window.toMillis();
+    this.generations = new AtomicLongArray[Math.max(generations, 2)];
+    this.inserted = new AtomicLong[this.generations.length];
+    for (int i = 0; i < this.generations.length; i++) {
+      this.generations[i] = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+      this.inserted[i] = new AtomicLong();
+    }
+    this.nextRotation = clock.getAsLong() + windowMillis;
+  }
+
+  public boolean mightContain(Object key) {
+    maybeRotate();
+    long h1 = hash(key), h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    for (var g : generations) {
+      if (contains(g, h1, h2)) return true;
+    }
+    return false;
+  }
+
+  public void put(Object key) {
+    maybeRotate();
+    long h1 = hash(key), h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    int c = current;
+    var g = generations[c];
+    for (int i = 0; i < hashes; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bits);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      if ((g.get(word) & mask) == 0) g.getAndAccumulate(word, mask, (a, b) -> a | b);
+    }
+    inserted[c].incrementAndGet();
+  }
+
+  /** Estimated probability that a never-seen key is reported as present, from the insert counts of all generations. */
+  public double expectedFpp() {
+    double miss = 1;
+    for (var n : inserted) miss *= 1 - Math.pow(1 - Math.exp(-(double) hashes * n.get() / bits), hashes);
+    return 1 - miss;
+  }
+
+  private boolean contains(AtomicLongArray g, long h1, long h2) {
+    for (int i = 0; i < hashes; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bits);
+      if ((g.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+    }
+    return true;
+  }
+
+  private void maybeRotate() {
+    if (clock.getAsLong() < nextRotation) return;
+    synchronized (this) {
+      var now = clock.getAsLong();
+      if (now < nextRotation) return;
+      int next = (current + 1) % generations.length;
+      generations[next] = new AtomicLongArray(generations[next].length());
+      inserted[next].set(0);
+      current = next;
+      nextRotation = now + windowMillis;
+    }
+  }
+
+  private static long hash(Object key) {
+    if (key instanceof Number n) return mix(n.longValue());
+    var s = String.valueOf(key);
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < s.length(); i++) {
+      h ^= s.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
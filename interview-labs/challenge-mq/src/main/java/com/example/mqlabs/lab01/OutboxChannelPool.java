@@ -0,0 +1,97 @@
+package com.example.mqlabs.lab01;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Long-lived confirm-mode channels over one connection. Every publish is remembered by its delivery tag,
+ * so broker acks/nacks (including {@code multiple=true}) are mapped back to outbox ids asynchronously.
+ * A closed channel nacks whatever it still had pending.
+ */
+class OutboxChannelPool implements AutoCloseable {
+  private final ConnectionFactory cf;
+  private final BlockingQueue<ConfirmChannel> idle;
+  private final Consumer<List<Long>> onAck;
+  private final Consumer<List<Long>> onNack;
+  private Connection conn;
+
+  OutboxChannelPool(ConnectionFactory cf, int size, Consumer<List<Long>> onAck, Consumer<List<Long>> onNack) {
+    cf.setAutomaticRecoveryEnabled(false);
+    this.cf = cf;
+    this.idle = new ArrayBlockingQueue<>(size);
+    this.onAck = onAck;
+    this.onNack = onNack;
+  }
+
+  ConfirmChannel borrow() throws Exception {
+    var ch = idle.poll();
+    while (ch != null && !ch.channel.isOpen()) ch = idle.poll();
+    return ch != null ? ch : open();
+  }
+
+  void release(ConfirmChannel ch) {
+    if (!ch.channel.isOpen() || !idle.offer(ch)) ch.closeQuietly();
+  }
+
+  private synchronized ConfirmChannel open() throws Exception {
+    if (conn == null || !conn.isOpen()) conn = cf.newConnection("outbox-publisher");
+    return new ConfirmChannel(conn.createChannel());
+  }
+
+  @Override
+  public synchronized void close() {
+    for (ConfirmChannel ch; (ch = idle.poll()) != null; ) {
+      try { ch.channel.waitForConfirms(5000); } catch (Exception ignored) { }
+      ch.closeQuietly();
+    }
+    if (conn != null && conn.isOpen()) {
+      try { conn.close(); } catch (Exception ignored) { }
+    }
+  }
+
+  final class ConfirmChannel {
+    private final Channel channel;
+    private final ConcurrentNavigableMap<Long, Long> pending = new ConcurrentSkipListMap<>();
+
+    private ConfirmChannel(Channel channel) throws IOException {
+      this.channel = channel;
+      channel.confirmSelect();
+      channel.addConfirmListener((tag, multiple) -> report(onAck, take(tag, multiple)), (tag, multiple) -> report(onNack, take(tag, multiple)));
+      channel.addShutdownListener(cause -> report(onNack, take(Long.MAX_VALUE, true)));
+    }
+
+    void publish(String exchange, String routingKey, AMQP.BasicProperties props, byte[] body, long outboxId) throws IOException {
+      pending.put(channel.getNextPublishSeqNo(), outboxId);
+      channel.basicPublish(exchange, routingKey, props, body);
+    }
+
+    private List<Long> take(long tag, boolean multiple) {
+      var ids = new ArrayList<Long>();
+      var tags = multiple ? pending.headMap(tag, true).keySet() : Set.of(tag);
+      for (var t : tags) {
+        var id = pending.remove(t);
+        if (id != null) ids.add(id);
+      }
+      return ids;
+    }
+
+    private void report(Consumer<List<Long>> sink, List<Long> ids) {
+      if (!ids.isEmpty()) sink.accept(ids);
+    }
+
+    private void closeQuietly() {
+      try { if (channel.isOpen()) channel.close(); } catch (Exception ignored) { }
+    }
+  }
+}
@@ -2,33 +2,118 @@ package com.example.mqlabs.lab01;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 @Component
 public class OutboxPublisher {
+  private static final int MIN_BATCH = 50;
   private final JdbcTemplate jdbc;
-  public OutboxPublisher(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+  private final OutboxChannelPool pool;
+  private final int maxBatch;
+  private final int maxInFlight;
+  private final Queue<Long> confirmed = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong rewindTo = new AtomicLong(Long.MAX_VALUE);
+  // highest outbox id handed to the broker since the last idle rescan; only touched by the scheduler thread
+  private long cursor;
+  private int batchSize = MIN_BATCH;
+
+  public OutboxPublisher(JdbcTemplate jdbc, RabbitProperties rabbit,
+                         @Value("${lab.outbox.channels:2}") int channels,
+                         @Value("${lab.outbox.max-batch:1000}") int maxBatch,
+                         @Value("${lab.outbox.max-in-flight:10000}") int maxInFlight) {
+    this.jdbc = jdbc;
+    this.maxBatch = Math.max(maxBatch, MIN_BATCH);
+    this.maxInFlight = maxInFlight;
+    var cf = new ConnectionFactory();
+    cf.setHost(rabbit.determineHost());
+    cf.setPort(rabbit.determinePort());
+    cf.setUsername(rabbit.determineUsername());
+    cf.setPassword(rabbit.determinePassword());
+    this.pool = new OutboxChannelPool(cf, channels, this::onAck, this::onNack);
+  }
+
   @Scheduled(fixedDelay = 2000)
   public void publishBatch() throws Exception {
-    var list = jdbc.query("select id,aggregate_type,aggregate_id,type,payload from outbox where status='NEW' order by id limit 50", (rs,i)-> new OutboxMessage(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), java.time.Instant.now(), "NEW"));
-    if (list.isEmpty()) return;
-    var cf = new ConnectionFactory();
-    cf.setHost("localhost");
-    cf.setPort(5672);
-    cf.setUsername("guest");
-    cf.setPassword("guest");
-    try (var conn = cf.newConnection(); var channel = conn.createChannel()) {
-      channel.confirmSelect();
-      for (var m : list) {
-        var rk = m.aggregateType()+"."+m.aggregateId();
-        var body = java.util.Base64.getDecoder().decode(m.payload());
-        var props = new AMQP.BasicProperties.Builder().deliveryMode(2).messageId(String.valueOf(m.id())).build();
-        channel.basicPublish("app.events", rk, props, body);
-        jdbc.update("update outbox set status='SENT' where id=?", m.id());
+    for (;;) {
+      // read before flushing: onAck queues ids before it decrements, so at zero every ack is already in `confirmed`
+      var idle = inFlight.get() == 0;
+      flushConfirmed();
+      var r = rewindTo.getAndSet(Long.MAX_VALUE);
+      if (r != Long.MAX_VALUE) cursor = Math.min(cursor, r - 1);
+      // ids are assigned at insert but become visible at commit, so a lower id can show up after the cursor passed it;
+      // with nothing unconfirmed every NEW row is either such a straggler or unseen, so rescan from the lowest one
+      if (idle) cursor = 0;
+      if (inFlight.get() >= maxInFlight) return;
+      var limit = batchSize;
+      var list = jdbc.query("select id,aggregate_type,aggregate_id,type,payload from outbox where status='NEW' and id>? order by id limit ?", (rs,i)-> new OutboxMessage(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), java.time.Instant.now(), "NEW"), cursor, limit);
+      batchSize = nextBatchSize(list.size(), limit);
+      if (list.isEmpty()) return;
+      var channel = pool.borrow();
+      try {
+        for (var m : list) {
+          var rk = m.aggregateType()+"."+m.aggregateId();
+          var body = java.util.Base64.getDecoder().decode(m.payload());
+          var props = new AMQP.BasicProperties.Builder().deliveryMode(2).messageId(String.valueOf(m.id())).build();
+          inFlight.incrementAndGet();
+          channel.publish("app.events", rk, props, body, m.id());
+          cursor = m.id();
+        }
+      } finally {
+        pool.release(channel);
+      }
+      // a short page means the backlog is drained; otherwise keep relaying without waiting for the next tick
+      if (list.size() < limit) return;
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    pool.close();
+    flushConfirmed();
+  }
+
+  private int nextBatchSize(int fetched, int limit) {
+    if (fetched == limit) return Math.min(limit * 2, maxBatch);
+    if (fetched < limit / 4) return Math.max(limit / 2, MIN_BATCH);
+    return limit;
+  }
+
+  private void onAck(List<Long> ids) {
+    confirmed.addAll(ids);
+    inFlight.addAndGet(-ids.size());
+  }
+
+  private void onNack(List<Long> ids) {
+    // rows are still NEW in the table; rewinding the cursor re-reads them (consumers dedupe via inbox)
+    rewindTo.accumulateAndGet(Collections.min(ids), Math::min);
+    inFlight.addAndGet(-ids.size());
+  }
+
+  private void flushConfirmed() {
+    while (!confirmed.isEmpty()) {
+      var ids = new ArrayList<Long>();
+      for (Long id; ids.size() < maxBatch && (id = confirmed.poll()) != null; ) ids.add(id);
+      if (ids.isEmpty()) return;
+      try {
+        var in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbc.update("update outbox set status='SENT' where id in (" + in + ")", ids.toArray());
+      } catch (RuntimeException e) {
+        confirmed.addAll(ids);
+        throw e;
       }
-      channel.waitForConfirms();
     }
   }
 }
@@ -4,6 +4,10 @@ import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,4 +16,15 @@ public class RabbitConfig {
   @Bean TopicExchange appExchange() { return new TopicExchange("app.events"); }
   @Bean Queue userQueue() { return new Queue("user.events", true); }
   @Bean Binding userBinding(@org.springframework.beans.factory.annotation.Qualifier("userQueue") Queue userQueue, @org.springframework.beans.factory.annotation.Qualifier("appExchange") TopicExchange appExchange) { return BindingBuilder.bind(userQueue).to(appExchange).with("User.*"); }
+  @Bean SimpleRabbitListenerContainerFactory batchListenerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory cf, @Value("${lab.consume.batch-size:100}") int batchSize) {
+    var f = new SimpleRabbitListenerContainerFactory();
+    configurer.configure(f, cf);
+    f.setBatchListener(true);
+    f.setConsumerBatchEnabled(true);
+    f.setBatchSize(batchSize);
+    f.setPrefetchCount(batchSize * 2);
+    // flush a partial batch quickly when traffic is light
+    f.setReceiveTimeout(100L);
+    return f;
+  }
 }
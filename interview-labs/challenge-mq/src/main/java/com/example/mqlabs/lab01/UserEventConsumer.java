@@ -1,22 +1,22 @@
 package com.example.mqlabs.lab01;
 
+import com.example.mqlabs.BatchInbox;
+import java.util.List;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserEventConsumer {
-  private final JdbcTemplate jdbc;
-  public UserEventConsumer(JdbcTemplate jdbc) { this.jdbc = jdbc; }
-  @RabbitListener(queues = "user.events")
-  public void onMessage(org.springframework.amqp.core.Message message) {
-    var id = Long.parseLong(message.getMessageProperties().getMessageId());
-    var inserted = jdbc.update("insert into inbox(message_id,processed_at) values(?,?) on conflict do nothing", id, java.sql.Timestamp.from(java.time.Instant.now()));
-    if (inserted == 1) apply(new String(message.getBody()));
+  static final BatchInbox.Tables TABLES = new BatchInbox.Tables("inbox", "message_id", "notifications", "user_id");
+  private final BatchInbox inbox;
+  public UserEventConsumer(BatchInbox inbox) { this.inbox = inbox; }
+  @RabbitListener(queues = "user.events", containerFactory = "batchListenerFactory")
+  public void onMessages(List<Message> messages) {
+    inbox.consume(TABLES, messages, m -> Long.parseLong(m.getMessageProperties().getMessageId()), m -> userId(new String(m.getBody())));
   }
-  private void apply(String payload) {
+  private static String userId(String payload) {
     var parts = payload.replace("\"", "").replace("{", "").replace("}", "").split(",");
-    String userId = parts[0].split(":")[1];
-    jdbc.update("insert into notifications(user_id,count) values(?,1) on conflict (user_id) do update set count=notifications.count+1", userId);
+    return parts[0].split(":")[1];
   }
 }
@@ -1,22 +1,19 @@
 package com.example.mqlabs.lab02;
 
+import com.example.mqlabs.BatchInbox;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(name = "lab.kafka.enabled", havingValue = "true")
 public class KafkaConsumer {
-  private final JdbcTemplate jdbc;
-  public KafkaConsumer(JdbcTemplate jdbc) { this.jdbc = jdbc; }
-  @KafkaListener(topics = "lab02.user-status", groupId = "lab02-group")
-  public void onMessage(String payload, org.apache.kafka.clients.consumer.ConsumerRecord<String,String> record) {
-    var key = record.key();
-    var inserted = jdbc.update("insert into kafka_inbox(message_key,processed_at) values(?,?) on conflict do nothing", key, java.time.Instant.now());
-    if (inserted == 1) apply(payload);
-  }
-  private void apply(String payload) {
-    var p = payload.split(":");
-    jdbc.update("insert into kafka_notifications(user_id,count) values(?,1) on conflict (user_id) do update set count=kafka_notifications.count+1", p[0]);
+  static final BatchInbox.Tables TABLES = new BatchInbox.Tables("kafka_inbox", "message_key", "kafka_notifications", "user_id");
+  private final BatchInbox inbox;
+  public KafkaConsumer(BatchInbox inbox) { this.inbox = inbox; }
+  @KafkaListener(topics = "lab02.user-status", groupId = "lab02-group", batch = "true")
+  public void onMessages(List<ConsumerRecord<String,String>> records) {
+    inbox.consume(TABLES, records, ConsumerRecord::key, r -> r.value().split(":")[0]);
   }
 }
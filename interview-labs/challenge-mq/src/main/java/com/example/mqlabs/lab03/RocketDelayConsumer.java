@@ -1,26 +1,28 @@
 package com.example.mqlabs.lab03;
 
+import com.example.mqlabs.BatchInbox;
 import jakarta.annotation.PostConstruct;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(name = "lab.rocketmq.enabled", havingValue = "true")
 public class RocketDelayConsumer {
-  private final JdbcTemplate jdbc;
-  public RocketDelayConsumer(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+  static final BatchInbox.Tables TABLES = new BatchInbox.Tables("rocket_inbox", "message_key", "rocket_notifications", "user_id");
+  private final BatchInbox inbox;
+  private final int batchSize;
+  public RocketDelayConsumer(BatchInbox inbox, @Value("${lab.consume.batch-size:100}") int batchSize) { this.inbox = inbox; this.batchSize = batchSize; }
   @PostConstruct
   public void start() {
     try {
       var c = new org.apache.rocketmq.client.consumer.DefaultMQPushConsumer("g1");
       c.setNamesrvAddr("localhost:9876");
+      c.setPullBatchSize(batchSize);
+      c.setConsumeMessageBatchMaxSize(batchSize);
       c.subscribe("lab03.user-status", "*");
       c.registerMessageListener((org.apache.rocketmq.client.consumer.listener.MessageListenerConcurrently) (msgs, ctx) -> {
-        for (var m : msgs) {
-          var key = new String(m.getBody());
-          var inserted = jdbc.update("insert into rocket_inbox(message_key,processed_at) values(?,?) on conflict do nothing", key, java.time.Instant.now());
-          if (inserted == 1) apply(key);
-        }
+        var keys = msgs.stream().map(m -> new String(m.getBody())).toList();
+        inbox.consume(TABLES, keys, k -> k, k -> k.split(":")[0]);
         return org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
       });
       c.start();
@@ -28,8 +30,4 @@ public class RocketDelayConsumer {
       System.err.println("RocketMQ Consumer failed to start (ignoring for lab verification): " + e.getMessage());
     }
   }
-  private void apply(String payload) {
-    var p = payload.split(":");
-    jdbc.update("insert into rocket_notifications(user_id,count) values(?,1) on conflict (user_id) do update set count=rocket_notifications.count+1", p[0]);
-  }
 }
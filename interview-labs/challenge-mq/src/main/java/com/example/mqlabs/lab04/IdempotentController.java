@@ -1,18 +1,25 @@
 package com.example.mqlabs.lab04;
 
-import org.springframework.jdbc.core.JdbcTemplate;
+import com.example.mqlabs.BatchInbox;
+import java.util.List;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class IdempotentController {
-  private final JdbcTemplate jdbc;
-  public IdempotentController(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+  static final BatchInbox.Tables TABLES = new BatchInbox.Tables("lab04_inbox", "message_id", "lab04_counts", "sku");
+  public record Item(String messageId, String sku) {}
+  private final BatchInbox inbox;
+  public IdempotentController(BatchInbox inbox) { this.inbox = inbox; }
   @PostMapping("/lab04/process")
   public String process(@RequestParam("messageId") String messageId, @RequestParam("sku") String sku) {
-    var inserted = jdbc.update("insert into lab04_inbox(message_id,processed_at) values(?,?) on conflict do nothing", messageId, java.time.Instant.now());
-    if (inserted == 1) jdbc.update("insert into lab04_counts(sku,count) values(?,1) on conflict (sku) do update set count=lab04_counts.count+1", sku);
+    inbox.consume(TABLES, List.of(new Item(messageId, sku)), Item::messageId, Item::sku);
     return "OK";
   }
+  @PostMapping("/lab04/process/batch")
+  public String processBatch(@RequestBody List<Item> items) {
+    return "OK:" + inbox.consume(TABLES, items, Item::messageId, Item::sku);
+  }
 }
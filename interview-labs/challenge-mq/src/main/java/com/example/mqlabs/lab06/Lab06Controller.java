@@ -8,11 +8,16 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class Lab06Controller {
   private final RabbitTemplate template;
-  public Lab06Controller(RabbitTemplate template) { this.template = template; }
+  private final Lab06Retry retry;
+  public Lab06Controller(RabbitTemplate template, Lab06Retry retry) { this.template = template; this.retry = retry; }
   @PostMapping("/lab06/send")
   public String send(@RequestParam("userId") String userId, @RequestParam("value") String value) {
     var m = org.springframework.amqp.core.MessageBuilder.withBody((userId+":"+value).getBytes()).setHeader("x-retry", 0).build();
     template.send("lab06.exchange", "main", m);
     return "OK";
   }
+  @PostMapping("/lab06/dlq/replay")
+  public String replay(@RequestParam(name = "max", defaultValue = "100") int max) {
+    return "OK:" + retry.replayDeadLetters(max);
+  }
 }
@@ -1,10 +1,15 @@
 package com.example.mqlabs.lab06;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,4 +20,15 @@ public class Lab06RabbitConfig {
   @Bean Queue lab06Dlq() { return new Queue("lab06.dlq", true); }
   @Bean Binding bindMain(@org.springframework.beans.factory.annotation.Qualifier("lab06Main") Queue lab06Main, @org.springframework.beans.factory.annotation.Qualifier("lab06Exchange") DirectExchange lab06Exchange) { return BindingBuilder.bind(lab06Main).to(lab06Exchange).with("main"); }
   @Bean Binding bindDlq(@org.springframework.beans.factory.annotation.Qualifier("lab06Dlq") Queue lab06Dlq, @org.springframework.beans.factory.annotation.Qualifier("lab06Exchange") DirectExchange lab06Exchange) { return BindingBuilder.bind(lab06Dlq).to(lab06Exchange).with("dlq"); }
+  // one TTL queue per delay tier; expired messages dead-letter back to "main". The delay is part of the queue name,
+  // so changing lab.retry.delays declares new queues instead of clashing with the TTL of existing ones.
+  @Bean Declarables lab06RetryTiers(@Value("${lab.retry.delays:1s,4s,16s}") Duration[] delays) {
+    var list = new ArrayList<Declarable>();
+    for (var d : delays) {
+      var q = QueueBuilder.durable(Lab06Retry.queueName(d)).ttl((int) d.toMillis()).deadLetterExchange("lab06.exchange").deadLetterRoutingKey("main").build();
+      list.add(q);
+      list.add(new Binding(q.getName(), Binding.DestinationType.QUEUE, "lab06.exchange", Lab06Retry.routingKey(d), null));
+    }
+    return new Declarables(list);
+  }
 }
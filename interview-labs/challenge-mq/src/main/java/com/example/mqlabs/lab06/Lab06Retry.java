@@ -0,0 +1,93 @@
+package com.example.mqlabs.lab06;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delayed retry for lab06 without blocking the consumer: attempt {@code n} is parked on the {@code n}-th delay
+ * tier, a TTL queue that dead-letters back to {@code main} when the delay expires (see {@link Lab06RabbitConfig}).
+ * Once every tier has been used the message goes to {@code lab06.dlq}, from where it can be replayed in bulk.
+ */
+@Component
+public class Lab06Retry {
+  static final String EXCHANGE = "lab06.exchange";
+  static final String DLQ = "lab06.dlq";
+  private static final long CONFIRM_TIMEOUT_MS = 5000;
+  private final RabbitTemplate template;
+  private final Duration[] delays;
+  private final Counter[] scheduled;
+  private final Counter deadLettered;
+  private final Counter replayed;
+
+  public Lab06Retry(RabbitTemplate template, MeterRegistry registry, @Value("${lab.retry.delays:1s,4s,16s}") Duration[] delays) {
+    this.template = template;
+    this.delays = delays;
+    this.scheduled = new Counter[delays.length];
+    for (int i = 0; i < delays.length; i++) scheduled[i] = Counter.builder("lab06.retry.scheduled").tag("tier", routingKey(delays[i])).register(registry);
+    this.deadLettered = Counter.builder("lab06.retry.dead.lettered").register(registry);
+    this.replayed = Counter.builder("lab06.dlq.replayed").register(registry);
+  }
+
+  static String routingKey(Duration delay) { return "retry." + delay.toMillis() + "ms"; }
+  static String queueName(Duration delay) { return "lab06." + routingKey(delay); }
+
+  public void retryOrDeadLetter(Message message) {
+    var retry = (Integer) message.getMessageProperties().getHeaders().getOrDefault("x-retry", 0);
+    if (retry >= delays.length) {
+      template.send(EXCHANGE, "dlq", message);
+      deadLettered.increment();
+      return;
+    }
+    var m = MessageBuilder.fromMessage(message).setHeader("x-retry", retry+1).build();
+    template.send(EXCHANGE, routingKey(delays[retry]), m);
+    scheduled[retry].increment();
+  }
+
+  /**
+   * Moves up to {@code max} dead letters back to {@code main} with a fresh retry budget. The republished copies are
+   * confirmed by the broker before the DLQ entries are acked; if any copy is nacked or the confirm times out, the whole
+   * batch is requeued on the DLQ (replaying it again may duplicate copies that did get through).
+   */
+  public int replayDeadLetters(int max) {
+    Integer n = template.execute(shared -> {
+      // own channel: confirm mode cannot be switched off and must not leak into the template's channel cache
+      try (var channel = shared.getConnection().createChannel()) {
+        channel.confirmSelect();
+        long lastTag = -1;
+        int moved = 0;
+        for (; moved < max; moved++) {
+          var r = channel.basicGet(DLQ, false);
+          if (r == null) break;
+          var headers = new HashMap<String, Object>();
+          if (r.getProps().getHeaders() != null) headers.putAll(r.getProps().getHeaders());
+          headers.put("x-retry", 0);
+          channel.basicPublish(EXCHANGE, "main", r.getProps().builder().headers(headers).build(), r.getBody());
+          lastTag = r.getEnvelope().getDeliveryTag();
+        }
+        if (lastTag < 0) return 0;
+        boolean confirmed;
+        try {
+          confirmed = channel.waitForConfirms(CONFIRM_TIMEOUT_MS);
+        } catch (TimeoutException e) {
+          confirmed = false;
+        }
+        if (!confirmed) {
+          channel.basicNack(lastTag, true, true);
+          throw new IllegalStateException("replay not confirmed by the broker, " + moved + " dead letters requeued");
+        }
+        channel.basicAck(lastTag, true);
+        return moved;
+      }
+    });
+    replayed.increment(n);
+    return n;
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.mqlabs.lab07;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * One batch-listening container per instance queue. Every second the consumer count is resized so the current
+ * queue depth drains within {@code target-drain} at the measured per-message latency (scaling down one consumer
+ * per tick to avoid flapping), and the prefetch for newly started consumers follows the backlog per consumer.
+ */
+@Component
+public class WsConsumerPool {
+  // assumed processing time per message until a batch is measured: slow on purpose, so a backlog found right after
+  // start gets consumers on the first tick instead of being under-provisioned for several
+  private static final double SEED_MILLIS_PER_MESSAGE = 10.0;
+  private final AmqpAdmin admin;
+  private final ConnectionFactory cf;
+  private final JdbcTemplate jdbc;
+  private final int minConsumers;
+  private final int maxConsumers;
+  private final int batchSize;
+  private final long targetDrainMillis;
+  private final ConcurrentHashMap<String, Instance> instances = new ConcurrentHashMap<>();
+
+  public WsConsumerPool(AmqpAdmin admin, ConnectionFactory cf, JdbcTemplate jdbc,
+                        @Value("${lab.ws.min-consumers:1}") int minConsumers,
+                        @Value("${lab.ws.max-consumers:8}") int maxConsumers,
+                        @Value("${lab.ws.batch-size:50}") int batchSize,
+                        @Value("${lab.ws.target-drain:2s}") Duration targetDrain) {
+    this.admin = admin; this.cf = cf; this.jdbc = jdbc;
+    this.minConsumers = Math.max(minConsumers, 1); this.maxConsumers = Math.max(maxConsumers, this.minConsumers);
+    this.batchSize = batchSize; this.targetDrainMillis = targetDrain.toMillis();
+  }
+
+  public void start(String instanceId, String queue) {
+    instances.computeIfAbsent(instanceId, id -> new Instance(id, queue));
+  }
+
+  public void stop(String instanceId) {
+    var i = instances.remove(instanceId);
+    if (i != null) i.container.stop();
+  }
+
+  @PreDestroy
+  public void stopAll() {
+    instances.keySet().forEach(this::stop);
+  }
+
+  @Scheduled(fixedDelay = 1000)
+  public void autoscale() {
+    for (var i : instances.values()) {
+      var info = admin.getQueueInfo(i.queue);
+      if (info == null) continue;
+      long depth = info.getMessageCount();
+      int current = i.container.getActiveConsumerCount();
+      int target = (int) Math.min(maxConsumers, Math.max(minConsumers, Math.ceil(depth * i.millisPerMessage / targetDrainMillis)));
+      if (target < current) target = Math.max(current - 1, minConsumers);
+      if (target != current) i.container.setConcurrentConsumers(target);
+      i.container.setPrefetchCount((int) Math.min(batchSize * 10L, Math.max(batchSize, depth / target)));
+    }
+  }
+
+  private final class Instance {
+    private final String instanceId;
+    private final String queue;
+    private final SimpleMessageListenerContainer container;
+    // EWMA of processing time per message; the first measured batch replaces the seed outright
+    private volatile double millisPerMessage = SEED_MILLIS_PER_MESSAGE;
+    private volatile boolean measured;
+
+    private Instance(String instanceId, String queue) {
+      this.instanceId = instanceId;
+      this.queue = queue;
+      this.container = new SimpleMessageListenerContainer(cf);
+      container.setQueueNames(queue);
+      container.setConcurrentConsumers(minConsumers);
+      container.setConsumerBatchEnabled(true);
+      container.setBatchSize(batchSize);
+      container.setPrefetchCount(batchSize);
+      container.setReceiveTimeout(100L);
+      // stop() lets in-flight batches finish and ack; anything still prefetched is requeued
+      container.setShutdownTimeout(10_000L);
+      container.setMessageListener((BatchMessageListener) this::onBatch);
+      container.start();
+    }
+
+    private void onBatch(List<Message> batch) {
+      var start = System.nanoTime();
+      var deltas = new TreeMap<String, Integer>();
+      for (var m : batch) deltas.merge(new String(m.getBody()).split(":")[0], 1, Integer::sum);
+      var rows = new ArrayList<Object[]>(deltas.size());
+      deltas.forEach((userId, d) -> rows.add(new Object[]{userId, instanceId, d}));
+      jdbc.batchUpdate("insert into lab07_ws(user_id,instance_id,count) values(?,?,?) on conflict (user_id,instance_id) do update set count=lab07_ws.count+excluded.count", rows);
+      var perMessage = (System.nanoTime() - start) / 1_000_000.0 / batch.size();
+      millisPerMessage = measured ? 0.8 * millisPerMessage + 0.2 * perMessage : perMessage;
+      measured = true;
+    }
+  }
+}
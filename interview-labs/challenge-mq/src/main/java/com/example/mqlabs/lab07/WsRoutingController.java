@@ -1,14 +1,10 @@
 package com.example.mqlabs.lab07;
 
-import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
-import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -18,25 +14,16 @@ import org.springframework.web.bind.annotation.RestController;
 public class WsRoutingController {
   private final DirectExchange exchange;
   private final org.springframework.amqp.core.AmqpAdmin admin;
-  private final ConnectionFactory cf;
   private final RabbitTemplate template;
-  private final JdbcTemplate jdbc;
-  private final ConcurrentHashMap<String, SimpleMessageListenerContainer> containers = new ConcurrentHashMap<>();
-  public WsRoutingController(@org.springframework.beans.factory.annotation.Qualifier("wsDirect") DirectExchange exchange, org.springframework.amqp.core.AmqpAdmin admin, ConnectionFactory cf, RabbitTemplate template, JdbcTemplate jdbc) { this.exchange = exchange; this.admin = admin; this.cf = cf; this.template = template; this.jdbc = jdbc; }
+  private final WsConsumerPool consumers;
+  public WsRoutingController(@org.springframework.beans.factory.annotation.Qualifier("wsDirect") DirectExchange exchange, org.springframework.amqp.core.AmqpAdmin admin, RabbitTemplate template, WsConsumerPool consumers) { this.exchange = exchange; this.admin = admin; this.template = template; this.consumers = consumers; }
   @PostMapping("/lab07/register")
   public String register(@RequestParam("instanceId") String instanceId) {
     var q = new Queue("ws.instance."+instanceId, true);
     admin.declareQueue(q);
     Binding b = BindingBuilder.bind(q).to(exchange).with(instanceId);
     admin.declareBinding(b);
-    var c = new SimpleMessageListenerContainer(cf);
-    c.setQueueNames(q.getName());
-    c.setMessageListener(m -> {
-      var p = new String(m.getBody()).split(":");
-      jdbc.update("insert into lab07_ws(user_id,instance_id,count) values(?,?,1) on conflict (user_id,instance_id) do update set count=lab07_ws.count+1", p[0], instanceId);
-    });
-    c.start();
-    containers.put(instanceId, c);
+    consumers.start(instanceId, q.getName());
     return "OK";
   }
   @PostMapping("/lab07/send")
@@ -46,8 +33,7 @@ public class WsRoutingController {
   }
   @GetMapping("/lab07/stop")
   public String stop(@RequestParam("instanceId") String instanceId) {
-    var c = containers.remove(instanceId);
-    if (c != null) c.stop();
+    consumers.stop(instanceId);
     return "OK";
   }
 }
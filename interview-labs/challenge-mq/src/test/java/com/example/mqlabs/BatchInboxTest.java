@@ -0,0 +1,108 @@
+package com.example.mqlabs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class BatchInboxTest {
+  private static final BatchInbox.Tables TABLES = new BatchInbox.Tables("inbox", "id", "counters", "k");
+
+  private final FakeJdbc jdbc = new FakeJdbc();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final BatchInbox inbox = new BatchInbox(jdbc, registry, true, 10_000, 0.01, 3, Duration.ofMinutes(10));
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+  }
+
+  @Test
+  void unseenIdsSkipTheSelect() {
+    assertThat(consume("a", "b", "c")).isEqualTo(3);
+
+    assertThat(jdbc.selects).isEmpty();
+    assertThat(jdbc.inserted).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  void probableDuplicatesAreConfirmedWithASelect() {
+    consume("a", "b");
+    jdbc.rows.remove("b"); // the filter still says "seen", the table no longer does: a false positive
+
+    assertThat(consume("a", "b", "c")).isEqualTo(2);
+
+    assertThat(jdbc.selects).containsExactly(List.of("a", "b"));
+    assertThat(jdbc.inserted).containsExactly("a", "b", "c", "b");
+    assertThat(registry.counter("inbox.bloom.probable.duplicates", "inbox", "inbox").count()).isEqualTo(2);
+    assertThat(registry.counter("inbox.bloom.false.positives", "inbox", "inbox").count()).isEqualTo(1);
+  }
+
+  @Test
+  void rolledBackIdsAreNotRemembered() {
+    TransactionSynchronizationManager.initSynchronization();
+    consume("a");
+    jdbc.rows.clear(); // the batch rolled back
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    TransactionSynchronizationManager.initSynchronization();
+    assertThat(consume("a")).isEqualTo(1);
+    assertThat(jdbc.selects).isEmpty();
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    assertThat(consume("a")).isZero();
+    assertThat(jdbc.selects).containsExactly(List.of("a"));
+  }
+
+  private int consume(String... ids) {
+    return inbox.consume(TABLES, List.of(ids), Function.identity(), id -> "all");
+  }
+
+  private static void complete(int status) {
+    var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    for (var s : synchronizations) {
+      if (status == TransactionSynchronization.STATUS_COMMITTED) s.afterCommit();
+      s.afterCompletion(status);
+    }
+  }
+
+  /** Inbox rows in memory; answers the claim insert and the confirming select, records both. */
+  private static class FakeJdbc extends JdbcTemplate {
+    final Set<Object> rows = new HashSet<>();
+    final List<Object> inserted = new ArrayList<>();
+    final List<List<Object>> selects = new ArrayList<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+      var result = new ArrayList<>();
+      if (sql.startsWith("insert")) {
+        for (int i = 0; i < args.length; i += 2) {
+          inserted.add(args[i]);
+          if (rows.add(args[i])) result.add(args[i]);
+        }
+      } else {
+        selects.add(List.of(args));
+        for (var id : args) if (rows.contains(id)) result.add(id);
+      }
+      return (List<T>) result;
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+      return new int[batchArgs.size()];
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.mqlabs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RotatingBloomFilterTest {
+  private static final Duration WINDOW = Duration.ofMinutes(10);
+  private final AtomicLong now = new AtomicLong(1_000_000);
+
+  @Test
+  void neverForgetsAKeyWithinTheWindow() {
+    var filter = new RotatingBloomFilter(10_000, 0.01, 3, WINDOW, now::get);
+    for (long id = 0; id < 10_000; id++) filter.put(id);
+
+    for (int tick = 0; tick < 2; tick++) {
+      for (long id = 0; id < 10_000; id++) assertThat(filter.mightContain(id)).as("id %d", id).isTrue();
+      now.addAndGet(WINDOW.toMillis());
+    }
+    for (long id = 0; id < 10_000; id++) assertThat(filter.mightContain(id)).as("id %d", id).isTrue();
+  }
+
+  @Test
+  void forgetsOnceItsGenerationRotatesOut() {
+    var filter = new RotatingBloomFilter(1_000, 0.01, 3, WINDOW, now::get);
+    filter.put("order-1");
+
+    for (int tick = 0; tick < 3; tick++) {
+      now.addAndGet(WINDOW.toMillis());
+      filter.mightContain("order-1");
+    }
+
+    assertThat(filter.mightContain("order-1")).isFalse();
+    assertThat(filter.expectedFpp()).isZero();
+  }
+
+  @Test
+  void expectedFppTracksTheObservedRate() {
+    var filter = new RotatingBloomFilter(50_000, 0.01, 2, WINDOW, now::get);
+    assertThat(filter.expectedFpp()).isZero();
+    for (long id = 0; id < 50_000; id++) filter.put("seen-" + id);
+
+    int falsePositives = 0;
+    int probes = 200_000;
+    for (long id = 0; id < probes; id++) if (filter.mightContain("unseen-" + id)) falsePositives++;
+
+    assertThat(filter.expectedFpp()).isCloseTo(0.01, within(0.003));
+    assertThat((double) falsePositives / probes).isCloseTo(filter.expectedFpp(), within(0.004));
+  }
+}
@@ -1,9 +1,15 @@
 package com.simon.jpa;
 
+import com.simon.jpa.repo.ParamSpecificationRepository;
+import com.simon.orm.instrument.QueryInstrumentationConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@Import(QueryInstrumentationConfig.class)
+@EnableJpaRepositories(repositoryBaseClass = ParamSpecificationRepository.class)
 public class JpaStuffApplication {
     public static void main(String[] args) {
         SpringApplication.run(JpaStuffApplication.class, args);
@@ -1,5 +1,6 @@
 package com.simon.jpa.domain;
 
+import com.simon.jpa.spec.NameGrams;
 import jakarta.persistence.*;
 import java.util.Objects;
 import java.util.Set;
@@ -9,7 +10,8 @@ import java.util.HashSet;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -21,6 +23,15 @@ public class User {
     @Version
     private long version;
 
+    // trigram index behind UserNameSearch; kept in step with name by setName. One row per gram, but with
+    // hibernate.jdbc.batch_size the rows of a save go out as one JDBC batch, and a rename only deletes and
+    // inserts the grams that changed (one batch each)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "user_name_grams", joinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_user_name_grams_gram", columnList = "gram"))
+    @Column(name = "gram", nullable = false, length = NameGrams.N)
+    private Set<String> nameGrams = new HashSet<>();
+
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Order> orders = new HashSet<>();
 
@@ -29,7 +40,12 @@ public class User {
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) {
+        this.name = name;
+        Set<String> grams = NameGrams.of(name);
+        nameGrams.retainAll(grams);
+        nameGrams.addAll(grams);
+    }
     public long getVersion() { return version; }
     public void setVersion(long version) { this.version = version; }
     public Set<Order> getOrders() { return orders; }
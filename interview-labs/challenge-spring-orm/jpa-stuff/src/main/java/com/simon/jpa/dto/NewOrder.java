@@ -0,0 +1,8 @@
+package com.simon.jpa.dto;
+
+import java.util.List;
+
+/** One row of a bulk order import: a new user with one order. */
+public record NewOrder(String email, String name, int total, List<Item> items) {
+    public record Item(String sku, int qty) { }
+}
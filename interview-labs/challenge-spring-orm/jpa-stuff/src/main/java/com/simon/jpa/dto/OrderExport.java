@@ -0,0 +1,5 @@
+package com.simon.jpa.dto;
+
+import java.util.List;
+
+public record OrderExport(Long id, Long userId, int total, List<OrderItemLine> items) { }
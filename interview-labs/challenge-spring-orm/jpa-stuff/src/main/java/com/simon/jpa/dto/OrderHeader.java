@@ -0,0 +1,3 @@
+package com.simon.jpa.dto;
+
+public record OrderHeader(Long id, Long userId, int total) { }
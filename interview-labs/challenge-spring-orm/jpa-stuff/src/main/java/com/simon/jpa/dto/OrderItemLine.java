@@ -0,0 +1,3 @@
+package com.simon.jpa.dto;
+
+public record OrderItemLine(Long orderId, Long id, String sku, int qty) { }
@@ -0,0 +1,17 @@
+package com.simon.jpa.instrument;
+
+import com.simon.orm.instrument.QueryCounter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook registered via {@code hibernate.session_factory.statement_inspector}. Hibernate calls it once
+ * per prepared statement, before execution, so it counts statements but cannot time them; latency is reported
+ * per scope instead.
+ */
+public class CountingStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql, 0);
+        return sql;
+    }
+}
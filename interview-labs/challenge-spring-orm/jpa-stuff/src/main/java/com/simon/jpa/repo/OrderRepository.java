@@ -1,12 +1,19 @@
 package com.simon.jpa.repo;
 
 import com.simon.jpa.domain.Order;
+import com.simon.jpa.dto.OrderHeader;
+import com.simon.jpa.dto.OrderItemLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
@@ -18,5 +25,17 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("select distinct o from Order o join fetch o.items")
     List<Order> findAllWithItems();
+
+    // DTO projection: nothing enters the persistence context, so a long stream does not grow the heap
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.simon.jpa.dto.OrderHeader(o.id, o.user.id, o.total) from Order o order by o.id")
+    Stream<OrderHeader> streamHeaders();
+
+    @Query("select new com.simon.jpa.dto.OrderItemLine(i.order.id, i.id, i.sku, i.qty) from OrderItem i"
+            + " where i.order.id in :orderIds order by i.order.id, i.id")
+    List<OrderItemLine> findItemLinesByOrderIds(Collection<Long> orderIds);
 }
 
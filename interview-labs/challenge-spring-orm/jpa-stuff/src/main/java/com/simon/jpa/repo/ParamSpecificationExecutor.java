@@ -0,0 +1,23 @@
+package com.simon.jpa.repo;
+
+import com.simon.jpa.spec.ParamSpecification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+
+/**
+ * {@code JpaSpecificationExecutor} counterpart for {@link ParamSpecification}: the queries are built the same way,
+ * then the collected values are bound, so each predicate shape is translated once. Implemented for every repository
+ * by {@link ParamSpecificationRepository}.
+ */
+@NoRepositoryBean
+public interface ParamSpecificationExecutor<T> {
+
+    List<T> findAll(ParamSpecification<T> spec);
+
+    Page<T> findAll(ParamSpecification<T> spec, Pageable pageable);
+
+    long count(ParamSpecification<T> spec);
+}
@@ -0,0 +1,74 @@
+package com.simon.jpa.repo;
+
+import com.simon.jpa.spec.ParamSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Repository base class (see {@code @EnableJpaRepositories} on the application) adding
+ * {@link ParamSpecificationExecutor} to {@link SimpleJpaRepository}. Paging and sorting follow
+ * {@code findAll(Specification, Pageable)}: a page query, plus a count query only when the page does not tell the
+ * total by itself.
+ */
+public class ParamSpecificationRepository<T, ID> extends SimpleJpaRepository<T, ID> implements ParamSpecificationExecutor<T> {
+    private final EntityManager em;
+
+    public ParamSpecificationRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager em) {
+        super(entityInformation, em);
+        this.em = em;
+    }
+
+    @Override
+    public List<T> findAll(ParamSpecification<T> spec) {
+        return select(spec, Sort.unsorted()).getResultList();
+    }
+
+    @Override
+    public Page<T> findAll(ParamSpecification<T> spec, Pageable pageable) {
+        TypedQuery<T> query = select(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public long count(ParamSpecification<T> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<T> root = count.from(getDomainClass());
+        ParamSpecification.Params params = new ParamSpecification.Params(cb);
+        where(count, spec.toPredicate(root, count, cb, params));
+        count.select(cb.count(root));
+        return params.bind(em.createQuery(count)).getSingleResult();
+    }
+
+    private TypedQuery<T> select(ParamSpecification<T> spec, Sort sort) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<T> select = cb.createQuery(getDomainClass());
+        Root<T> root = select.from(getDomainClass());
+        ParamSpecification.Params params = new ParamSpecification.Params(cb);
+        where(select, spec.toPredicate(root, select, cb, params));
+        select.select(root).orderBy(QueryUtils.toOrders(sort, root, cb));
+        return params.bind(em.createQuery(select));
+    }
+
+    private static void where(AbstractQuery<?> query, Predicate predicate) {
+        if (predicate != null) query.where(predicate);
+    }
+}
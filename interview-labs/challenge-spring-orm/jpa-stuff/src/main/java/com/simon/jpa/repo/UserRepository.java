@@ -12,7 +12,8 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        ParamSpecificationExecutor<User> {
     Optional<User> findByEmail(String email);
 
     @Query("select u from User u where u.name like concat('%', :kw, '%')")
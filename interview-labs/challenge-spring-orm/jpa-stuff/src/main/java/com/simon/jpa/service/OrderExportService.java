@@ -0,0 +1,67 @@
+package com.simon.jpa.service;
+
+import com.simon.jpa.dto.OrderExport;
+import com.simon.jpa.dto.OrderHeader;
+import com.simon.jpa.dto.OrderItemLine;
+import com.simon.jpa.repo.OrderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Exports every order with its items in constant heap.
+ * findAllWithItems joins and de-duplicates everything in memory; here order headers are streamed with a JDBC
+ * fetch size, and items are loaded per batch with one IN query. Both are DTO projections, so the persistence
+ * context stays empty however many orders pass through.
+ */
+@Service
+public class OrderExportService {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final OrderRepository orders;
+
+    public OrderExportService(OrderRepository orders) {
+        this.orders = orders;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(int batchSize, Consumer<OrderExport> sink) {
+        long exported = 0;
+        List<OrderHeader> batch = new ArrayList<>(batchSize);
+        try (Stream<OrderHeader> headers = orders.streamHeaders()) {
+            Iterator<OrderHeader> it = headers.iterator();
+            while (it.hasNext()) {
+                batch.add(it.next());
+                if (batch.size() == batchSize) {
+                    exported += flush(batch, sink);
+                }
+            }
+        }
+        return exported + flush(batch, sink);
+    }
+
+    // both lists are sorted by order id, so items are attached with a single merge pass
+    private int flush(List<OrderHeader> batch, Consumer<OrderExport> sink) {
+        if (batch.isEmpty()) return 0;
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OrderHeader h : batch) ids.add(h.id());
+        List<OrderItemLine> items = orders.findItemLinesByOrderIds(ids);
+
+        int i = 0;
+        for (OrderHeader h : batch) {
+            List<OrderItemLine> own = new ArrayList<>();
+            while (i < items.size() && items.get(i).orderId().equals(h.id())) {
+                own.add(items.get(i++));
+            }
+            sink.accept(new OrderExport(h.id(), h.userId(), h.total(), own));
+        }
+        int n = batch.size();
+        batch.clear();
+        return n;
+    }
+}
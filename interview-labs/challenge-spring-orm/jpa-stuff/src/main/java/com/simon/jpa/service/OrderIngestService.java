@@ -0,0 +1,63 @@
+package com.simon.jpa.service;
+
+import com.simon.jpa.domain.Order;
+import com.simon.jpa.domain.OrderItem;
+import com.simon.jpa.domain.User;
+import com.simon.jpa.dto.NewOrder;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk counterpart of {@link OrderFlowService#createUserWithOrder}.
+ * Ids come from pooled sequences (one sequence call per 50 ids) instead of IDENTITY columns, so Hibernate knows
+ * every id before the insert and can use JDBC batching; with {@code order_inserts} a flush sends one batch per
+ * table rather than alternating user/order/item statements. The persistence context is flushed and cleared
+ * every {@code batchSize} orders to keep dirty checking and heap use flat.
+ */
+@Service
+public class OrderIngestService {
+    private final EntityManager em;
+    private final int batchSize;
+
+    public OrderIngestService(EntityManager em,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.em = em;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public List<Long> ingest(List<NewOrder> newOrders) {
+        List<Long> ids = new ArrayList<>(newOrders.size());
+        int pending = 0;
+        for (NewOrder n : newOrders) {
+            User u = new User();
+            u.setEmail(n.email());
+            u.setName(n.name());
+            em.persist(u);
+
+            Order o = new Order(u, n.total());
+            for (NewOrder.Item i : n.items()) {
+                OrderItem item = new OrderItem();
+                item.setSku(i.sku());
+                item.setQty(i.qty());
+                o.addItem(item);
+            }
+            em.persist(o);
+            ids.add(o.getId());
+
+            if (++pending == batchSize) {
+                em.flush();
+                em.clear();
+                pending = 0;
+            }
+        }
+        em.flush();
+        em.clear();
+        return ids;
+    }
+}
@@ -0,0 +1,30 @@
+package com.simon.jpa.service;
+
+import com.simon.jpa.domain.User;
+import com.simon.jpa.repo.UserRepository;
+import com.simon.jpa.spec.UserNameSearch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Autocomplete-style name search. With {@code lab.search.name-ngram-index} on, keywords of three characters or
+ * more go through the trigram table instead of a leading-wildcard {@code like} over all users.
+ */
+@Service
+public class UserSearchService {
+    private final UserRepository users;
+    private final boolean ngramIndex;
+
+    public UserSearchService(UserRepository users, @Value("${lab.search.name-ngram-index:true}") boolean ngramIndex) {
+        this.users = users;
+        this.ngramIndex = ngramIndex;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<User> searchByName(String keyword, Pageable pageable) {
+        return users.findAll(UserNameSearch.of(keyword, ngramIndex), pageable);
+    }
+}
@@ -0,0 +1,23 @@
+package com.simon.jpa.spec;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigrams of a name, lower-cased. Every substring of length >= 3 contains all trigrams of itself, so a
+ * {@code contains} search only has to look at users that own every trigram of the keyword.
+ */
+public final class NameGrams {
+    public static final int N = 3;
+
+    private NameGrams() { }
+
+    public static Set<String> of(String s) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (s == null) return grams;
+        String lower = s.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + N <= lower.length(); i++) grams.add(lower.substring(i, i + N));
+        return grams;
+    }
+}
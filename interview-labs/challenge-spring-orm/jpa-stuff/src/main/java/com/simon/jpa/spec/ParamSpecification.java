@@ -0,0 +1,56 @@
+package com.simon.jpa.spec;
+
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@code Specification} whose values reach the query only through {@link Params}. Hibernate keys its criteria plan
+ * cache ({@code hibernate.criteria.plan_cache_enabled}) on the query tree, and a value handed to the criteria builder
+ * is part of that tree, so a plain {@code Specification} renders new JPQL and SQL for every argument. Values taken
+ * through {@link Params} become named parameters numbered in the order the tree is built, so two calls that build the
+ * same predicate shape produce equal trees and share one plan, whatever the values. What changes the shape (which
+ * predicates are present, how many trigrams, the sort) still gets its own plan.
+ *
+ * <p>Run through {@link com.simon.jpa.repo.ParamSpecificationExecutor}, which binds the collected values.
+ */
+@FunctionalInterface
+public interface ParamSpecification<T> {
+
+    Predicate toPredicate(Root<T> root, AbstractQuery<?> query, CriteriaBuilder cb, Params params);
+
+    default ParamSpecification<T> and(ParamSpecification<T> other) {
+        return (root, query, cb, params) -> cb.and(toPredicate(root, query, cb, params), other.toPredicate(root, query, cb, params));
+    }
+
+    default ParamSpecification<T> or(ParamSpecification<T> other) {
+        return (root, query, cb, params) -> cb.or(toPredicate(root, query, cb, params), other.toPredicate(root, query, cb, params));
+    }
+
+    /** Values of one query, named {@code p0, p1, ...} in the order the predicates ask for them. */
+    final class Params {
+        private final CriteriaBuilder cb;
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        public Params(CriteriaBuilder cb) {
+            this.cb = cb;
+        }
+
+        public <V> ParameterExpression<V> of(Class<V> type, V value) {
+            String name = "p" + values.size();
+            values.put(name, value);
+            return cb.parameter(type, name);
+        }
+
+        public <Q extends Query> Q bind(Q query) {
+            values.forEach(query::setParameter);
+            return query;
+        }
+    }
+}
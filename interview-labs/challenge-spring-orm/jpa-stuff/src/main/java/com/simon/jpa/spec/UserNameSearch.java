@@ -0,0 +1,66 @@
+package com.simon.jpa.spec;
+
+import com.simon.jpa.domain.User;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive name contains, optionally through the trigram table: the indexed subquery keeps users owning
+ * every trigram of the keyword, the {@code like} then drops those whose trigrams are not adjacent. Keywords shorter
+ * than a trigram have nothing to look up and fall back to the plain {@code like} scan.
+ *
+ * <p>As a {@link ParamSpecification}, every keyword with the same number of trigrams builds an equal tree and reuses
+ * the plan. Each trigram is its own parameter, because a collection-valued parameter would make the query uncacheable;
+ * the required trigram count is a literal, since it is part of the shape.
+ */
+public final class UserNameSearch implements ParamSpecification<User> {
+    private static final char ESCAPE = '\\';
+
+    private final String pattern;
+    private final List<String> grams;
+
+    private UserNameSearch(String pattern, List<String> grams) {
+        this.pattern = pattern;
+        this.grams = grams;
+    }
+
+    public static UserNameSearch of(String keyword, boolean indexed) {
+        List<String> grams = indexed ? new ArrayList<>(NameGrams.of(keyword)) : List.of();
+        return new UserNameSearch(containsPattern(keyword), grams);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<User> root, AbstractQuery<?> query, CriteriaBuilder cb, Params params) {
+        Predicate like = cb.like(cb.lower(root.get("name")), params.of(String.class, pattern), ESCAPE);
+        if (grams.isEmpty()) return like;
+        Subquery<Long> candidates = query.subquery(Long.class);
+        Root<User> u = candidates.from(User.class);
+        Join<User, String> gram = u.join("nameGrams");
+        CriteriaBuilder.In<String> anyGram = cb.in(gram);
+        for (String g : grams) anyGram.value(params.of(String.class, g));
+        candidates.select(u.get("id"))
+                .where(anyGram)
+                .groupBy(u.get("id"))
+                .having(cb.equal(cb.countDistinct(gram), cb.literal((long) grams.size())));
+        return cb.and(root.get("id").in(candidates), like);
+    }
+
+    private static String containsPattern(String kw) {
+        String lower = kw.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length() + 2).append('%');
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) sb.append(ESCAPE);
+            sb.append(c);
+        }
+        return sb.append('%').toString();
+    }
+}
@@ -7,5 +7,9 @@ public class UserSpecs {
     public static Specification<User> nameContains(String kw) {
         return (root, q, cb) -> cb.like(root.get("name"), "%" + kw + "%");
     }
-}
 
+    // 同样是拼条件，但取值走 Params：换个后缀仍是同一个查询形状，复用同一份执行计划
+    public static ParamSpecification<User> emailEndsWith(String suffix) {
+        return (root, q, cb, params) -> cb.like(root.get("email"), params.of(String.class, "%" + suffix));
+    }
+}
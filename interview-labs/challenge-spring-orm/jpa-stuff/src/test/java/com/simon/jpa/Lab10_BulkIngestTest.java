@@ -0,0 +1,39 @@
+package com.simon.jpa;
+
+import com.simon.jpa.domain.Order;
+import com.simon.jpa.dto.NewOrder;
+import com.simon.jpa.service.OrderFlowService;
+import com.simon.jpa.service.OrderIngestService;
+import com.simon.orm.analysis.QueryAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class Lab10_BulkIngestTest {
+    @Autowired OrderIngestService ingest;
+    @Autowired OrderFlowService flow;
+
+    @Test
+    void AC_bulkIngestBatchesStatements() {
+        List<NewOrder> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new NewOrder("ingest" + i + "@x.com", "I" + i, i,
+                    List.of(new NewOrder.Item("SKU-A", 1), new NewOrder.Item("SKU-B", 2))));
+        }
+
+        // 400 single-row statements otherwise; what is left are sequence calls and one prepare per table per batch
+        List<Long> ids = QueryAssertions.assertMaxQueries(40, () -> ingest.ingest(batch));
+
+        assertEquals(100, ids.size());
+        assertEquals(100, ids.stream().distinct().count());
+        Order last = flow.loadOrderWithItems(ids.get(99));
+        assertEquals(99, last.getTotal());
+        assertEquals(2, last.getItems().size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.simon.jpa;
+
+import com.simon.jpa.domain.User;
+import com.simon.jpa.repo.UserRepository;
+import com.simon.jpa.service.OrderFlowService;
+import com.simon.jpa.service.UserSearchService;
+import com.simon.jpa.spec.ParamSpecification;
+import com.simon.jpa.spec.UserNameSearch;
+import com.simon.jpa.spec.UserSpecs;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class Lab11_SpecificationSearchTest {
+    @Autowired UserSearchService search;
+    @Autowired UserRepository users;
+    @Autowired OrderFlowService flow;
+    @Autowired EntityManagerFactory emf;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    @Test
+    void AC_trigramSearchMatchesSubstringsCaseInsensitively() {
+        save("ngram1@x.com", "Alexander");
+        save("ngram2@x.com", "Xander Cage");
+        save("ngram3@x.com", "Sandra");
+
+        assertEquals(List.of("Alexander", "Xander Cage"), names("ANDE"));
+        assertEquals(List.of("Sandra"), names("sandr"));
+        // shorter than a trigram: falls back to the like scan
+        assertTrue(names("xa").contains("Xander Cage"));
+    }
+
+    @Test
+    void AC_renameKeepsTrigramsInStep() {
+        User u = save("ngram-rename@x.com", "Quentin");
+        flow.renameUser(u.getId(), "Quincy");
+
+        assertEquals(List.of("Quincy"), names("uinc"));
+        assertTrue(names("uent").isEmpty());
+    }
+
+    @Test
+    void AC_sameShapeReusesCriteriaPlan() {
+        save("ngram-plan1@x.com", "Marjorie");
+        save("ngram-plan2@x.com", "Margaret");
+        // switched on here rather than by property, so this class shares the application context (and H2 schema)
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        try {
+            names("marj");
+            long hits = stats.getQueryPlanCacheHitCount();
+            // other keyword, same number of trigrams: same predicate shape
+            assertEquals(List.of("Margaret"), names("marg"));
+            assertTrue(stats.getQueryPlanCacheHitCount() > hits);
+        } finally {
+            stats.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void AC_composedParamSpecificationsShareAPlanPerShape() {
+        save("shape1@a.org", "Rosalind");
+        save("shape2@b.org", "Rosamund");
+        save("shape3@a.org", "Rosamund");
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        try {
+            assertEquals(List.of("shape1@a.org"), emails(UserNameSearch.of("osal", true).and(UserSpecs.emailEndsWith("@a.org"))));
+            long hits = stats.getQueryPlanCacheHitCount();
+            assertEquals(List.of("shape2@b.org"), emails(UserNameSearch.of("osam", true).and(UserSpecs.emailEndsWith("@b.org"))));
+            assertTrue(stats.getQueryPlanCacheHitCount() > hits);
+            assertEquals(1, users.count(UserNameSearch.of("mund", true).and(UserSpecs.emailEndsWith("@b.org"))));
+        } finally {
+            stats.setStatisticsEnabled(false);
+        }
+    }
+
+    private User save(String email, String name) {
+        User u = new User();
+        u.setEmail(email);
+        u.setName(name);
+        return users.save(u);
+    }
+
+    private List<String> names(String keyword) {
+        return search.searchByName(keyword, firstPage).map(User::getName).stream().sorted().toList();
+    }
+
+    private List<String> emails(ParamSpecification<User> spec) {
+        return users.findAll(spec).stream().map(User::getEmail).sorted().toList();
+    }
+}
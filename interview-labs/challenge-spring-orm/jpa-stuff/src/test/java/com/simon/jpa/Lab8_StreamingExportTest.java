@@ -0,0 +1,40 @@
+package com.simon.jpa;
+
+import com.simon.jpa.dto.OrderExport;
+import com.simon.jpa.repo.OrderRepository;
+import com.simon.jpa.service.OrderExportService;
+import com.simon.jpa.service.OrderFlowService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class Lab8_StreamingExportTest {
+    @Autowired OrderFlowService flow;
+    @Autowired OrderExportService export;
+    @Autowired OrderRepository orders;
+
+    @Test
+    void AC_streamedExportMatchesJoinFetch() {
+        Long first = flow.createUserWithOrder("stream1@x.com", "S1");
+        Long second = flow.createUserWithOrder("stream2@x.com", "S2");
+
+        Map<Long, OrderExport> exported = new HashMap<>();
+        long count = export.export(1, e -> exported.put(e.id(), e));
+
+        assertEquals(orders.count(), count);
+        for (Long id : List.of(first, second)) {
+            OrderExport e = exported.get(id);
+            assertNotNull(e);
+            assertNotNull(e.userId());
+            assertEquals(2, e.items().size());
+            assertEquals(List.of("SKU-A", "SKU-B"), e.items().stream().map(i -> i.sku()).toList());
+        }
+    }
+}
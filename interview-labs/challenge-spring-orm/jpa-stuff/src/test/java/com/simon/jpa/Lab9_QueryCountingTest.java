@@ -0,0 +1,62 @@
+package com.simon.jpa;
+
+import com.simon.jpa.domain.Order;
+import com.simon.jpa.repo.OrderRepository;
+import com.simon.jpa.service.OrderFlowService;
+import com.simon.orm.analysis.QueryAssertions;
+import com.simon.orm.instrument.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class Lab9_QueryCountingTest {
+    @Autowired OrderFlowService flow;
+    @Autowired OrderRepository orders;
+    @Autowired TransactionTemplate tx;
+
+    @Test
+    void AC_joinFetchIsOneStatement() {
+        Long id = flow.createUserWithOrder("count1@x.com", "C1");
+
+        Order o = QueryAssertions.assertMaxQueries(1, () -> flow.loadOrderWithItems(id));
+        assertEquals(2, o.getItems().size());
+    }
+
+    @Test
+    void AC_findByIdPerOrderIsFlagged() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) ids.add(flow.createUserWithOrder("count-loop" + i + "@x.com", "L" + i));
+
+        var counted = QueryAssertions.count(() -> tx.execute(s -> {
+            int n = 0;
+            for (Long id : ids) n += orders.findById(id).orElseThrow().getTotal();
+            return n;
+        }));
+        List<QueryCounter.Statement> repeated = counted.scope().repeatedStatements(5);
+        assertEquals(1, repeated.size(), counted.scope()::toString);
+        assertEquals(5, repeated.get(0).count());
+        assertThrows(AssertionError.class, () -> QueryAssertions.assertNoNPlusOne(5, () -> tx.execute(s -> {
+            ids.forEach(id -> orders.findById(id).orElseThrow());
+            return null;
+        })));
+    }
+
+    @Test
+    void AC_lazyItemsAreBatchFetched() {
+        for (int i = 0; i < 5; i++) flow.createUserWithOrder("count-lazy" + i + "@x.com", "Z" + i);
+
+        int items = QueryAssertions.assertNoNPlusOne(3, () -> tx.execute(s -> {
+            int n = 0;
+            for (Order o : orders.findAll()) n += o.getItems().size();
+            return n;
+        }));
+        assertTrue(items >= 10);
+    }
+}
@@ -3,8 +3,11 @@ package com.simon.jpa.performance;
 import com.simon.jpa.domain.Order;
 import com.simon.jpa.domain.OrderItem;
 import com.simon.jpa.domain.User;
+import com.simon.jpa.dto.NewOrder;
 import com.simon.jpa.repo.OrderRepository;
 import com.simon.jpa.repo.UserRepository;
+import com.simon.jpa.service.OrderFlowService;
+import com.simon.jpa.service.OrderIngestService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +34,12 @@ public class JpaPerformanceTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderFlowService orderFlowService;
+
+    @Autowired
+    private OrderIngestService orderIngestService;
+
     private Random random = new Random();
 
     @BeforeEach
@@ -219,6 +228,36 @@ public class JpaPerformanceTest {
         System.out.println("JPA - 乐观锁并发更新耗时: " + (endTime - startTime) + "ms");
     }
 
+    @Test
+    void testIngestThroughput() {
+        int orderCount = 2000;
+
+        // 逐条写入：每个订单一个事务，user/order/item 各自一次往返
+        long startTime = System.nanoTime();
+        for (int i = 0; i < orderCount; i++) {
+            orderFlowService.createUserWithOrder("row" + i + "@example.com", "Row " + i);
+        }
+        long rowNanos = System.nanoTime() - startTime;
+
+        // 批量写入：序列池预分配 id + JDBC batch + 按表排序
+        List<NewOrder> newOrders = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            newOrders.add(new NewOrder("bulk" + i + "@example.com", "Bulk " + i, 0,
+                    List.of(new NewOrder.Item("SKU-A", 1), new NewOrder.Item("SKU-B", 2))));
+        }
+        startTime = System.nanoTime();
+        List<Long> ids = orderIngestService.ingest(newOrders);
+        long bulkNanos = System.nanoTime() - startTime;
+
+        System.out.println("JPA - 逐条写入 " + orderCount + " 订单: " + rowNanos / 1_000_000 + "ms, "
+                + orderCount * 1_000_000_000L / rowNanos + " 订单/s");
+        System.out.println("JPA - 批量写入 " + orderCount + " 订单: " + bulkNanos / 1_000_000 + "ms, "
+                + orderCount * 1_000_000_000L / bulkNanos + " 订单/s");
+
+        assertEquals(orderCount, ids.size());
+        assertEquals(orderCount * 2L, orderRepository.count());
+    }
+
     private OrderItem createOrderItem(String sku, int qty) {
         OrderItem item = new OrderItem();
         item.setSku(sku);
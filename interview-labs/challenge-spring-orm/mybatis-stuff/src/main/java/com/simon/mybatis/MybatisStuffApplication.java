@@ -1,11 +1,14 @@
 package com.simon.mybatis;
 
+import com.simon.orm.instrument.QueryInstrumentationConfig;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @MapperScan("com.simon.mybatis.mapper")
+@Import(QueryInstrumentationConfig.class)
 public class MybatisStuffApplication {
     public static void main(String[] args) {
         SpringApplication.run(MybatisStuffApplication.class, args);
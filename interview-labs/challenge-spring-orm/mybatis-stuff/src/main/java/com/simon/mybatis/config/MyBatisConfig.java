@@ -1,5 +1,7 @@
 package com.simon.mybatis.config;
 
+import com.simon.mybatis.instrument.CountingInterceptor;
+import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.SqlSessionTemplate;
@@ -17,6 +19,7 @@ public class MyBatisConfig {
         factoryBean.setDataSource(dataSource);
         factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver()
                 .getResources("classpath:/mappers/*.xml"));
+        factoryBean.setPlugins(new Interceptor[]{new CountingInterceptor()});
         return factoryBean.getObject();
     }
 
@@ -0,0 +1,49 @@
+package com.simon.mybatis.instrument;
+
+import com.simon.orm.instrument.QueryCounter;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Records every statement MyBatis executes into the open {@link QueryCounter} scopes, timed around the JDBC call.
+ * For cursors the time covers the execute only; rows are fetched later while the cursor is iterated.
+ * A BATCH executor only adds rows through the StatementHandler, so its statements are counted when an explicit
+ * {@code flushStatements()} sends them, one per JDBC batch; batches flushed implicitly by a query or the commit
+ * are not seen.
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class CountingInterceptor implements Interceptor {
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        if (invocation.getTarget() instanceof Executor) {
+            List<BatchResult> results = (List<BatchResult>) invocation.proceed();
+            long nanos = System.nanoTime() - start;
+            for (BatchResult r : results) {
+                QueryCounter.record(r.getSql(), nanos / results.size());
+            }
+            return results;
+        }
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        try {
+            return invocation.proceed();
+        } finally {
+            QueryCounter.record(handler.getBoundSql().getSql(), System.nanoTime() - start);
+        }
+    }
+}
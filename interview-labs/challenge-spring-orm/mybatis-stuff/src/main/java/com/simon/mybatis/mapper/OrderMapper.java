@@ -4,19 +4,32 @@ import com.simon.mybatis.domain.Order;
 import com.simon.mybatis.domain.OrderItem;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
 public interface OrderMapper {
+    String SEQ_USERS = "users_seq";
+    String SEQ_ORDERS = "orders_seq";
+    String SEQ_ORDER_ITEMS = "order_items_seq";
+
     void insertOrder(Order order);
     void insertOrderItem(OrderItem item);
     void insertItem(OrderItem item);
+    /** {@code sequence} is spliced into the SQL; pass one of the SEQ_ constants only. */
+    List<Long> allocateIds(@Param("sequence") String sequence, @Param("count") int count);
+    void insertOrderWithId(Order order);
+    void insertItemWithId(OrderItem item);
     Order findOrderWithItemsById(@Param("id") Long id);
     List<Order> findOrdersWithItems();
     List<Order> findAllOrders();
     OrderItem findItemsByOrderId(@Param("orderId") Long orderId);
     List<OrderItem> findItemsByOrderIdList(@Param("orderId") Long orderId);
+    List<OrderItem> findItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+    Cursor<Order> streamOrders();
+    Cursor<Order> streamOrdersWithItems();
     long countOrders();
     void deleteAllOrders();
     void deleteAllItems();
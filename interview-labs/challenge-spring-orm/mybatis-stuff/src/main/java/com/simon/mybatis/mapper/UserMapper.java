@@ -10,6 +10,7 @@ import java.util.List;
 public interface UserMapper {
     void insert(User user);
     void insertUser(User user);
+    void insertWithId(User user);
     User findById(@Param("id") Long id);
     User findUserById(@Param("id") Long id);
     User findByEmail(@Param("email") String email);
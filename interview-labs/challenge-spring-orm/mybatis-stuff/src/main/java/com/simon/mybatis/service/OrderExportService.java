@@ -0,0 +1,90 @@
+package com.simon.mybatis.service;
+
+import com.simon.mybatis.domain.Order;
+import com.simon.mybatis.domain.OrderItem;
+import com.simon.mybatis.mapper.OrderMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Exports every order with its items without materialising the whole result.
+ * findOrdersWithItems builds the full list (one row per item, collapsed afterwards); here each order is handed
+ * to the sink and dropped, so heap use depends on the batch size, not on the table size.
+ * Cursors only live as long as the SqlSession, hence the read-only transaction around each export.
+ */
+@Service
+public class OrderExportService {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final OrderMapper orders;
+
+    public OrderExportService(OrderMapper orders) {
+        this.orders = orders;
+    }
+
+    /**
+     * Streams order headers and loads their items per batch with one IN query.
+     * Both results are sorted by order id, so items are attached with a single merge pass.
+     */
+    @Transactional(readOnly = true)
+    public long exportBatched(int batchSize, Consumer<Order> sink) {
+        long exported = 0;
+        List<Order> batch = new ArrayList<>(batchSize);
+        try (Cursor<Order> cursor = orders.streamOrders()) {
+            for (Order order : cursor) {
+                batch.add(order);
+                if (batch.size() == batchSize) {
+                    exported += flush(batch, sink);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return exported + flush(batch, sink);
+    }
+
+    /**
+     * Streams the order/item join; MyBatis groups consecutive rows of the same order and emits the order
+     * once the next one starts. One query, but every order column is repeated on each item row.
+     */
+    @Transactional(readOnly = true)
+    public long exportJoined(Consumer<Order> sink) {
+        long exported = 0;
+        try (Cursor<Order> cursor = orders.streamOrdersWithItems()) {
+            for (Order order : cursor) {
+                sink.accept(order);
+                exported++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return exported;
+    }
+
+    private int flush(List<Order> batch, Consumer<Order> sink) {
+        if (batch.isEmpty()) return 0;
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Order o : batch) ids.add(o.getId());
+        List<OrderItem> items = orders.findItemsByOrderIds(ids);
+
+        int i = 0;
+        for (Order order : batch) {
+            List<OrderItem> own = new ArrayList<>();
+            while (i < items.size() && items.get(i).getOrderId().equals(order.getId())) {
+                own.add(items.get(i++));
+            }
+            order.setItems(own);
+            sink.accept(order);
+        }
+        int n = batch.size();
+        batch.clear();
+        return n;
+    }
+}
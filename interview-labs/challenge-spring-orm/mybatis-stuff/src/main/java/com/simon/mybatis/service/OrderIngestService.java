@@ -0,0 +1,80 @@
+package com.simon.mybatis.service;
+
+import com.simon.mybatis.domain.NewOrder;
+import com.simon.mybatis.domain.Order;
+import com.simon.mybatis.domain.OrderItem;
+import com.simon.mybatis.domain.User;
+import com.simon.mybatis.mapper.OrderMapper;
+import com.simon.mybatis.mapper.UserMapper;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bulk counterpart of {@link OrderFlowService#createUserWithOrder}.
+ * useGeneratedKeys needs the row inserted before the child can reference its id, which forces one round trip
+ * per row. Here each chunk reserves its ids with one query per sequence, then inserts table by table through a
+ * BATCH executor: consecutive rows of the same statement share one PreparedStatement and go out as one JDBC batch.
+ * The mappers come from a BATCH template, so nothing else may use the default template in the same transaction.
+ */
+@Service
+public class OrderIngestService {
+    private final OrderMapper orders;
+    private final UserMapper users;
+    private final SqlSessionTemplate batch;
+    private final int chunkSize;
+
+    public OrderIngestService(SqlSessionFactory sqlSessionFactory,
+                              @Value("${lab.ingest.chunk-size:500}") int chunkSize) {
+        this.batch = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.orders = batch.getMapper(OrderMapper.class);
+        this.users = batch.getMapper(UserMapper.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public List<Long> ingest(List<NewOrder> newOrders) {
+        List<Long> ids = new ArrayList<>(newOrders.size());
+        for (int from = 0; from < newOrders.size(); from += chunkSize) {
+            ingestChunk(newOrders.subList(from, Math.min(from + chunkSize, newOrders.size())), ids);
+        }
+        return ids;
+    }
+
+    private void ingestChunk(List<NewOrder> chunk, List<Long> ids) {
+        int itemCount = 0;
+        for (NewOrder n : chunk) itemCount += n.items().size();
+        Iterator<Long> userIds = orders.allocateIds(OrderMapper.SEQ_USERS, chunk.size()).iterator();
+        Iterator<Long> orderIds = orders.allocateIds(OrderMapper.SEQ_ORDERS, chunk.size()).iterator();
+        Iterator<Long> itemIds = itemCount == 0 ? null : orders.allocateIds(OrderMapper.SEQ_ORDER_ITEMS, itemCount).iterator();
+
+        List<User> userRows = new ArrayList<>(chunk.size());
+        List<Order> orderRows = new ArrayList<>(chunk.size());
+        List<OrderItem> itemRows = new ArrayList<>(itemCount);
+        for (NewOrder n : chunk) {
+            User u = new User(); u.setId(userIds.next()); u.setEmail(n.email()); u.setName(n.name());
+            Order o = new Order(); o.setId(orderIds.next()); o.setUserId(u.getId()); o.setTotal(n.total());
+            for (NewOrder.Item i : n.items()) {
+                OrderItem item = new OrderItem(); item.setId(itemIds.next()); item.setOrderId(o.getId());
+                item.setSku(i.sku()); item.setQty(i.qty());
+                itemRows.add(item);
+            }
+            userRows.add(u);
+            orderRows.add(o);
+            ids.add(o.getId());
+        }
+
+        // grouped by table: interleaving statements would close the batch on every switch
+        userRows.forEach(users::insertWithId);
+        orderRows.forEach(orders::insertOrderWithId);
+        itemRows.forEach(orders::insertItemWithId);
+        batch.flushStatements();
+    }
+}
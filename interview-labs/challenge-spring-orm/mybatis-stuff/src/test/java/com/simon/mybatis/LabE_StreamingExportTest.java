@@ -0,0 +1,79 @@
+package com.simon.mybatis;
+
+import com.simon.mybatis.domain.Order;
+import com.simon.mybatis.domain.OrderItem;
+import com.simon.mybatis.domain.User;
+import com.simon.mybatis.mapper.OrderMapper;
+import com.simon.mybatis.mapper.UserMapper;
+import com.simon.mybatis.service.OrderExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LabE_StreamingExportTest {
+    @Autowired UserMapper users;
+    @Autowired OrderMapper orders;
+    @Autowired OrderExportService export;
+
+    private List<Long> seed() {
+        User u = new User();
+        u.setEmail("s@x.com");
+        u.setName("S");
+        users.insert(u);
+
+        List<Long> ids = new ArrayList<>();
+        for (int n = 0; n < 5; n++) {
+            Order o = new Order();
+            o.setUserId(u.getId());
+            o.setTotal(n);
+            orders.insertOrder(o);
+            ids.add(o.getId());
+            // order n gets n items, so the first order has none
+            for (int k = 0; k < n; k++) {
+                OrderItem i = new OrderItem(); i.setOrderId(o.getId()); i.setSku("SKU-" + k); i.setQty(k + 1);
+                orders.insertItem(i);
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    void AC_batchedExportAttachesItemsPerOrder() {
+        List<Long> ids = seed();
+        List<Order> exported = new ArrayList<>();
+
+        long count = export.exportBatched(2, exported::add);
+
+        assertEquals(5, count);
+        for (int n = 0; n < 5; n++) {
+            Order o = exported.get(n);
+            assertEquals(ids.get(n), o.getId());
+            assertEquals(n, o.getItems().size());
+            o.getItems().forEach(i -> assertEquals(o.getId(), i.getOrderId()));
+        }
+    }
+
+    @Test
+    void AC_joinedExportGroupsSortedRows() {
+        List<Long> ids = seed();
+        List<Long> seen = new ArrayList<>();
+        List<Integer> itemCounts = new ArrayList<>();
+
+        long count = export.exportJoined(o -> {
+            seen.add(o.getId());
+            itemCounts.add(o.getItems().size());
+        });
+
+        assertEquals(5, count);
+        assertEquals(ids, seen);
+        assertEquals(List.of(0, 1, 2, 3, 4), itemCounts);
+    }
+}
@@ -0,0 +1,50 @@
+package com.simon.mybatis;
+
+import com.simon.mybatis.domain.Order;
+import com.simon.mybatis.domain.OrderItem;
+import com.simon.mybatis.mapper.OrderMapper;
+import com.simon.mybatis.service.OrderFlowService;
+import com.simon.orm.analysis.QueryAssertions;
+import com.simon.orm.instrument.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LabF_QueryCountingTest {
+    @Autowired OrderFlowService flow;
+    @Autowired OrderMapper orders;
+
+    @Test
+    void AC_resultMapJoinIsOneStatement() {
+        Long id = flow.createUserWithOrder("count1@x.com", "C1");
+
+        Order o = QueryAssertions.assertMaxQueries(1, () -> flow.loadOrderWithItems(id));
+        assertEquals(2, o.getItems().size());
+    }
+
+    @Test
+    void AC_itemsPerOrderIsFlaggedAndInListIsNot() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) ids.add(flow.createUserWithOrder("count-loop" + i + "@x.com", "L" + i));
+
+        var counted = QueryAssertions.count(() -> {
+            List<OrderItem> all = new ArrayList<>();
+            for (Long id : ids) all.addAll(orders.findItemsByOrderIdList(id));
+            return all;
+        });
+        assertEquals(10, counted.value().size());
+        List<QueryCounter.Statement> repeated = counted.scope().repeatedStatements(5);
+        assertEquals(1, repeated.size(), counted.scope()::toString);
+        assertEquals(5, repeated.get(0).count());
+        assertTrue(repeated.get(0).nanos() > 0);
+
+        List<OrderItem> batched = QueryAssertions.assertMaxQueries(1, () -> orders.findItemsByOrderIds(ids));
+        assertEquals(10, batched.size());
+    }
+}
@@ -0,0 +1,43 @@
+package com.simon.mybatis;
+
+import com.simon.mybatis.domain.NewOrder;
+import com.simon.mybatis.domain.Order;
+import com.simon.mybatis.service.OrderFlowService;
+import com.simon.mybatis.service.OrderIngestService;
+import com.simon.orm.analysis.QueryAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LabG_BulkIngestTest {
+    @Autowired OrderIngestService ingest;
+    @Autowired OrderFlowService flow;
+
+    @Test
+    void AC_bulkIngestIsOneBatchPerTable() {
+        List<NewOrder> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new NewOrder("ingest" + i + "@x.com", "I" + i, i,
+                    List.of(new NewOrder.Item("SKU-A", 1), new NewOrder.Item("SKU-B", 2))));
+        }
+
+        // 3 id allocations + 3 batches, versus 400 single-row inserts
+        List<Long> ids = QueryAssertions.assertMaxQueries(6, () -> ingest.ingest(batch));
+
+        assertEquals(100, ids.size());
+        assertEquals(100, ids.stream().distinct().count());
+        Order last = flow.loadOrderWithItems(ids.get(99));
+        assertEquals(99, last.getTotal());
+        assertEquals(List.of("SKU-A", "SKU-B"), last.getItems().stream().map(i -> i.getSku()).toList());
+
+        // single-row inserts draw from the same sequences, so both paths can be mixed
+        Long next = flow.createUserWithOrder("after-ingest@x.com", "A");
+        assertFalse(ids.contains(next));
+    }
+}
@@ -1,10 +1,13 @@
 package com.simon.mybatis.performance;
 
+import com.simon.mybatis.domain.NewOrder;
 import com.simon.mybatis.domain.Order;
 import com.simon.mybatis.domain.OrderItem;
 import com.simon.mybatis.domain.User;
 import com.simon.mybatis.mapper.OrderMapper;
 import com.simon.mybatis.mapper.UserMapper;
+import com.simon.mybatis.service.OrderFlowService;
+import com.simon.mybatis.service.OrderIngestService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +34,12 @@ public class MybatisPerformanceTest {
     @Autowired
     private OrderMapper orderMapper;
 
+    @Autowired
+    private OrderFlowService orderFlowService;
+
+    @Autowired
+    private OrderIngestService orderIngestService;
+
     private Random random = new Random();
 
     @BeforeEach
@@ -267,6 +276,36 @@ public class MybatisPerformanceTest {
         assertEquals(0, userMapper.countUsers());
     }
 
+    @Test
+    void testIngestThroughput() {
+        int orderCount = 2000;
+
+        // 逐条写入：每个订单一个事务，useGeneratedKeys 让每行都是一次往返
+        long startTime = System.nanoTime();
+        for (int i = 0; i < orderCount; i++) {
+            orderFlowService.createUserWithOrder("row" + i + "@example.com", "Row " + i);
+        }
+        long rowNanos = System.nanoTime() - startTime;
+
+        // 批量写入：序列预分配 id + ExecutorType.BATCH + 按表排序
+        List<NewOrder> newOrders = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            newOrders.add(new NewOrder("bulk" + i + "@example.com", "Bulk " + i, 0,
+                    List.of(new NewOrder.Item("SKU-A", 1), new NewOrder.Item("SKU-B", 2))));
+        }
+        startTime = System.nanoTime();
+        List<Long> ids = orderIngestService.ingest(newOrders);
+        long bulkNanos = System.nanoTime() - startTime;
+
+        System.out.println("MyBatis - 逐条写入 " + orderCount + " 订单: " + rowNanos / 1_000_000 + "ms, "
+                + orderCount * 1_000_000_000L / rowNanos + " 订单/s");
+        System.out.println("MyBatis - 批量写入 " + orderCount + " 订单: " + bulkNanos / 1_000_000 + "ms, "
+                + orderCount * 1_000_000_000L / bulkNanos + " 订单/s");
+
+        assertEquals(orderCount, ids.size());
+        assertEquals(orderCount * 2L, orderMapper.countOrders());
+    }
+
     private List<User> prepareTestData(int userCount) {
         List<User> users = new ArrayList<>();
         for (int i = 0; i < userCount; i++) {
@@ -1,21 +1,27 @@
+-- ids come from sequences so the bulk ingest can reserve a block of them up front (see OrderMapper.allocateIds)
+create sequence users_seq;
+create sequence orders_seq;
+create sequence order_items_seq;
+
 create table users (
-  id bigint generated by default as identity primary key,
+  id bigint default next value for users_seq primary key,
   email varchar(255) not null unique,
   name varchar(255) not null
 );
 
 create table orders (
-  id bigint generated by default as identity primary key,
+  id bigint default next value for orders_seq primary key,
   user_id bigint not null,
   total int not null,
   constraint fk_orders_user foreign key (user_id) references users(id)
 );
 
 create table order_items (
-  id bigint generated by default as identity primary key,
+  id bigint default next value for order_items_seq primary key,
   order_id bigint not null,
   sku varchar(64) not null,
   qty int not null,
   constraint fk_items_order foreign key (order_id) references orders(id)
 );
 
+create index idx_items_order on order_items(order_id);
@@ -0,0 +1,42 @@
+package com.simon.orm.analysis;
+
+import com.simon.orm.instrument.QueryCounter;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 基于 {@link QueryCounter} 的断言：把被测代码包在一个计数作用域里，按语句数量或重复语句判定，
+ * 让 N+1 回归在单测里就失败，而不是等到生产数据量上来才暴露。
+ */
+public final class QueryAssertions {
+    private QueryAssertions() { }
+
+    /** 执行 action 并返回其作用域，供测试自行检查语句明细。 */
+    public static <T> Counted<T> count(Supplier<T> action) {
+        try (QueryCounter.Scope scope = QueryCounter.open("test")) {
+            T value = action.get();
+            return new Counted<>(value, scope);
+        }
+    }
+
+    public static <T> T assertMaxQueries(int max, Supplier<T> action) {
+        Counted<T> counted = count(action);
+        assertTrue(counted.scope().getQueryCount() <= max,
+                () -> "expected at most " + max + " statements, got " + counted.scope());
+        return counted.value();
+    }
+
+    /** 同一条（归一化后的）语句执行次数达到 threshold 即视为 N+1。 */
+    public static <T> T assertNoNPlusOne(int threshold, Supplier<T> action) {
+        Counted<T> counted = count(action);
+        List<QueryCounter.Statement> repeated = counted.scope().repeatedStatements(threshold);
+        if (!repeated.isEmpty()) fail("N+1 suspected: " + counted.scope());
+        return counted.value();
+    }
+
+    public record Counted<T>(T value, QueryCounter.Scope scope) { }
+}
@@ -0,0 +1,116 @@
+package com.simon.orm.instrument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-thread statement counter. A {@link Scope} is opened around a unit of work (a service call, a test block);
+ * every SQL statement executed on the same thread while it is open is recorded under its normalised text.
+ * Scopes nest, and a statement counts towards every open scope, so a test scope sees the statements of the
+ * service calls inside it.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("in\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+
+    private QueryCounter() { }
+
+    public static Scope open(String name) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    /** Records one statement; {@code nanos} is its execution time, or 0 when the caller cannot measure it. */
+    public static void record(String sql, long nanos) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) return;
+        String key = normalize(sql);
+        for (Scope scope : scopes) scope.add(key, nanos);
+    }
+
+    /** Collapses whitespace, literals and IN lists so that the same query with other arguments has one key. */
+    static String normalize(String sql) {
+        String s = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        s = LITERAL.matcher(s).replaceAll("?");
+        return IN_LIST.matcher(s).replaceAll("in (?)");
+    }
+
+    public record Statement(String sql, int count, long nanos) { }
+
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private final long started = System.nanoTime();
+        private final Map<String, long[]> statements = new LinkedHashMap<>();
+        private int queryCount;
+        private long elapsedNanos = -1;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private void add(String sql, long nanos) {
+            long[] stats = statements.computeIfAbsent(sql, k -> new long[2]);
+            stats[0]++;
+            stats[1] += nanos;
+            queryCount++;
+        }
+
+        @Override
+        public void close() {
+            if (elapsedNanos >= 0) return;
+            elapsedNanos = System.nanoTime() - started;
+            Deque<Scope> scopes = SCOPES.get();
+            if (scopes != null) {
+                scopes.remove(this);
+                if (scopes.isEmpty()) SCOPES.remove();
+            }
+        }
+
+        public String getName() { return name; }
+        public int getQueryCount() { return queryCount; }
+
+        /** Wall time of the scope; while it is still open, the time so far. */
+        public long getElapsedNanos() {
+            return elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - started;
+        }
+
+        public List<Statement> getStatements() {
+            List<Statement> result = new ArrayList<>(statements.size());
+            statements.forEach((sql, s) -> result.add(new Statement(sql, (int) s[0], s[1])));
+            return result;
+        }
+
+        /** Statements that ran at least {@code threshold} times: the per-row queries of an N+1. */
+        public List<Statement> repeatedStatements(int threshold) {
+            List<Statement> result = new ArrayList<>();
+            for (Statement s : getStatements()) {
+                if (s.count() >= threshold) result.add(s);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(name).append(": ").append(queryCount).append(" statements in ")
+                    .append(getElapsedNanos() / 1_000_000).append(" ms");
+            for (Statement s : getStatements()) {
+                sb.append("\n  ").append(s.count()).append("x ").append(s.sql());
+            }
+            return sb.toString();
+        }
+    }
+}
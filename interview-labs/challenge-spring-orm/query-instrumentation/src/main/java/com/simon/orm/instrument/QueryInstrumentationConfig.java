@@ -0,0 +1,45 @@
+package com.simon.orm.instrument;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Opens a {@link QueryCounter} scope around every public {@code @Service} method and warns when a statement
+ * repeats often enough to look like an N+1. The advisor is an infrastructure bean, so the proxy creator that
+ * already wraps services for {@code @Transactional} applies it too; no AspectJ needed.
+ */
+@Configuration(proxyBeanMethods = false)
+public class QueryInstrumentationConfig {
+    private static final Logger log = LoggerFactory.getLogger(QueryInstrumentationConfig.class);
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor queryCountingAdvisor(@Value("${lab.query-count.n-plus-one-threshold:5}") int threshold) {
+        MethodInterceptor interceptor = invocation -> {
+            String name = invocation.getMethod().getDeclaringClass().getSimpleName() + "." + invocation.getMethod().getName();
+            try (QueryCounter.Scope scope = QueryCounter.open(name)) {
+                Object result = invocation.proceed();
+                List<QueryCounter.Statement> repeated = scope.repeatedStatements(threshold);
+                if (!repeated.isEmpty()) {
+                    log.warn("Possible N+1 in {}: {}", name, scope);
+                } else if (log.isDebugEnabled()) {
+                    log.debug("{}", scope);
+                }
+                return result;
+            }
+        };
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class, true), interceptor);
+    }
+}
@@ -0,0 +1,70 @@
+package com.simon.challenge_spring_transction_in_new_era.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary + replica pools behind {@link ReplicaRoutingDataSource}; off unless {@code lab.routing.enabled=true}.
+ * Each pool reports {@code hikaricp.connections.*} tagged with its pool name; the router adds
+ * {@code datasource.routing.connections} per pool and {@code datasource.routing.pinned}.
+ *
+ * <p>Boot builds the JPA {@code EntityManagerFactory} and both transaction managers on the {@code @Primary}
+ * {@code dataSource}, so they all see the lazy proxy, and the router only runs when a statement needs a connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lab.routing.enabled", havingValue = "true")
+public class ReadReplicaRoutingConfig {
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username:sa}") String username,
+                                              @Value("${lab.routing.primary-pool-size:10}") int size,
+                                              MeterRegistry registry) {
+        return pool("primary", url, username, size, false, registry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(@Value("${lab.routing.replica-url}") String url,
+                                              @Value("${lab.routing.replica-username:sa}") String username,
+                                              @Value("${lab.routing.replica-pool-size:10}") int size,
+                                              MeterRegistry registry) {
+        return pool("replica", url, username, size, true, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${lab.routing.read-your-writes-window:2s}") Duration window,
+                                 MeterRegistry registry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, window, registry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, int size, boolean readOnly,
+                                         MeterRegistry registry) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(name);
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setMaximumPoolSize(size);
+        ds.setReadOnly(readOnly);
+        ds.setMetricRegistry(registry);
+        return ds;
+    }
+}
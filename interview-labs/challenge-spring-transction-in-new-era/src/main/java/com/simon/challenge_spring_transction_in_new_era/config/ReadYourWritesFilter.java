@@ -0,0 +1,37 @@
+package com.simon.challenge_spring_transction_in_new_era.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Binds the read-your-writes subject of {@link ReplicaRoutingDataSource} for one request: the authenticated user if
+ * there is one, otherwise the existing HTTP session. Anonymous requests without a session are not pinned.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String subject = subject(request);
+        if (subject == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReplicaRoutingDataSource.Scope ignored = ReplicaRoutingDataSource.bindSubject(subject)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    static String subject(HttpServletRequest request) {
+        Principal user = request.getUserPrincipal();
+        if (user != null) return "user:" + user.getName();
+        HttpSession session = request.getSession(false);
+        return session == null ? null : "session:" + session.getId();
+    }
+}
@@ -0,0 +1,107 @@
+package com.simon.challenge_spring_transction_in_new_era.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} to the replica and everything else to the primary.
+ * The lookup reads the transaction's read-only flag, which Spring only publishes after the transaction manager
+ * has begun; the routing source must therefore sit behind a {@code LazyConnectionDataSourceProxy}, so the real
+ * connection is fetched at the first statement.
+ *
+ * <p>Read-your-writes: after a read-write transaction commits, read-only transactions of the same subject (user or
+ * session, bound with {@link #bindSubject} by {@link ReadYourWritesFilter}) stay on the primary for {@code pinWindow},
+ * long enough for the replica to catch up. Work without a bound subject is never pinned. A pin is a deadline that
+ * is dropped once it has passed.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Pool { PRIMARY, REPLICA }
+
+    /** Restores the previously bound subject. */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final ThreadLocal<String> SUBJECT = new ThreadLocal<>();
+    // expired pins are swept on write once there are this many
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    private final long pinNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final Map<Pool, Counter> routed = new EnumMap<>(Pool.class);
+    private final Counter pinned;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration pinWindow, MeterRegistry registry) {
+        setTargetDataSources(Map.of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.pinNanos = pinWindow.toNanos();
+        for (Pool pool : Pool.values()) {
+            routed.put(pool, Counter.builder("datasource.routing.connections")
+                    .tag("pool", pool.name().toLowerCase()).register(registry));
+        }
+        this.pinned = Counter.builder("datasource.routing.pinned").register(registry);
+    }
+
+    /** Binds the read-your-writes subject to the current thread until the returned scope is closed. */
+    public static Scope bindSubject(String subject) {
+        String previous = SUBJECT.get();
+        SUBJECT.set(subject);
+        return () -> {
+            if (previous == null) SUBJECT.remove(); else SUBJECT.set(previous);
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Pool pool = route();
+        routed.get(pool).increment();
+        return pool;
+    }
+
+    private Pool route() {
+        String subject = SUBJECT.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (subject != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        pin(subject);
+                    }
+                });
+            }
+            return Pool.PRIMARY;
+        }
+        if (subject != null && isPinned(subject)) {
+            pinned.increment();
+            return Pool.PRIMARY;
+        }
+        return Pool.REPLICA;
+    }
+
+    private void pin(String subject) {
+        long now = System.nanoTime();
+        pinnedUntil.put(subject, now + pinNanos);
+        if (pinnedUntil.size() > SWEEP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    private boolean isPinned(String subject) {
+        Long until = pinnedUntil.get(subject);
+        if (until == null) return false;
+        if (until - System.nanoTime() > 0) return true;
+        pinnedUntil.remove(subject, until);
+        return false;
+    }
+}
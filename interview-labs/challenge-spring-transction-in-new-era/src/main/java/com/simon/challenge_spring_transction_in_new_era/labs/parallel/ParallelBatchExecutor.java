@@ -0,0 +1,144 @@
+package com.simon.challenge_spring_transction_in_new_era.labs.parallel;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Splits a list into chunks and runs each chunk in its own REQUIRES_NEW transaction on a virtual thread.
+ * The transaction context is thread-bound (see {@code VirtualThreadService}), so every chunk commits or rolls
+ * back on its own; what a chunk sees of the caller's transaction is only what the caller has already committed.
+ *
+ * <p>Virtual threads are cheap, connections are not: one semaphore sized to the pool, shared by every call, keeps
+ * at most that many chunks inside a transaction across concurrent imports. A caller that itself holds a connection
+ * takes one permit for it up front and returns it when its chunks are done.
+ *
+ * <p>With a compensation, the first failure stops new chunks from starting and every chunk that had committed
+ * is undone by the compensation, again one transaction per chunk. Without one, the remaining chunks keep going
+ * and the report lists the failures.
+ */
+@Component
+public class ParallelBatchExecutor {
+    private final TransactionTemplate tx;
+    private final Semaphore connections;
+
+    public ParallelBatchExecutor(@Qualifier("dataSourceTransactionManager") PlatformTransactionManager txManager,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.connections = new Semaphore(Math.max(1, poolSize), true);
+    }
+
+    public enum Status { COMMITTED, FAILED, SKIPPED, COMPENSATED, COMPENSATION_FAILED }
+
+    public record ChunkOutcome<T>(int index, List<T> items, Status status, Throwable error, Duration elapsed) { }
+
+    public record BatchReport<T>(List<ChunkOutcome<T>> chunks) {
+        public boolean succeeded() {
+            return chunks.stream().allMatch(c -> c.status() == Status.COMMITTED);
+        }
+
+        public List<ChunkOutcome<T>> withStatus(Status status) {
+            return chunks.stream().filter(c -> c.status() == status).toList();
+        }
+    }
+
+    public <T> BatchReport<T> execute(List<T> items, int chunkSize, Consumer<List<T>> work) {
+        return execute(items, chunkSize, work, null);
+    }
+
+    public <T> BatchReport<T> execute(List<T> items, int chunkSize, Consumer<List<T>> work, Consumer<List<T>> compensation) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be positive");
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(List.copyOf(items.subList(from, Math.min(from + chunkSize, items.size()))));
+        }
+        AtomicBoolean failed = new AtomicBoolean();
+        boolean stopOnFailure = compensation != null;
+
+        boolean holdsConnection = TransactionSynchronizationManager.isActualTransactionActive();
+        if (holdsConnection) connections.acquireUninterruptibly();
+        List<ChunkOutcome<T>> outcomes = new ArrayList<>(chunks.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ChunkOutcome<T>>> futures = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> runChunk(index, chunks.get(index), work, failed, stopOnFailure)));
+            }
+            for (Future<ChunkOutcome<T>> f : futures) outcomes.add(join(f));
+
+            if (stopOnFailure && failed.get()) {
+                List<Future<ChunkOutcome<T>>> undo = new ArrayList<>();
+                for (ChunkOutcome<T> o : outcomes) {
+                    if (o.status() == Status.COMMITTED) {
+                        undo.add(executor.submit(() -> compensate(o, compensation)));
+                    }
+                }
+                for (Future<ChunkOutcome<T>> f : undo) {
+                    ChunkOutcome<T> o = join(f);
+                    outcomes.set(o.index(), o);
+                }
+            }
+        } finally {
+            if (holdsConnection) connections.release();
+        }
+        return new BatchReport<>(List.copyOf(outcomes));
+    }
+
+    private <T> ChunkOutcome<T> runChunk(int index, List<T> chunk, Consumer<List<T>> work, AtomicBoolean failed,
+                                         boolean stopOnFailure) throws InterruptedException {
+        connections.acquire();
+        long start = System.nanoTime();
+        try {
+            if (stopOnFailure && failed.get()) return new ChunkOutcome<>(index, chunk, Status.SKIPPED, null, Duration.ZERO);
+            tx.executeWithoutResult(s -> work.accept(chunk));
+            return new ChunkOutcome<>(index, chunk, Status.COMMITTED, null, Duration.ofNanos(System.nanoTime() - start));
+        } catch (RuntimeException | Error e) {
+            failed.set(true);
+            return new ChunkOutcome<>(index, chunk, Status.FAILED, e, Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            connections.release();
+        }
+    }
+
+    private <T> ChunkOutcome<T> compensate(ChunkOutcome<T> committed, Consumer<List<T>> compensation)
+            throws InterruptedException {
+        connections.acquire();
+        long start = System.nanoTime();
+        try {
+            tx.executeWithoutResult(s -> compensation.accept(committed.items()));
+            return new ChunkOutcome<>(committed.index(), committed.items(), Status.COMPENSATED, null,
+                    committed.elapsed().plusNanos(System.nanoTime() - start));
+        } catch (RuntimeException | Error e) {
+            return new ChunkOutcome<>(committed.index(), committed.items(), Status.COMPENSATION_FAILED, e,
+                    committed.elapsed().plusNanos(System.nanoTime() - start));
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static <T> ChunkOutcome<T> join(Future<ChunkOutcome<T>> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for batch chunks", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("batch chunk crashed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.simon.challenge_spring_transction_in_new_era.labs.parallel;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class ParallelImportService {
+    private final JdbcTemplate jdbc;
+    private final ParallelBatchExecutor executor;
+
+    public ParallelImportService(JdbcTemplate jdbc, ParallelBatchExecutor executor) {
+        this.jdbc = jdbc;
+        this.executor = executor;
+    }
+
+    /** Chunks that contain a "bad" name roll back as a whole; the others stay committed. */
+    public ParallelBatchExecutor.BatchReport<String> importAll(List<String> names, int chunkSize) {
+        return executor.execute(names, chunkSize, this::insertChunk);
+    }
+
+    /** All or nothing across chunks: committed chunks are deleted again once any chunk fails. */
+    public ParallelBatchExecutor.BatchReport<String> importAllOrNothing(List<String> names, int chunkSize) {
+        return executor.execute(names, chunkSize, this::insertChunk, this::deleteChunk);
+    }
+
+    private void insertChunk(List<String> chunk) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(chunk.size());
+        for (String name : chunk) rows.add(new Object[]{"PARALLEL", name, now});
+        jdbc.batchUpdate("insert into entries(type, payload, created_at) values(?, ?, ?)", rows);
+        if (chunk.stream().anyMatch(n -> n.startsWith("bad"))) throw new IllegalStateException("bad item in chunk");
+    }
+
+    private void deleteChunk(List<String> chunk) {
+        String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+        List<Object> args = new ArrayList<>(chunk.size() + 1);
+        args.add("PARALLEL");
+        args.addAll(chunk);
+        jdbc.update("delete from entries where type = ? and payload in (" + in + ")", args.toArray());
+    }
+}
@@ -0,0 +1,25 @@
+package com.simon.challenge_spring_transction_in_new_era.labs.routing;
+
+import com.simon.challenge_spring_transction_in_new_era.labs.common.Entry;
+import com.simon.challenge_spring_transction_in_new_era.labs.common.EntryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+public class ReportService {
+    private final EntryRepository repo;
+
+    public ReportService(EntryRepository repo) { this.repo = repo; }
+
+    @Transactional("transactionManager")
+    public void record(String type) {
+        repo.save(new Entry(type, "w", Instant.now()));
+    }
+
+    @Transactional(readOnly = true, value = "transactionManager")
+    public long count(String type) {
+        return repo.countByType(type);
+    }
+}
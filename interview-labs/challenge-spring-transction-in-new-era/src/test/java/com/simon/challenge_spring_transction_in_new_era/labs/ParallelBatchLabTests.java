@@ -0,0 +1,91 @@
+package com.simon.challenge_spring_transction_in_new_era.labs;
+
+import com.simon.challenge_spring_transction_in_new_era.labs.common.EntryRepository;
+import com.simon.challenge_spring_transction_in_new_era.labs.parallel.ParallelBatchExecutor;
+import com.simon.challenge_spring_transction_in_new_era.labs.parallel.ParallelBatchExecutor.BatchReport;
+import com.simon.challenge_spring_transction_in_new_era.labs.parallel.ParallelBatchExecutor.Status;
+import com.simon.challenge_spring_transction_in_new_era.labs.parallel.ParallelImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ParallelBatchLabTests {
+    @Autowired ParallelImportService importService;
+    @Autowired ParallelBatchExecutor executor;
+    @Autowired EntryRepository repo;
+
+    @BeforeEach
+    void reset() { repo.deleteByType("PARALLEL"); }
+
+    @Test
+    void failedChunkRollsBackAloneOthersCommit() {
+        BatchReport<String> report = importService.importAll(names(100, 42), 10);
+
+        assertThat(report.withStatus(Status.FAILED)).singleElement()
+                .satisfies(c -> assertThat(c.items()).contains("bad-42"));
+        assertThat(report.withStatus(Status.COMMITTED)).hasSize(9);
+        assertThat(repo.countByType("PARALLEL")).isEqualTo(90);
+    }
+
+    @Test
+    void compensationUndoesCommittedChunks() {
+        BatchReport<String> report = importService.importAllOrNothing(names(100, 42), 10);
+
+        assertThat(report.succeeded()).isFalse();
+        assertThat(report.withStatus(Status.COMMITTED)).isEmpty();
+        assertThat(report.withStatus(Status.FAILED)).hasSize(1);
+        assertThat(repo.countByType("PARALLEL")).isZero();
+    }
+
+    @Test
+    void concurrencyIsBoundedByConnectionPool() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        BatchReport<Integer> report = executor.execute(IntStream.range(0, 400).boxed().toList(), 10, chunk -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try { Thread.sleep(20); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            running.decrementAndGet();
+        });
+
+        assertThat(report.succeeded()).isTrue();
+        assertThat(report.chunks()).hasSize(40);
+        // Hikari 默认 10 个连接：并发吃满连接池，但不超过它
+        assertThat(peak.get()).isBetween(2, 10);
+    }
+
+    @Test
+    void concurrentImportsShareTheConnectionBound() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Callable<BatchReport<Integer>> batch = () -> executor.execute(IntStream.range(0, 200).boxed().toList(), 10, chunk -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try { Thread.sleep(20); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            running.decrementAndGet();
+        });
+
+        try (var callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BatchReport<Integer>>> reports = callers.invokeAll(List.of(batch, batch, batch));
+            for (Future<BatchReport<Integer>> r : reports) assertThat(r.get().succeeded()).isTrue();
+        }
+        // 三个调用方共用同一个信号量：合起来也不超过连接池
+        assertThat(peak.get()).isBetween(2, 10);
+    }
+
+    private static List<String> names(int count, int badIndex) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) names.add(i == badIndex ? "bad-" + i : "item-" + i);
+        return names;
+    }
+}
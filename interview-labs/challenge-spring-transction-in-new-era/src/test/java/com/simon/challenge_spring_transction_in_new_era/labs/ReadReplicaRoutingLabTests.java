@@ -0,0 +1,137 @@
+package com.simon.challenge_spring_transction_in_new_era.labs;
+
+import com.simon.challenge_spring_transction_in_new_era.config.ReadYourWritesFilter;
+import com.simon.challenge_spring_transction_in_new_era.config.ReplicaRoutingDataSource;
+import com.simon.challenge_spring_transction_in_new_era.labs.common.EntryRepository;
+import com.simon.challenge_spring_transction_in_new_era.labs.routing.ReportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 两个独立的 H2 内存库充当主库与只读副本，之间没有复制：
+ * 某条数据只在哪个库里出现，就能直接看出一次读被路由到了哪里。
+ */
+@SpringBootTest(properties = {
+        "lab.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:txlabs_routing_primary;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "lab.routing.replica-url=" + ReadReplicaRoutingLabTests.REPLICA_URL,
+        "lab.routing.read-your-writes-window=300ms"
+})
+class ReadReplicaRoutingLabTests {
+    static final String REPLICA_URL = "jdbc:h2:mem:txlabs_routing_replica;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @Autowired ReportService reports;
+    @Autowired EntryRepository repo;
+    @Autowired MeterRegistry registry;
+    @Autowired EntityManagerFactory emf;
+    @Autowired DataSource dataSource;
+
+    // 绕过连接池直连副本，用来模拟“复制过来的”数据
+    final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void reset() {
+        replica.execute("create table if not exists entries (id bigint auto_increment primary key, type varchar(255) not null,"
+                + " payload varchar(255) not null, created_at timestamp(6) with time zone not null)");
+        replica.update("delete from entries");
+        repo.deleteByType("RR_WRITE");
+    }
+
+    @Test
+    void readOnlyGoesToReplica() throws Exception {
+        replica.update("insert into entries(type, payload, created_at) values ('RR_REPLICA', 'r', current_timestamp)");
+        double before = routed("replica");
+
+        assertThat(onFreshThread(() -> reports.count("RR_REPLICA"))).isEqualTo(1);
+        assertThat(routed("replica")).isGreaterThan(before);
+    }
+
+    @Test
+    void entityManagerFactoryUsesTheLazyRouter() {
+        // JPA 与两个事务管理器拿到的都是懒代理，代理背后才是路由数据源
+        DataSource jpa = ((EntityManagerFactoryInfo) emf).getDataSource();
+        assertThat(jpa).isSameAs(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(((LazyConnectionDataSourceProxy) jpa).getTargetDataSource()).isInstanceOf(ReplicaRoutingDataSource.class);
+    }
+
+    @Test
+    void readYourWritesPinsToPrimaryThenExpires() throws Exception {
+        asSubject("alice", () -> reports.record("RR_WRITE"));
+        // 刚写完：同一主体的只读事务仍走主库，能读到自己的写入，换个线程也一样
+        assertThat(asSubject("alice", () -> reports.count("RR_WRITE"))).isEqualTo(1);
+        // 钉住只针对写入的主体；没有主体的读不钉
+        assertThat(asSubject("bob", () -> reports.count("RR_WRITE"))).isZero();
+        assertThat(onFreshThread(() -> reports.count("RR_WRITE"))).isZero();
+        Thread.sleep(400);
+        // 窗口过后回到副本；副本没有复制这条数据
+        assertThat(asSubject("alice", () -> reports.count("RR_WRITE"))).isZero();
+        assertThat(registry.counter("datasource.routing.pinned").count()).isPositive();
+    }
+
+    @Test
+    void filterPinsTheSessionAndUnbindsAfterTheRequest() throws Exception {
+        MockHttpSession session = new MockHttpSession(null, "rr-session");
+        Filter filter = new ReadYourWritesFilter();
+        onFreshThread(() -> {
+            filter.doFilter(request(session), new MockHttpServletResponse(), (req, res) -> reports.record("RR_WRITE"));
+            // 请求结束后线程上不再有主体
+            assertThat(reports.count("RR_WRITE")).isZero();
+            return null;
+        });
+        long[] seen = new long[1];
+        onFreshThread(() -> {
+            filter.doFilter(request(session), new MockHttpServletResponse(), (req, res) -> seen[0] = reports.count("RR_WRITE"));
+            return null;
+        });
+        assertThat(seen[0]).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request(MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/report");
+        request.setSession(session);
+        return request;
+    }
+
+    private static <T> T asSubject(String subject, Callable<T> task) throws Exception {
+        return onFreshThread(() -> {
+            try (ReplicaRoutingDataSource.Scope ignored = ReplicaRoutingDataSource.bindSubject(subject)) {
+                return task.call();
+            }
+        });
+    }
+
+    private static void asSubject(String subject, Runnable task) throws Exception {
+        asSubject(subject, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private double routed(String pool) {
+        return registry.counter("datasource.routing.connections", "pool", pool).count();
+    }
+
+    private static <T> T onFreshThread(Callable<T> task) throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return executor.submit(task).get();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.dec.api;
 
+import com.example.dec.constant.WorkflowConstants;
 import com.example.dec.domain.ProjectProcess;
 import com.example.dec.domain.ProjectTask;
 import com.example.dec.engine.ProcessRequest;
@@ -7,6 +8,7 @@ import com.example.dec.engine.ProcessResponse;
 import com.example.dec.engine.WorkflowResultType;
 import com.example.dec.engine.ProjectTaskFacade;
 import com.example.dec.engine.TaskEngine;
+import com.example.dec.facade.BulkItemResult;
 import com.example.dec.facade.EAOverseasProjectFacade;
 import com.example.dec.service.ProjectTaskService;
 import org.springframework.http.MediaType;
@@ -35,6 +37,11 @@ public class EAOverseasProjectApiController {
     return facade.startConflictProcess(projectId);
   }
 
+  @PostMapping(value = "/ea-overseas/processes/conflict/start/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public List<BulkItemResult> startBulk(@RequestBody List<String> projectIds) {
+    return facade.startConflictProcesses(projectIds);
+  }
+
   @PostMapping("/projects/demo")
   public com.example.dec.domain.Project demoProject() {
     return projectService.create("DEMO-001", "EA", "overseas", "DRAFT");
@@ -50,16 +57,28 @@ public class EAOverseasProjectApiController {
     String operator = (String) body.getOrDefault("operator", "user");
     String resultStr = (String) body.get("result");
     WorkflowResultType result = WorkflowResultType.valueOf(resultStr);
-    String meta = body.containsKey("meta") ? body.get("meta").toString() : null;
     ProjectTask task = taskService.get(taskId);
     ProcessRequest req = new ProcessRequest();
     req.setOperator(operator);
     req.setTaskId(taskId);
     req.setProcessId(task.getProcessId());
     req.setResult(result);
+    if (body.get("meta") instanceof Map<?, ?> meta) {
+      @SuppressWarnings("unchecked") Map<String, Object> m = (Map<String, Object>) meta;
+      req.setMeta(m);
+    }
     ProcessResponse resp = new ProcessResponse();
     TaskEngine engine = taskFacade.getEngine(task.getProcessNodeCode());
     engine.complete(req, resp);
-    return taskService.get(taskId);
+    // the columns the engine just recorded; re-selecting could return a row the write-behind has not flushed yet
+    task.setResult(result.name());
+    task.setStatus(WorkflowConstants.PENDING);
+    task.setMeta(req.getMeta() == null ? null : req.getMeta().toString());
+    return task;
+  }
+
+  @PostMapping(value = "/tasks/complete/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public List<BulkItemResult> completeBulk(@RequestBody List<ProcessRequest> requests) {
+    return facade.completeTasks(requests);
   }
 }
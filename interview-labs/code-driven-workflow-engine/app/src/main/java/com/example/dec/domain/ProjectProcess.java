@@ -5,6 +5,7 @@ public class ProjectProcess {
   private String projectId;
   private String processCode;
   private String status;
+  private long version;
 
   public String getId() { return id; }
   public void setId(String id) { this.id = id; }
@@ -14,4 +15,6 @@ public class ProjectProcess {
   public void setProcessCode(String processCode) { this.processCode = processCode; }
   public String getStatus() { return status; }
   public void setStatus(String status) { this.status = status; }
+  public long getVersion() { return version; }
+  public void setVersion(long version) { this.version = version; }
 }
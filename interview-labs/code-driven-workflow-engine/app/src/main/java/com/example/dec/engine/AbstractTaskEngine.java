@@ -1,7 +1,6 @@
 package com.example.dec.engine;
 
 import com.example.dec.constant.WorkflowConstants;
-import com.example.dec.domain.ProjectTask;
 import com.example.dec.service.ProjectTaskService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -11,8 +10,7 @@ public abstract class AbstractTaskEngine implements TaskEngine {
   @Override
   public void complete(ProcessRequest req, ProcessResponse resp) {
     String meta = req.getMeta() == null ? null : req.getMeta().toString();
-    ProjectTask projectTask = projectTaskService.completeTask(req.getOperator(), req.getTaskId(),
-      req.getResult().name(), meta);
+    projectTaskService.recordResult(req.getOperator(), req.getTaskId(), req.getResult().name(), meta);
     resp.setStatus(WorkflowConstants.PENDING);
   }
 }
@@ -0,0 +1,7 @@
+package com.example.dec.engine;
+
+public enum JoinOutcome {
+  NONE, WAITING, APPROVED, REJECTED, MIXED,
+  /** The join had already been decided; the completion arrived late or twice and changed nothing. */
+  DECIDED
+}
@@ -0,0 +1,97 @@
+package com.example.dec.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled node graph of one process. Transitions are taken from {@link TaskEngine#next} once at
+ * compile time; a parallel split is compiled into a {@link Join} where every branch owns one bit, so the runtime
+ * can track arrivals and approvals with two bit masks instead of rescanning the process's tasks.
+ */
+public final class ProcessDefinition {
+  public record Join(List<String> branches, int allMask, String onMixed) {}
+  public record Node(String code, TaskEngine engine, String assignRole, List<String> next, Join join, int branchBit) {}
+
+  private final String processCode;
+  private final Node start;
+  private final Join join;
+  private final Map<String, Node> nodes;
+
+  private ProcessDefinition(String processCode, Node start, Join join, Map<String, Node> nodes) {
+    this.processCode = processCode;
+    this.start = start;
+    this.join = join;
+    this.nodes = nodes;
+  }
+
+  public static Builder builder(String processCode, Map<String, TaskEngine> engines) {
+    return new Builder(processCode, engines);
+  }
+
+  public String getProcessCode() { return processCode; }
+  public Node start() { return start; }
+  /** The join of the start split, or {@code null} for a purely sequential process. */
+  public Join join() { return join; }
+  public Collection<Node> nodes() { return nodes.values(); }
+
+  public Node node(String code) {
+    Node n = nodes.get(code);
+    if (n == null) throw new IllegalArgumentException("Unknown node " + code + " in process " + processCode);
+    return n;
+  }
+
+  public boolean contains(String code) { return nodes.containsKey(code); }
+
+  public static final class Builder {
+    private final String processCode;
+    private final Map<String, TaskEngine> engines;
+    private String startCode;
+    private String onMixed;
+
+    private Builder(String processCode, Map<String, TaskEngine> engines) {
+      this.processCode = processCode;
+      this.engines = engines;
+    }
+
+    public Builder start(String nodeCode) { this.startCode = nodeCode; return this; }
+
+    /** Node a parallel split falls back to when its branches disagree. */
+    public Builder onMixedResult(String nodeCode) { this.onMixed = nodeCode; return this; }
+
+    public ProcessDefinition build() {
+      if (startCode == null) throw new IllegalStateException("Process " + processCode + " has no start node");
+      Map<String, Node> nodes = new LinkedHashMap<>();
+      TaskEngine startEngine = engine(startCode);
+      List<String> split = List.copyOf(startEngine.next(null, null));
+      Node start = new Node(startCode, startEngine, startEngine.getTaskAssignRoleCode(null), split, null, 0);
+      nodes.put(startCode, start);
+      Join join = null;
+      if (split.size() > 1) {
+        if (split.size() > 15) throw new IllegalStateException("Split of " + startCode + " has more than 15 branches");
+        if (new HashSet<>(split).size() != split.size()) throw new IllegalStateException("Duplicate branch in split of " + startCode);
+        if (onMixed == null) throw new IllegalStateException("Parallel split of " + startCode + " needs onMixedResult");
+        join = new Join(split, (1 << split.size()) - 1, onMixed);
+      }
+      List<String> pending = new ArrayList<>(split);
+      if (onMixed != null) pending.add(onMixed);
+      for (String code : pending) {
+        if (nodes.containsKey(code)) continue;
+        TaskEngine e = engine(code);
+        int idx = join == null ? -1 : split.indexOf(code);
+        int bit = idx < 0 ? 0 : 1 << idx;
+        nodes.put(code, new Node(code, e, e.getTaskAssignRoleCode(null), List.copyOf(e.next(null, null)), bit == 0 ? null : join, bit));
+      }
+      return new ProcessDefinition(processCode, start, join, Map.copyOf(nodes));
+    }
+
+    private TaskEngine engine(String code) {
+      TaskEngine e = engines.get(code);
+      if (e == null) throw new IllegalStateException("No TaskEngine bean named " + code + " for process " + processCode);
+      return e;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.dec.engine;
+
+import com.example.dec.constant.ProcessConstants;
+import com.example.dec.constant.ProcessNodeConstants;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles every process definition once all singletons exist (task engines depend on {@link ProcessEngine},
+ * so this cannot happen in a constructor) and serves node lookups from immutable maps afterwards.
+ */
+@Component
+public class ProcessDefinitionRegistry implements SmartInitializingSingleton {
+  @Autowired private ApplicationContext ctx;
+  private volatile Map<String, TaskEngine> engines;
+  private volatile Map<String, ProcessDefinition> definitions;
+  private volatile Map<String, ProcessDefinition> definitionByNode;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    Map<String, TaskEngine> all = Map.copyOf(ctx.getBeansOfType(TaskEngine.class));
+    Map<String, ProcessDefinition> defs = new HashMap<>();
+    defs.put(ProcessConstants.EA_OVERSEAS_CONFLICT, ProcessDefinition.builder(ProcessConstants.EA_OVERSEAS_CONFLICT, all)
+      .start(ProcessNodeConstants.EA_OVERSEAS_CONFLICT_START)
+      .onMixedResult(ProcessNodeConstants.EA_OVERSEAS_CONFLICT_RESUBMIT)
+      .build());
+    Map<String, ProcessDefinition> byNode = new HashMap<>();
+    for (ProcessDefinition d : defs.values()) {
+      for (ProcessDefinition.Node n : d.nodes()) {
+        ProcessDefinition prev = byNode.putIfAbsent(n.code(), d);
+        if (prev != null) throw new IllegalStateException("Node " + n.code() + " belongs to " + prev.getProcessCode() + " and " + d.getProcessCode());
+      }
+    }
+    this.engines = all;
+    this.definitions = Map.copyOf(defs);
+    this.definitionByNode = Map.copyOf(byNode);
+  }
+
+  public TaskEngine getEngine(String nodeCode) {
+    TaskEngine e = compiled(engines).get(nodeCode);
+    if (e == null) throw new IllegalArgumentException("No TaskEngine for node " + nodeCode);
+    return e;
+  }
+
+  public ProcessDefinition getDefinition(String processCode) {
+    ProcessDefinition d = compiled(definitions).get(processCode);
+    if (d == null) throw new IllegalArgumentException("Unknown process " + processCode);
+    return d;
+  }
+
+  public ProcessDefinition.Node getNode(String nodeCode) {
+    ProcessDefinition d = compiled(definitionByNode).get(nodeCode);
+    if (d == null) throw new IllegalArgumentException("Node " + nodeCode + " is not part of any process definition");
+    return d.node(nodeCode);
+  }
+
+  private static <T> T compiled(T map) {
+    if (map == null) throw new IllegalStateException("Process definitions are not compiled yet");
+    return map;
+  }
+}
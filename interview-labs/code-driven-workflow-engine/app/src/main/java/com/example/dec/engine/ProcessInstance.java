@@ -0,0 +1,76 @@
+package com.example.dec.engine;
+
+import com.example.dec.constant.WorkflowConstants;
+import com.example.dec.domain.ProjectProcess;
+import com.example.dec.domain.ProjectTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable snapshot of one process and its tasks at a given {@code project_process.version}, with the join state
+ * of its parallel split folded into two bit masks. A join counts as decided once the process left PENDING or the
+ * mixed-result fallback task exists.
+ */
+public record ProcessInstance(ProjectProcess process, List<ProjectTask> tasks, int arrived, int approved, boolean decided) {
+
+  public static ProcessInstance of(ProjectProcess process, List<ProjectTask> tasks, ProcessDefinition.Join join) {
+    int arrived = 0, approved = 0;
+    boolean decided = !WorkflowConstants.PENDING.equals(process.getStatus());
+    for (ProjectTask t : tasks) {
+      if (join == null) continue;
+      if (t.getProcessNodeCode().equals(join.onMixed())) decided = true;
+      int i = join.branches().indexOf(t.getProcessNodeCode());
+      if (i < 0 || t.getResult() == null) continue;
+      arrived |= 1 << i;
+      if (WorkflowConstants.APPROVED.equals(t.getResult())) approved |= 1 << i;
+    }
+    return new ProcessInstance(process, List.copyOf(tasks), arrived, approved, decided);
+  }
+
+  public long version() { return process.getVersion(); }
+
+  public boolean isFull(ProcessDefinition.Join join) { return (arrived & join.allMask()) == join.allMask(); }
+
+  public JoinOutcome outcome(ProcessDefinition.Join join) {
+    if (!isFull(join)) return JoinOutcome.WAITING;
+    if ((approved & join.allMask()) == join.allMask()) return JoinOutcome.APPROVED;
+    if ((approved & join.allMask()) == 0) return JoinOutcome.REJECTED;
+    return JoinOutcome.MIXED;
+  }
+
+  public ProcessInstance withResult(String taskId, ProcessDefinition.Node node, WorkflowResultType result) {
+    List<ProjectTask> copy = new ArrayList<>(tasks.size());
+    for (ProjectTask t : tasks) {
+      if (!t.getId().equals(taskId)) { copy.add(t); continue; }
+      ProjectTask u = copyOf(t);
+      u.setResult(result.name());
+      copy.add(u);
+    }
+    int bit = node.branchBit();
+    int newApproved = result == WorkflowResultType.APPROVED ? approved | bit : approved & ~bit;
+    return new ProcessInstance(process, List.copyOf(copy), arrived | bit, newApproved, decided);
+  }
+
+  /** The snapshot as committed: next version, optional new status, optional fallback task, join decided or not. */
+  public ProcessInstance committed(String status, ProjectTask fallback, boolean decidedNow) {
+    ProjectProcess p = new ProjectProcess();
+    p.setId(process.getId()); p.setProjectId(process.getProjectId()); p.setProcessCode(process.getProcessCode());
+    p.setStatus(status != null ? status : process.getStatus());
+    p.setVersion(process.getVersion() + 1);
+    List<ProjectTask> t = tasks;
+    if (fallback != null) {
+      t = new ArrayList<>(tasks);
+      t.add(fallback);
+    }
+    return new ProcessInstance(p, List.copyOf(t), arrived, approved, decided || decidedNow);
+  }
+
+  private static ProjectTask copyOf(ProjectTask t) {
+    ProjectTask c = new ProjectTask();
+    c.setId(t.getId()); c.setProcessId(t.getProcessId()); c.setProcessNodeCode(t.getProcessNodeCode());
+    c.setAssignRoleName(t.getAssignRoleName()); c.setAssignRoleId(t.getAssignRoleId());
+    c.setStatus(t.getStatus()); c.setResult(t.getResult()); c.setMeta(t.getMeta());
+    return c;
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.dec.engine;
+
+import com.example.dec.domain.ProjectProcess;
+import com.example.dec.service.ProjectProcessService;
+import com.example.dec.service.ProjectTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of {@link ProcessInstance} aggregates. Entries may be stale when another node changed the process;
+ * writers detect that through the version check in {@link ProjectProcessService#bumpVersion} and reload.
+ */
+@Component
+public class ProcessInstanceCache {
+  @Autowired private ProjectProcessService processService;
+  @Autowired private ProjectTaskService taskService;
+  @Autowired private ProcessDefinitionRegistry registry;
+  private final Map<String, ProcessInstance> lru;
+
+  public ProcessInstanceCache(@Value("${dec.process-cache.max-size:10000}") int maxSize) {
+    this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, ProcessInstance> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  public ProcessInstance get(String processId) {
+    synchronized (lru) {
+      ProcessInstance cached = lru.get(processId);
+      if (cached != null) return cached;
+    }
+    ProcessInstance loaded = load(processId);
+    synchronized (lru) {
+      ProcessInstance raced = lru.get(processId);
+      if (raced != null && raced.version() >= loaded.version()) return raced;
+      lru.put(processId, loaded);
+    }
+    return loaded;
+  }
+
+  public void put(ProcessInstance instance) {
+    synchronized (lru) {
+      ProcessInstance current = lru.get(instance.process().getId());
+      if (current == null || current.version() <= instance.version()) lru.put(instance.process().getId(), instance);
+    }
+  }
+
+  public void evict(String processId) {
+    synchronized (lru) { lru.remove(processId); }
+  }
+
+  private ProcessInstance load(String processId) {
+    ProjectProcess p = processService.get(processId);
+    if (p == null) throw new IllegalArgumentException("Unknown process " + processId);
+    return ProcessInstance.of(p, taskService.findByProcess(processId), registry.getDefinition(p.getProcessCode()).join());
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.dec.engine;
+
+import com.example.dec.constant.WorkflowConstants;
+import com.example.dec.domain.ProjectTask;
+import com.example.dec.service.ProjectProcessService;
+import com.example.dec.service.ProjectTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Advances parallel joins from the cached {@link ProcessInstance}: applying a completion is O(1) on the join
+ * masks, and every completion commits with an optimistic version bump on {@code project_process}. Whoever
+ * completes the join writes the decision (status or fallback task) in the same transaction as its bump, so
+ * concurrent approvers cannot both act on it; a lost version race evicts the cached snapshot and retries on fresh state.
+ */
+@Component
+public class ProcessRuntime {
+  private static final int MAX_ATTEMPTS = 5;
+  @Autowired private ProcessDefinitionRegistry registry;
+  @Autowired private ProcessInstanceCache cache;
+  @Autowired private ProjectProcessService processService;
+  @Autowired private ProjectTaskService taskService;
+  @Autowired private TransactionTemplate tx;
+
+  /** Applies one branch result; returns the decision if this completion filled the join, {@link JoinOutcome#DECIDED} if it was already filled. */
+  public JoinOutcome complete(String processId, String nodeCode, String taskId, WorkflowResultType result) {
+    ProcessDefinition.Node node = registry.getNode(nodeCode);
+    ProcessDefinition.Join join = node.join();
+    if (join == null) return JoinOutcome.NONE;
+    // a reloaded snapshot reads results from project_task, so this one has to be there before anyone can reload
+    taskService.awaitRecorded(taskId);
+    for (int attempt = 1; ; attempt++) {
+      ProcessInstance current = cache.get(processId);
+      // decided is derived from the persisted status and fallback task, so it survives eviction and restarts;
+      // a stale snapshot that misses it loses the version check below and is reloaded
+      if (current.decided()) return JoinOutcome.DECIDED;
+      ProcessInstance next = current.withResult(taskId, node, result);
+      JoinOutcome outcome = next.outcome(join);
+      String status = outcome == JoinOutcome.APPROVED ? WorkflowConstants.APPROVED
+        : outcome == JoinOutcome.REJECTED ? WorkflowConstants.REJECTED : null;
+      ProjectTask fallback = null;
+      if (outcome == JoinOutcome.MIXED) {
+        ProcessDefinition.Node f = registry.getNode(join.onMixed());
+        fallback = taskService.newTask(processId, f.code(), f.assignRole(), null);
+      }
+      ProjectTask insert = fallback;
+      Boolean committed = tx.execute(s -> {
+        if (!processService.bumpVersion(processId, current.version(), status)) return false;
+        if (insert != null) taskService.createAll(List.of(insert));
+        return true;
+      });
+      if (Boolean.TRUE.equals(committed)) {
+        cache.put(next.committed(status, fallback, outcome != JoinOutcome.WAITING));
+        return outcome;
+      }
+      cache.evict(processId);
+      if (attempt >= MAX_ATTEMPTS) throw new IllegalStateException("Process " + processId + " kept changing concurrently, giving up after " + attempt + " attempts");
+    }
+  }
+}
@@ -1,19 +1,18 @@
 package com.example.dec.engine;
 
-import com.example.dec.constant.ProcessNodeConstants;
+import com.example.dec.constant.ProcessConstants;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ProjectTaskFacade {
-  @Autowired private ApplicationContext ctx;
+  @Autowired private ProcessDefinitionRegistry registry;
 
   public TaskEngine getStartEngine() {
-    return (TaskEngine) ctx.getBean(ProcessNodeConstants.EA_OVERSEAS_CONFLICT_START);
+    return registry.getDefinition(ProcessConstants.EA_OVERSEAS_CONFLICT).start().engine();
   }
 
   public TaskEngine getEngine(String nodeBeanName) {
-    return (TaskEngine) ctx.getBean(nodeBeanName);
+    return registry.getEngine(nodeBeanName);
   }
 }
@@ -0,0 +1,33 @@
+package com.example.dec.facade;
+
+/** Outcome of one item of a bulk call: {@code key} echoes the input (project id or task id). */
+public class BulkItemResult {
+  private String key;
+  private boolean success;
+  private String id;
+  private String status;
+  private String error;
+
+  public static BulkItemResult ok(String key, String id, String status) {
+    BulkItemResult r = new BulkItemResult();
+    r.setKey(key); r.setSuccess(true); r.setId(id); r.setStatus(status);
+    return r;
+  }
+
+  public static BulkItemResult failed(String key, String error) {
+    BulkItemResult r = new BulkItemResult();
+    r.setKey(key); r.setSuccess(false); r.setError(error);
+    return r;
+  }
+
+  public String getKey() { return key; }
+  public void setKey(String key) { this.key = key; }
+  public boolean isSuccess() { return success; }
+  public void setSuccess(boolean success) { this.success = success; }
+  public String getId() { return id; }
+  public void setId(String id) { this.id = id; }
+  public String getStatus() { return status; }
+  public void setStatus(String status) { this.status = status; }
+  public String getError() { return error; }
+  public void setError(String error) { this.error = error; }
+}
@@ -2,10 +2,13 @@ package com.example.dec.facade;
 
 import com.example.dec.domain.ProjectProcess;
 import com.example.dec.domain.ProjectTask;
+import com.example.dec.engine.ProcessRequest;
 
 import java.util.List;
 
 public interface EAOverseasProjectFacade {
   ProjectProcess startConflictProcess(String projectId);
   List<ProjectTask> listTasks(String processId);
+  List<BulkItemResult> startConflictProcesses(List<String> projectIds);
+  List<BulkItemResult> completeTasks(List<ProcessRequest> requests);
 }
@@ -1,37 +1,53 @@
 package com.example.dec.facade;
 
 import com.example.dec.constant.ProcessConstants;
-import com.example.dec.constant.ProcessNodeConstants;
 import com.example.dec.constant.WorkflowConstants;
 import com.example.dec.domain.ProjectProcess;
 import com.example.dec.domain.ProjectTask;
+import com.example.dec.engine.ProcessDefinitionRegistry;
+import com.example.dec.engine.ProcessInstance;
+import com.example.dec.engine.ProcessInstanceCache;
+import com.example.dec.engine.ProcessRequest;
+import com.example.dec.engine.ProcessResponse;
 import com.example.dec.engine.ProjectTaskFacade;
 import com.example.dec.engine.TaskEngine;
 import com.example.dec.service.ProjectProcessService;
+import com.example.dec.service.ProjectService;
 import com.example.dec.service.ProjectTaskService;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 public class EAOverseasProjectFacadeImpl implements EAOverseasProjectFacade {
   private final ProjectProcessService processService;
   private final ProjectTaskService taskService;
+  private final ProjectService projectService;
   private final ProjectTaskFacade taskFacade;
+  private final ProcessInstanceCache instanceCache;
+  private final ProcessDefinitionRegistry registry;
 
-  public EAOverseasProjectFacadeImpl(ProjectProcessService processService, ProjectTaskService taskService, ProjectTaskFacade taskFacade) {
+  public EAOverseasProjectFacadeImpl(ProjectProcessService processService, ProjectTaskService taskService, ProjectService projectService,
+                                     ProjectTaskFacade taskFacade, ProcessInstanceCache instanceCache, ProcessDefinitionRegistry registry) {
     this.processService = processService;
     this.taskService = taskService;
+    this.projectService = projectService;
     this.taskFacade = taskFacade;
+    this.instanceCache = instanceCache;
+    this.registry = registry;
   }
 
   @Override
   public ProjectProcess startConflictProcess(String projectId) {
-    ProjectProcess pp = processService.create(projectId, ProcessConstants.EA_OVERSEAS_CONFLICT, WorkflowConstants.PENDING);
-    TaskEngine start = taskFacade.getStartEngine();
-    taskService.create(pp.getId(), ProcessNodeConstants.EA_OVERSEAS_CONFLICT_START, null, null);
-    taskService.create(pp.getId(), ProcessNodeConstants.EA_OVERSEAS_CONFLICT_CHINA_SALES, null, null);
-    taskService.create(pp.getId(), ProcessNodeConstants.EA_OVERSEAS_CONFLICT_PAE, null, null);
+    ProjectProcess pp = processService.newProcess(projectId, ProcessConstants.EA_OVERSEAS_CONFLICT, WorkflowConstants.PENDING);
+    List<ProjectTask> tasks = startTasks(pp);
+    processService.createWithTasks(pp, tasks);
+    instanceCache.put(ProcessInstance.of(pp, tasks, registry.getDefinition(pp.getProcessCode()).join()));
     return pp;
   }
 
@@ -39,4 +55,72 @@ public class EAOverseasProjectFacadeImpl implements EAOverseasProjectFacade {
   public List<ProjectTask> listTasks(String processId) {
     return taskService.findByProcess(processId);
   }
+
+  @Override
+  public List<BulkItemResult> startConflictProcesses(List<String> projectIds) {
+    Set<String> known = projectService.existingIds(projectIds);
+    List<BulkItemResult> results = new ArrayList<>(projectIds.size());
+    List<ProjectProcess> processes = new ArrayList<>();
+    Map<String, List<ProjectTask>> tasksByProcess = new HashMap<>();
+    List<ProjectTask> allTasks = new ArrayList<>();
+    for (String projectId : projectIds) {
+      if (!known.contains(projectId)) {
+        results.add(BulkItemResult.failed(projectId, "Unknown project " + projectId));
+        continue;
+      }
+      ProjectProcess pp = processService.newProcess(projectId, ProcessConstants.EA_OVERSEAS_CONFLICT, WorkflowConstants.PENDING);
+      List<ProjectTask> tasks = startTasks(pp);
+      processes.add(pp);
+      tasksByProcess.put(pp.getId(), tasks);
+      allTasks.addAll(tasks);
+      results.add(BulkItemResult.ok(projectId, pp.getId(), pp.getStatus()));
+    }
+    if (!processes.isEmpty()) processService.createAllWithTasks(processes, allTasks);
+    for (ProjectProcess pp : processes) {
+      instanceCache.put(ProcessInstance.of(pp, tasksByProcess.get(pp.getId()), registry.getDefinition(pp.getProcessCode()).join()));
+    }
+    return results;
+  }
+
+  /**
+   * Tasks are looked up with one IN query, then each distinct task goes through its node's
+   * {@link TaskEngine#complete}, exactly as a single completion would, so joins and decisions apply. A task id
+   * repeated in the request is reported as failed on every later occurrence instead of completing the task again.
+   * Per-item failures (unknown task, missing result, a join that keeps losing version races) are reported on that item.
+   * With {@code dec.task.write-behind.enabled} the result writes of concurrent callers are group-committed.
+   */
+  @Override
+  public List<BulkItemResult> completeTasks(List<ProcessRequest> requests) {
+    Map<String, ProjectTask> tasks = new HashMap<>();
+    Set<String> ids = new HashSet<>();
+    for (ProcessRequest req : requests) if (req.getTaskId() != null) ids.add(req.getTaskId());
+    for (ProjectTask t : taskService.getAll(ids)) tasks.put(t.getId(), t);
+
+    List<BulkItemResult> results = new ArrayList<>(requests.size());
+    Set<String> seen = new HashSet<>();
+    for (ProcessRequest req : requests) {
+      ProjectTask task = req.getTaskId() == null ? null : tasks.get(req.getTaskId());
+      if (task == null) { results.add(BulkItemResult.failed(req.getTaskId(), "Unknown task " + req.getTaskId())); continue; }
+      if (!seen.add(task.getId())) { results.add(BulkItemResult.failed(task.getId(), "Duplicate task " + task.getId())); continue; }
+      if (req.getResult() == null) { results.add(BulkItemResult.failed(task.getId(), "Missing result")); continue; }
+      req.setProcessId(task.getProcessId());
+      if (req.getOperator() == null) req.setOperator("user");
+      ProcessResponse resp = new ProcessResponse();
+      try {
+        taskFacade.getEngine(task.getProcessNodeCode()).complete(req, resp);
+        results.add(BulkItemResult.ok(task.getId(), task.getProcessId(), resp.getStatus()));
+      } catch (RuntimeException e) {
+        results.add(BulkItemResult.failed(task.getId(), e.getMessage()));
+      }
+    }
+    return results;
+  }
+
+  private List<ProjectTask> startTasks(ProjectProcess pp) {
+    TaskEngine start = taskFacade.getStartEngine();
+    List<ProjectTask> tasks = new ArrayList<>();
+    tasks.add(taskService.newTask(pp.getId(), start.getNodeCode(), null, null));
+    for (String node : start.next(null, null)) tasks.add(taskService.newTask(pp.getId(), node, null, null));
+    return tasks;
+  }
 }
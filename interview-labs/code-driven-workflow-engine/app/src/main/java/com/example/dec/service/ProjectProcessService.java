@@ -1,38 +1,98 @@
 package com.example.dec.service;
 
 import com.example.dec.domain.ProjectProcess;
+import com.example.dec.domain.ProjectTask;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class ProjectProcessService {
   private final JdbcTemplate jdbc;
+  private final SqlDialect dialect;
+  private final TransactionTemplate tx;
+  private final ProjectTaskService taskService;
   private final RowMapper<ProjectProcess> mapper = (rs, i) -> {
     ProjectProcess p = new ProjectProcess();
     p.setId(rs.getString("id"));
     p.setProjectId(rs.getString("project_id"));
     p.setProcessCode(rs.getString("process_code"));
     p.setStatus(rs.getString("status"));
+    p.setVersion(rs.getLong("version"));
     return p;
   };
 
-  public ProjectProcessService(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+  public ProjectProcessService(JdbcTemplate jdbc, SqlDialect dialect, TransactionTemplate tx, ProjectTaskService taskService) {
+    this.jdbc = jdbc;
+    this.dialect = dialect;
+    this.tx = tx;
+    this.taskService = taskService;
+  }
+
+  public ProjectProcess newProcess(String projectId, String processCode, String status) {
+    ProjectProcess p = new ProjectProcess();
+    p.setId(UUID.randomUUID().toString()); p.setProjectId(projectId); p.setProcessCode(processCode); p.setStatus(status);
+    return p;
+  }
 
   public ProjectProcess create(String projectId, String processCode, String status) {
-    String id = UUID.randomUUID().toString();
+    ProjectProcess p = newProcess(projectId, processCode, status);
     jdbc.update("insert into project_process(id, project_id, process_code, status) values (?,?,?,?)",
-      id, projectId, processCode, status);
-    ProjectProcess p = new ProjectProcess();
-    p.setId(id); p.setProjectId(projectId); p.setProcessCode(processCode); p.setStatus(status);
+      p.getId(), p.getProjectId(), p.getProcessCode(), p.getStatus());
     return p;
   }
 
-  public void updateStatus(String processId, String status) {
-    jdbc.update("update project_process set status=? where id=?", status, processId);
+  /**
+   * Inserts the process and its initial tasks together. On PostgreSQL this is a single statement (the process
+   * insert rides in a data-modifying CTE), i.e. one round trip; H2 has no such CTEs, so there it is two
+   * statements in one transaction.
+   */
+  public ProjectProcess createWithTasks(ProjectProcess p, List<ProjectTask> tasks) {
+    List<Object> args = new ArrayList<>(List.of(p.getId(), p.getProjectId(), p.getProcessCode(), p.getStatus()));
+    String insertProcess = "insert into project_process(id, project_id, process_code, status) values (?,?,?,?)";
+    if (tasks.isEmpty()) {
+      jdbc.update(insertProcess, args.toArray());
+    } else if (dialect.isPostgres()) {
+      String insertTasks = ProjectTaskService.insertSql(tasks, args);
+      jdbc.update("with p as (" + insertProcess + ") " + insertTasks, args.toArray());
+    } else {
+      List<Object> taskArgs = new ArrayList<>();
+      String insertTasks = ProjectTaskService.insertSql(tasks, taskArgs);
+      tx.executeWithoutResult(s -> {
+        jdbc.update(insertProcess, args.toArray());
+        jdbc.update(insertTasks, taskArgs.toArray());
+      });
+    }
+    return p;
+  }
+
+  /** Set-based form of {@link #createWithTasks}: multi-row inserts of all processes, then of all their tasks, in one transaction. */
+  public void createAllWithTasks(List<ProjectProcess> processes, List<ProjectTask> tasks) {
+    tx.executeWithoutResult(s -> {
+      for (int from = 0; from < processes.size(); from += ProjectTaskService.MAX_ROWS_PER_STATEMENT) {
+        List<ProjectProcess> chunk = processes.subList(from, Math.min(from + ProjectTaskService.MAX_ROWS_PER_STATEMENT, processes.size()));
+        StringBuilder sql = new StringBuilder("insert into project_process(id, project_id, process_code, status) values ");
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+          ProjectProcess p = chunk.get(i);
+          sql.append(i == 0 ? "(?,?,?,?)" : ",(?,?,?,?)");
+          args.add(p.getId()); args.add(p.getProjectId()); args.add(p.getProcessCode()); args.add(p.getStatus());
+        }
+        jdbc.update(sql.toString(), args.toArray());
+      }
+      taskService.createAll(tasks);
+    });
+  }
+
+  /** Optimistic write: bumps the version (and sets the status if given) only if nobody else changed the process since {@code expectedVersion}. */
+  public boolean bumpVersion(String processId, long expectedVersion, String status) {
+    return jdbc.update("update project_process set version=version+1, status=coalesce(?, status) where id=? and version=?",
+      status, processId, expectedVersion) == 1;
   }
 
   public ProjectProcess get(String id) {
@@ -5,7 +5,11 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -36,4 +40,15 @@ public class ProjectService {
     List<Project> list = jdbc.query("select * from project where id=?", mapper, id);
     return list.isEmpty()? null : list.get(0);
   }
+
+  public Set<String> existingIds(Collection<String> ids) {
+    Set<String> found = new HashSet<>();
+    List<String> all = List.copyOf(ids);
+    for (int from = 0; from < all.size(); from += 1000) {
+      List<String> chunk = all.subList(from, Math.min(from + 1000, all.size()));
+      String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+      found.addAll(jdbc.queryForList("select id from project where id in (" + in + ")", String.class, chunk.toArray()));
+    }
+    return found;
+  }
 }
@@ -5,12 +5,18 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class ProjectTaskService {
+  static final int MAX_ROWS_PER_STATEMENT = 500;
+  static final String INSERT_TASKS = "insert into project_task(id, process_id, process_node_code, assign_role_name, assign_role_id, status) values ";
   private final JdbcTemplate jdbc;
+  private final TaskWriteBehind writeBehind;
   private final RowMapper<ProjectTask> mapper = (rs, i) -> {
     ProjectTask t = new ProjectTask();
     t.setId(rs.getString("id"));
@@ -24,21 +30,73 @@ public class ProjectTaskService {
     return t;
   };
 
-  public ProjectTaskService(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+  public ProjectTaskService(JdbcTemplate jdbc, TaskWriteBehind writeBehind) {
+    this.jdbc = jdbc;
+    this.writeBehind = writeBehind;
+  }
+
+  /** Builds an unsaved PENDING task; every column is known up front, so inserting it needs no read-back. */
+  public ProjectTask newTask(String processId, String nodeCode, String roleName, String roleId) {
+    ProjectTask t = new ProjectTask();
+    t.setId(UUID.randomUUID().toString());
+    t.setProcessId(processId);
+    t.setProcessNodeCode(nodeCode);
+    t.setAssignRoleName(roleName);
+    t.setAssignRoleId(roleId);
+    t.setStatus("PENDING");
+    return t;
+  }
 
   public ProjectTask create(String processId, String nodeCode, String roleName, String roleId) {
-    String id = UUID.randomUUID().toString();
-    jdbc.update("insert into project_task(id, process_id, process_node_code, assign_role_name, assign_role_id, status) values (?,?,?,?,?,?)",
-      id, processId, nodeCode, roleName, roleId, "PENDING");
-    List<ProjectTask> list = jdbc.query("select * from project_task where id=?", mapper, id);
-    return list.get(0);
+    return createAll(List.of(newTask(processId, nodeCode, roleName, roleId))).get(0);
   }
 
-  public ProjectTask completeTask(String operator, String taskId, String result, String meta) {
-    jdbc.update("update project_task set result=?, status=?, meta=? where id=?",
-      result, "PENDING", meta, taskId);
-    List<ProjectTask> list = jdbc.query("select * from project_task where id=?", mapper, taskId);
-    return list.isEmpty()? null : list.get(0);
+  /** Inserts all tasks with one multi-row statement. */
+  public List<ProjectTask> createAll(List<ProjectTask> tasks) {
+    for (int from = 0; from < tasks.size(); from += MAX_ROWS_PER_STATEMENT) {
+      List<Object> args = new ArrayList<>();
+      jdbc.update(insertSql(tasks.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, tasks.size())), args), args.toArray());
+    }
+    return tasks;
+  }
+
+  static String insertSql(List<ProjectTask> tasks, List<Object> args) {
+    StringBuilder sql = new StringBuilder(INSERT_TASKS);
+    for (int i = 0; i < tasks.size(); i++) {
+      ProjectTask t = tasks.get(i);
+      sql.append(i == 0 ? "(?,?,?,?,?,?)" : ",(?,?,?,?,?,?)");
+      args.add(t.getId()); args.add(t.getProcessId()); args.add(t.getProcessNodeCode());
+      args.add(t.getAssignRoleName()); args.add(t.getAssignRoleId()); args.add(t.getStatus());
+    }
+    return sql.toString();
+  }
+
+  /** Records a task result without reading the row back; goes through the group commit when write-behind is enabled. */
+  public void recordResult(String operator, String taskId, String result, String meta) {
+    if (writeBehind.isEnabled()) {
+      writeBehind.submit(taskId, result, "PENDING", meta);
+    } else {
+      jdbc.update("update project_task set result=?, status=?, meta=? where id=?", result, "PENDING", meta, taskId);
+    }
+  }
+
+  /**
+   * Blocks until a result queued through the write-behind for {@code taskId} is committed; returns at once when
+   * nothing is queued for it. Join decisions read task results back, so they must not run ahead of the buffer.
+   */
+  public void awaitRecorded(String taskId) {
+    if (writeBehind.isEnabled()) writeBehind.awaitFlushed(taskId);
+  }
+
+  public List<ProjectTask> getAll(Collection<String> ids) {
+    List<ProjectTask> found = new ArrayList<>();
+    List<String> all = List.copyOf(ids);
+    for (int from = 0; from < all.size(); from += 1000) {
+      List<String> chunk = all.subList(from, Math.min(from + 1000, all.size()));
+      String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+      found.addAll(jdbc.query("select * from project_task where id in (" + in + ")", mapper, chunk.toArray()));
+    }
+    return found;
   }
 
   public List<ProjectTask> findByProcess(String processId) {
@@ -0,0 +1,26 @@
+package com.example.dec.service;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The app runs on PostgreSQL and, in the dev profile, on H2; statements that only one of them supports (such as
+ * data-modifying CTEs) branch on {@link #isPostgres()}.
+ */
+@Component
+public class SqlDialect {
+  private final JdbcTemplate jdbc;
+  private volatile Boolean postgres;
+
+  public SqlDialect(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+  public boolean isPostgres() {
+    Boolean p = postgres;
+    if (p == null) {
+      String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+      postgres = p = "PostgreSQL".equalsIgnoreCase(product);
+    }
+    return p;
+  }
+}
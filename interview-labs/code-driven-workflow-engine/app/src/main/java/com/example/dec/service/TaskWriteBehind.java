@@ -0,0 +1,126 @@
+package com.example.dec.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for task state transitions. Callers enqueue the update; a single flusher drains whatever has
+ * queued up (at most {@code max-batch}) and writes it as one JDBC batch in one transaction, so under load many
+ * transitions share a round trip and a commit. With {@code await-commit} callers block until their batch is
+ * durable; without it they return immediately (write-behind) and a full queue applies back-pressure. Queued results
+ * are not yet visible in {@code project_task}; readers that depend on them wait with {@link #awaitFlushed}.
+ * Once the component is shut down, submissions are written inline.
+ */
+@Component
+public class TaskWriteBehind implements DisposableBean {
+  private static final Logger log = LoggerFactory.getLogger(TaskWriteBehind.class);
+  private record Pending(String taskId, String result, String status, String meta, CompletableFuture<Void> done) {}
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final boolean enabled;
+  private final boolean awaitCommit;
+  private final int maxBatch;
+  private final BlockingQueue<Pending> queue;
+  // latest queued write per task, until it is flushed
+  private final Map<String, CompletableFuture<Void>> unflushed = new ConcurrentHashMap<>();
+  private final Thread flusher;
+  private volatile boolean running = true;
+
+  public TaskWriteBehind(JdbcTemplate jdbc, TransactionTemplate tx,
+                         @Value("${dec.task.write-behind.enabled:false}") boolean enabled,
+                         @Value("${dec.task.write-behind.await-commit:true}") boolean awaitCommit,
+                         @Value("${dec.task.write-behind.max-batch:500}") int maxBatch,
+                         @Value("${dec.task.write-behind.queue-capacity:10000}") int queueCapacity) {
+    this.jdbc = jdbc;
+    this.tx = tx;
+    this.enabled = enabled;
+    this.awaitCommit = awaitCommit;
+    this.maxBatch = maxBatch;
+    this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    this.flusher = new Thread(this::run, "task-write-behind");
+    this.flusher.setDaemon(true);
+    if (enabled) flusher.start();
+  }
+
+  public boolean isEnabled() { return enabled; }
+
+  public void submit(String taskId, String result, String status, String meta) {
+    Pending p = new Pending(taskId, result, status, meta, new CompletableFuture<>());
+    unflushed.put(taskId, p.done());
+    boolean queued = false;
+    try {
+      while (!queued && running) queued = queue.offer(p, 100, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      unflushed.remove(taskId, p.done());
+      throw new IllegalStateException("Interrupted while queueing task " + taskId, e);
+    }
+    // after shutdown the queue may never be drained again: whoever takes the entry out writes it
+    if (!queued || (!running && queue.remove(p))) flush(List.of(p));
+    if (awaitCommit) p.done().join();
+  }
+
+  /** Waits until the queued write for {@code taskId}, if any, has been committed (or has failed). */
+  public void awaitFlushed(String taskId) {
+    CompletableFuture<Void> done = unflushed.get(taskId);
+    if (done != null) done.join();
+  }
+
+  private void run() {
+    List<Pending> batch = new ArrayList<>(maxBatch);
+    while (running || !queue.isEmpty()) {
+      try {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+        batch.add(first);
+        queue.drainTo(batch, maxBatch - 1);
+        flush(batch);
+      } catch (InterruptedException e) {
+        running = false;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<Pending> batch) {
+    List<Object[]> rows = new ArrayList<>(batch.size());
+    for (Pending p : batch) rows.add(new Object[]{p.result(), p.status(), p.meta(), p.taskId()});
+    try {
+      tx.executeWithoutResult(s -> jdbc.batchUpdate("update project_task set result=?, status=?, meta=? where id=?", rows));
+      for (Pending p : batch) p.done().complete(null);
+    } catch (RuntimeException e) {
+      log.error("Group commit of {} task transitions failed", batch.size(), e);
+      for (Pending p : batch) p.done().completeExceptionally(e);
+    } finally {
+      for (Pending p : batch) unflushed.remove(p.taskId(), p.done());
+    }
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    running = false;
+    flusher.join(5000);
+    // whatever the flusher left behind (it was not started, or did not finish in time) is written here
+    List<Pending> rest = new ArrayList<>();
+    queue.drainTo(rest);
+    for (int from = 0; from < rest.size(); from += maxBatch) {
+      flush(rest.subList(from, Math.min(from + maxBatch, rest.size())));
+    }
+  }
+}
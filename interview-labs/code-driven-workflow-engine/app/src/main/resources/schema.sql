@@ -25,3 +25,8 @@ create table if not exists project_task (
   meta text,
   constraint fk_pt_process foreign key(process_id) references project_process(id)
 );
+
+alter table project_process add column if not exists version bigint not null default 0;
+
+create index if not exists idx_pp_project on project_process(project_id);
+create index if not exists idx_pt_process_node on project_task(process_id, process_node_code);
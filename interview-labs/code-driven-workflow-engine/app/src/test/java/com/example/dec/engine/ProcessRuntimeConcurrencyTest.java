@@ -0,0 +1,112 @@
+package com.example.dec.engine;
+
+import com.example.dec.constant.ProcessNodeConstants;
+import com.example.dec.constant.WorkflowConstants;
+import com.example.dec.domain.ProjectProcess;
+import com.example.dec.domain.ProjectTask;
+import com.example.dec.facade.EAOverseasProjectFacade;
+import com.example.dec.service.ProjectProcessService;
+import com.example.dec.service.ProjectService;
+import com.example.dec.service.ProjectTaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Both branches of the conflict join are completed from several threads at once, each branch more than once, on
+ * one shared cached snapshot: exactly one completion may decide, and every committed completion is one version bump.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class ProcessRuntimeConcurrencyTest {
+  private static final int DUPLICATES = 3;
+  private static final String CHINA_SALES = ProcessNodeConstants.EA_OVERSEAS_CONFLICT_CHINA_SALES;
+  private static final String PAE = ProcessNodeConstants.EA_OVERSEAS_CONFLICT_PAE;
+
+  @Autowired private EAOverseasProjectFacade facade;
+  @Autowired private ProjectService projectService;
+  @Autowired private ProjectTaskService taskService;
+  @Autowired private ProjectProcessService processService;
+  @Autowired private ProcessRuntime runtime;
+
+  @Test
+  void concurrentApprovalsDecideOnce() throws Exception {
+    ProjectProcess pp = start();
+    List<JoinOutcome> outcomes = completeConcurrently(pp, WorkflowResultType.APPROVED, WorkflowResultType.APPROVED);
+
+    assertEquals(1, count(outcomes, JoinOutcome.APPROVED));
+    assertEquals(outcomes.size(), count(outcomes, JoinOutcome.APPROVED) + count(outcomes, JoinOutcome.WAITING) + count(outcomes, JoinOutcome.DECIDED));
+    ProjectProcess stored = processService.get(pp.getId());
+    assertEquals(WorkflowConstants.APPROVED, stored.getStatus());
+    assertEquals(count(outcomes, JoinOutcome.APPROVED) + count(outcomes, JoinOutcome.WAITING), stored.getVersion());
+    assertEquals(JoinOutcome.DECIDED, runtime.complete(pp.getId(), PAE, taskIds(pp).get(PAE), WorkflowResultType.REJECTED));
+  }
+
+  @Test
+  void mixedResultsCreateOneResubmitTask() throws Exception {
+    ProjectProcess pp = start();
+    List<JoinOutcome> outcomes = completeConcurrently(pp, WorkflowResultType.APPROVED, WorkflowResultType.REJECTED);
+
+    assertEquals(1, count(outcomes, JoinOutcome.MIXED));
+    long resubmits = taskService.findByProcess(pp.getId()).stream()
+      .filter(t -> ProcessNodeConstants.EA_OVERSEAS_CONFLICT_RESUBMIT.equals(t.getProcessNodeCode())).count();
+    assertEquals(1, resubmits);
+    ProjectProcess stored = processService.get(pp.getId());
+    assertEquals(WorkflowConstants.PENDING, stored.getStatus());
+    assertEquals(count(outcomes, JoinOutcome.MIXED) + count(outcomes, JoinOutcome.WAITING), stored.getVersion());
+  }
+
+  private ProjectProcess start() {
+    return facade.startConflictProcess(projectService.create("P-CONC", "EA", "overseas", "DRAFT").getId());
+  }
+
+  private Map<String, String> taskIds(ProjectProcess pp) {
+    return taskService.findByProcess(pp.getId()).stream()
+      .collect(Collectors.toMap(ProjectTask::getProcessNodeCode, ProjectTask::getId, (a, b) -> a));
+  }
+
+  /** Records and advances every branch {@link #DUPLICATES} times, all threads released together. */
+  private List<JoinOutcome> completeConcurrently(ProjectProcess pp, WorkflowResultType chinaSales, WorkflowResultType pae) throws Exception {
+    Map<String, String> ids = taskIds(pp);
+    List<Callable<JoinOutcome>> calls = new ArrayList<>();
+    for (int i = 0; i < DUPLICATES; i++) {
+      calls.add(completion(pp, CHINA_SALES, ids.get(CHINA_SALES), chinaSales));
+      calls.add(completion(pp, PAE, ids.get(PAE), pae));
+    }
+    CyclicBarrier go = new CyclicBarrier(calls.size());
+    ExecutorService pool = Executors.newFixedThreadPool(calls.size());
+    try {
+      List<Future<JoinOutcome>> futures = new ArrayList<>();
+      for (Callable<JoinOutcome> call : calls) futures.add(pool.submit(() -> { go.await(); return call.call(); }));
+      List<JoinOutcome> outcomes = new ArrayList<>();
+      for (Future<JoinOutcome> f : futures) outcomes.add(f.get());
+      return outcomes;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private Callable<JoinOutcome> completion(ProjectProcess pp, String node, String taskId, WorkflowResultType result) {
+    return () -> {
+      taskService.recordResult("tester", taskId, result.name(), null);
+      return runtime.complete(pp.getId(), node, taskId, result);
+    };
+  }
+
+  private static long count(List<JoinOutcome> outcomes, JoinOutcome outcome) {
+    return outcomes.stream().filter(o -> o == outcome).count();
+  }
+}
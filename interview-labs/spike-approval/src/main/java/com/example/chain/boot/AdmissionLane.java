@@ -0,0 +1,53 @@
+package com.example.chain.boot;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket for one approver level, kept as a single "theoretical arrival time" (GCRA). A permit
+ * is a CAS that moves the arrival time forward by one emission interval; up to {@code burst} permits are
+ * available immediately, and the next {@code queueCapacity} are handed out as reserved slots in the future,
+ * which makes the bucket a bounded FIFO of waiting requests without a separate buffer. Anything beyond that is
+ * refused.
+ */
+final class AdmissionLane {
+    static final long REJECTED = -1;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long maxWaitNanos;
+    private final AtomicLong tat;
+
+    AdmissionLane(AdmissionProperties.Quota quota, long now) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / quota.getPermitsPerSecond()));
+        this.toleranceNanos = Math.max(0, quota.getBurst() - 1) * intervalNanos;
+        this.maxWaitNanos = Math.min((long) quota.getQueueCapacity() * intervalNanos, quota.getMaxWait().toNanos());
+        this.tat = new AtomicLong(now);
+    }
+
+    /** Nanoseconds the caller must wait before proceeding (0 when a permit is free now), or {@link #REJECTED}. */
+    long reserve(long now) {
+        for (;;) {
+            long current = tat.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - toleranceNanos;
+            if (wait > maxWaitNanos) {
+                return REJECTED;
+            }
+            if (tat.compareAndSet(current, start + intervalNanos)) {
+                return Math.max(wait, 0);
+            }
+        }
+    }
+
+    /** Requests currently holding a reserved slot in the future. */
+    long queued(long now) {
+        // the last reserved slot starts one interval before the arrival time
+        long wait = tat.get() - intervalNanos - now - toleranceNanos;
+        return wait > 0 ? (wait + intervalNanos - 1) / intervalNanos : 0;
+    }
+
+    /** How long a refused caller should back off before the queue has room again. */
+    long retryAfterNanos(long now) {
+        return Math.max(intervalNanos, tat.get() - now - toleranceNanos - maxWaitNanos);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.chain.boot;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "approval.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    /** Quota used for approver levels without an entry in {@link #levels}. */
+    private Quota defaults = new Quota();
+    /** Per approver level, keyed by the approver name in kebab case, e.g. {@code team-leader}. */
+    private Map<String, Quota> levels = new LinkedHashMap<>();
+
+    public Quota quotaFor(String approver) {
+        return levels.getOrDefault(ApprovalHandler.levelKey(approver), defaults);
+    }
+
+    @Data
+    public static class Quota {
+        /** Sustained approvals per second. */
+        private double permitsPerSecond = 1000;
+        /** Approvals admitted at once on top of the sustained rate. */
+        private int burst = 100;
+        /** Requests parked waiting for a permit before new ones are shed with 429. */
+        private int queueCapacity = 1000;
+        /** Upper bound on how long a queued request may wait, whatever the queue capacity. */
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.chain.boot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control in front of {@link ApprovalService}. Each approver level gets its own {@link AdmissionLane},
+ * so a flood of small requests cannot starve CEO approvals and vice versa. Requests over the burst wait for
+ * their reserved slot (cheap with virtual threads), and once a level's queue is full they are shed with 429
+ * and a {@code Retry-After} hint instead of piling up on the server.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApprovalAdmission {
+
+    private final ApprovalService approvalService;
+    private final AdmissionProperties properties;
+    private final MeterRegistry registry;
+
+    private final Map<String, Level> levels = new ConcurrentHashMap<>();
+
+    public ResponseEntity<ApprovalResponse> submit(ApprovalRequest request) {
+        String approver = approvalService.approverFor(request);
+        if (!properties.isEnabled() || approver == null) {
+            // nobody can approve it anyway; rejecting is cheaper than queueing
+            return ResponseEntity.ok(approvalService.processRequest(request));
+        }
+        Level level = levels.computeIfAbsent(approver, this::newLevel);
+        long arrived = System.nanoTime();
+        long wait = level.lane.reserve(arrived);
+        if (wait == AdmissionLane.REJECTED) {
+            level.shed.increment();
+            long retryAfter = TimeUnit.NANOSECONDS.toSeconds(level.lane.retryAfterNanos(arrived)) + 1;
+            log.debug("Shedding approval request for {}: queue full, retry after {}s", approver, retryAfter);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(ApprovalResponse.builder()
+                            .success(false)
+                            .status("throttled")
+                            .message("Too many approval requests for " + approver + ", please retry later")
+                            .approver(approver)
+                            .build());
+        }
+        if (wait > 0) {
+            level.queued.increment();
+            park(arrived + wait);
+        }
+        level.admitted.increment();
+        level.queueWait.record(System.nanoTime() - arrived, TimeUnit.NANOSECONDS);
+        ApprovalResponse response = approvalService.processRequest(request);
+        level.latency.record(System.nanoTime() - arrived, TimeUnit.NANOSECONDS);
+        return ResponseEntity.ok(response);
+    }
+
+    private static void park(long deadline) {
+        // the slot is already reserved, so an interrupt only ends the wait early; the request still goes through
+        for (long left; (left = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted(); ) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private Level newLevel(String approver) {
+        AdmissionLane lane = new AdmissionLane(properties.quotaFor(approver), System.nanoTime());
+        Gauge.builder("approval.admission.queued", lane, l -> l.queued(System.nanoTime()))
+                .tag("approver", approver).register(registry);
+        return new Level(lane,
+                Counter.builder("approval.admission.admitted").tag("approver", approver).register(registry),
+                Counter.builder("approval.admission.queued.total").tag("approver", approver).register(registry),
+                Counter.builder("approval.admission.shed").tag("approver", approver).register(registry),
+                Timer.builder("approval.admission.wait").tag("approver", approver).register(registry),
+                Timer.builder("approval.latency").tag("approver", approver).publishPercentiles(0.5, 0.99).register(registry));
+    }
+
+    private record Level(AdmissionLane lane, Counter admitted, Counter queued, Counter shed, Timer queueWait, Timer latency) {
+    }
+}
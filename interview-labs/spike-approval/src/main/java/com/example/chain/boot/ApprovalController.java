@@ -1,11 +1,17 @@
 package com.example.chain.boot;
 
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -16,10 +22,22 @@ import org.springframework.web.bind.annotation.RestController;
 public class ApprovalController {
 
     private final ApprovalService approvalService;
+    private final ApprovalAdmission approvalAdmission;
 
     @PostMapping("/submit")
-    public ApprovalResponse approve(@RequestBody ApprovalRequest request) {
-        log.info("Received approval request: amount={}, purpose={}", request.getAmount(), request.getPurpose());
-        return approvalService.processRequest(request);
+    public ResponseEntity<ApprovalResponse> approve(@RequestBody ApprovalRequest request) {
+        log.debug("Received approval request: amount={}, purpose={}", request.getAmount(), request.getPurpose());
+        return approvalAdmission.submit(request);
+    }
+
+    @GetMapping("/thresholds")
+    public Map<String, Double> thresholds() {
+        return approvalService.getThresholds();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> badRequest(IllegalArgumentException e) {
+        return Map.of("message", e.getMessage());
     }
 }
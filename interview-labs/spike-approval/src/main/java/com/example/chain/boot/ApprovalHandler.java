@@ -1,6 +1,8 @@
 package com.example.chain.boot;
 
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,31 +10,65 @@ public abstract class ApprovalHandler {
     protected static final Logger log = LoggerFactory.getLogger(ApprovalHandler.class);
     protected ApprovalHandler next;
 
+    private final String approver;
+    // exclusive upper bound of the amounts this handler approves; volatile so thresholds can be reloaded in place
+    private volatile double limit;
+
+    protected ApprovalHandler(String approver, double limit) {
+        this.approver = approver;
+        this.limit = limit;
+    }
+
     public void setNext(ApprovalHandler next) {
         this.next = next;
     }
 
+    public ApprovalHandler getNext() {
+        return next;
+    }
+
+    public String getApprover() {
+        return approver;
+    }
+
+    /** Approver name in kebab case, the key of its {@code approval.limit.*} and {@code approval.admission.levels.*} properties. */
+    public String getKey() {
+        return levelKey(approver);
+    }
+
+    static String levelKey(String approver) {
+        return approver.toLowerCase(Locale.ROOT).replace(' ', '-');
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public void setLimit(double limit) {
+        this.limit = limit;
+    }
+
     public ApprovalResponse handle(ApprovalRequest request) {
         if (canHandle(request)) {
             return approve(request);
         } else if (next != null) {
             return next.handle(request);
         } else {
-            log.warn("Request rejected: Amount {} too large, no one can approve", request.getAmount());
-            return ApprovalResponse.builder()
-                    .success(false)
-                    .status("rejected")
-                    .message("Amount too large, no one can approve")
-                    .build();
+            return rejected(request.getAmount());
         }
     }
 
-    protected abstract boolean canHandle(ApprovalRequest request);
-    protected abstract ApprovalResponse approve(ApprovalRequest request);
+    protected boolean canHandle(ApprovalRequest request) {
+        return request.getAmount() < limit;
+    }
+
+    protected ApprovalResponse approve(ApprovalRequest request) {
+        return createApprovedResponse(approver);
+    }
 
     protected ApprovalResponse createApprovedResponse(String approver) {
-        String approvalId = UUID.randomUUID().toString();
-        log.info("Request approved by {} (ID: {})", approver, approvalId);
+        String approvalId = newApprovalId();
+        log.debug("Request approved by {} (ID: {})", approver, approvalId);
         return ApprovalResponse.builder()
                 .success(true)
                 .approvalId(approvalId)
@@ -41,4 +77,25 @@ public abstract class ApprovalHandler {
                 .approver(approver)
                 .build();
     }
+
+    static ApprovalResponse rejected(double amount) {
+        log.warn("Request rejected: Amount {} too large, no one can approve", amount);
+        return ApprovalResponse.builder()
+                .success(false)
+                .status("rejected")
+                .message("Amount too large, no one can approve")
+                .build();
+    }
+
+    /**
+     * Random version-4 UUID drawn from {@link ThreadLocalRandom}. Approval ids only need to be unique, not
+     * unguessable, and {@link UUID#randomUUID()} goes through a shared {@code SecureRandom} that serialises
+     * request threads under load.
+     */
+    static String newApprovalId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
 }
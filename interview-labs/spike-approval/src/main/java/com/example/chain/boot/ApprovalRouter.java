@@ -0,0 +1,108 @@
+package com.example.chain.boot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The handler chain compiled into an immutable threshold table. Handler {@code i} approves amounts in
+ * {@code [bounds[i-1], bounds[i])}, so routing is a lookup of the first bound above the amount instead of a
+ * recursive walk. Instances are never mutated; {@link ApprovalService} swaps in a freshly compiled router when
+ * thresholds change.
+ */
+public final class ApprovalRouter {
+    // small tables are scanned without branches, larger ones binary searched
+    private static final int LINEAR_SCAN_MAX = 8;
+
+    private final double[] bounds;
+    private final String[] approvers;
+    private final String[] messages;
+
+    private ApprovalRouter(double[] bounds, String[] approvers) {
+        this.bounds = bounds;
+        this.approvers = approvers;
+        this.messages = new String[approvers.length];
+        for (int i = 0; i < approvers.length; i++) {
+            messages[i] = "Approved by " + approvers[i];
+        }
+    }
+
+    /**
+     * Compiles the chain starting at {@code head}. A handler whose limit does not exceed the limit of an earlier
+     * handler can never be reached by the chain walk either, so it is dropped; this keeps the table strictly
+     * ascending and the routing identical to {@link ApprovalHandler#handle}.
+     */
+    public static ApprovalRouter compile(ApprovalHandler head) {
+        List<Double> bounds = new ArrayList<>();
+        List<String> approvers = new ArrayList<>();
+        double reached = Double.NEGATIVE_INFINITY;
+        for (ApprovalHandler h = head; h != null; h = h.getNext()) {
+            double limit = h.getLimit();
+            if (!(limit > reached)) {
+                continue;
+            }
+            bounds.add(limit);
+            approvers.add(h.getApprover());
+            reached = limit;
+        }
+        double[] table = new double[bounds.size()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = bounds.get(i);
+        }
+        return new ApprovalRouter(table, approvers.toArray(new String[0]));
+    }
+
+    /** Index of the approver for {@code amount}, or the table size when nobody can approve it. */
+    public int indexOf(double amount) {
+        if (bounds.length <= LINEAR_SCAN_MAX) {
+            int i = 0;
+            for (double bound : bounds) {
+                i += amount < bound ? 0 : 1;
+            }
+            return i;
+        }
+        int lo = 0;
+        int hi = bounds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (amount < bounds[mid]) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        // NaN compares false against every bound and lands past the end, like the chain walk
+        return lo;
+    }
+
+    /** Approver that {@link #route} would pick for {@code amount}, or {@code null} when it would be rejected. */
+    public String approverFor(double amount) {
+        int i = indexOf(amount);
+        return i == approvers.length ? null : approvers[i];
+    }
+
+    public ApprovalResponse route(ApprovalRequest request) {
+        double amount = request.getAmount();
+        int i = indexOf(amount);
+        if (i == approvers.length) {
+            return ApprovalHandler.rejected(amount);
+        }
+        return ApprovalResponse.builder()
+                .success(true)
+                .approvalId(ApprovalHandler.newApprovalId())
+                .status("approved")
+                .message(messages[i])
+                .approver(approvers[i])
+                .build();
+    }
+
+    /** Approver to exclusive upper bound, in routing order. */
+    public Map<String, Double> thresholds() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < approvers.length; i++) {
+            result.put(approvers[i], bounds[i]);
+        }
+        return result;
+    }
+}
@@ -1,18 +1,26 @@
 package com.example.chain.boot;
 
 import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ApprovalService {
 
+    private static final String LIMIT_PREFIX = "approval.limit.";
+
     private final TeamLeader teamLeader;
     private final DepartmentManager departmentManager;
     private final CEO ceo;
 
     private ApprovalHandler chain;
+    // requests route through the compiled table; the chain stays the source of truth it is compiled from
+    private volatile ApprovalRouter router;
 
     @PostConstruct
     public void init() {
@@ -21,9 +29,49 @@ public class ApprovalService {
         departmentManager.setNext(ceo);
         
         this.chain = teamLeader;
+        this.router = ApprovalRouter.compile(chain);
     }
 
     public ApprovalResponse processRequest(ApprovalRequest request) {
-        return chain.handle(request);
+        return router.route(request);
+    }
+
+    public String approverFor(ApprovalRequest request) {
+        return router.approverFor(request.getAmount());
+    }
+
+    /** Exclusive upper bound per approver, keyed like the {@code approval.limit.*} properties, in routing order. */
+    public Map<String, Double> getThresholds() {
+        Map<String, Double> byKey = new LinkedHashMap<>();
+        router.thresholds().forEach((approver, limit) -> byKey.put(ApprovalHandler.levelKey(approver), limit));
+        return byKey;
+    }
+
+    /**
+     * Updates the limits of the given approvers in place and swaps in a recompiled router. Approvers are named by
+     * their property key, {@code team-leader} or {@code approval.limit.team-leader}. Unknown approvers are rejected
+     * before anything changes, so a bad request never leaves the chain half updated.
+     */
+    public synchronized Map<String, Double> reloadThresholds(Map<String, Double> limits) {
+        Map<String, ApprovalHandler> byKey = new LinkedHashMap<>();
+        for (ApprovalHandler h = chain; h != null; h = h.getNext()) {
+            byKey.put(h.getKey(), h);
+        }
+        Map<ApprovalHandler, Double> updates = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> e : limits.entrySet()) {
+            String key = e.getKey().startsWith(LIMIT_PREFIX) ? e.getKey().substring(LIMIT_PREFIX.length()) : e.getKey();
+            ApprovalHandler handler = byKey.get(key);
+            if (handler == null) {
+                throw new IllegalArgumentException("Unknown approver: " + e.getKey());
+            }
+            if (e.getValue() == null || e.getValue().isNaN()) {
+                throw new IllegalArgumentException("Invalid limit for " + e.getKey() + ": " + e.getValue());
+            }
+            updates.put(handler, e.getValue());
+        }
+        updates.forEach(ApprovalHandler::setLimit);
+        this.router = ApprovalRouter.compile(chain);
+        log.info("Approval thresholds reloaded: {}", router.thresholds());
+        return getThresholds();
     }
 }
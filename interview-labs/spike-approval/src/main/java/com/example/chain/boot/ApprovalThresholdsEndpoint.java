@@ -0,0 +1,32 @@
+package com.example.chain.boot;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hot reload of the approval limits as a management endpoint, so it sits behind the actuator exposure settings
+ * instead of the public, CORS-enabled API. It is not exposed by default; expose it only on an internal
+ * {@code management.server.port}, e.g. {@code POST /actuator/approvalthresholds/team-leader {"limit": 3000}}.
+ */
+@Component
+@Endpoint(id = "approvalthresholds")
+@RequiredArgsConstructor
+public class ApprovalThresholdsEndpoint {
+
+    private final ApprovalService approvalService;
+
+    @ReadOperation
+    public Map<String, Double> thresholds() {
+        return approvalService.getThresholds();
+    }
+
+    @WriteOperation
+    public Map<String, Double> reload(@Selector String approver, double limit) {
+        return approvalService.reloadThresholds(Map.of(approver, limit));
+    }
+}
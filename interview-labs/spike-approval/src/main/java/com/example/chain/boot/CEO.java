@@ -4,13 +4,7 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class CEO extends ApprovalHandler {
-    @Override
-    protected boolean canHandle(ApprovalRequest request) {
-        return true; // CEO handles everything else
-    }
-
-    @Override
-    protected ApprovalResponse approve(ApprovalRequest request) {
-        return createApprovedResponse("CEO");
+    public CEO() {
+        super("CEO", Double.POSITIVE_INFINITY); // CEO handles everything else
     }
 }
@@ -1,16 +1,11 @@
 package com.example.chain.boot;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class DepartmentManager extends ApprovalHandler {
-    @Override
-    protected boolean canHandle(ApprovalRequest request) {
-        return request.getAmount() < 5000;
-    }
-
-    @Override
-    protected ApprovalResponse approve(ApprovalRequest request) {
-        return createApprovedResponse("Department Manager");
+    public DepartmentManager(@Value("${approval.limit.department-manager:5000}") double limit) {
+        super("Department Manager", limit);
     }
 }
@@ -1,16 +1,11 @@
 package com.example.chain.boot;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TeamLeader extends ApprovalHandler {
-    @Override
-    protected boolean canHandle(ApprovalRequest request) {
-        return request.getAmount() < 1000;
-    }
-
-    @Override
-    protected ApprovalResponse approve(ApprovalRequest request) {
-        return createApprovedResponse("Team Leader");
+    public TeamLeader(@Value("${approval.limit.team-leader:1000}") double limit) {
+        super("Team Leader", limit);
     }
 }
@@ -0,0 +1,58 @@
+package com.example.chain.boot;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionLaneTest {
+
+    private AdmissionLane lane(double permitsPerSecond, int burst, int queueCapacity) {
+        AdmissionProperties.Quota quota = new AdmissionProperties.Quota();
+        quota.setPermitsPerSecond(permitsPerSecond);
+        quota.setBurst(burst);
+        quota.setQueueCapacity(queueCapacity);
+        quota.setMaxWait(Duration.ofMinutes(1));
+        return new AdmissionLane(quota, 0);
+    }
+
+    @Test
+    public void testBurstThenQueueThenShed() {
+        // 10 permits per second: one every 100ms
+        AdmissionLane lane = lane(10, 3, 2);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, lane.reserve(0), "burst permit " + i);
+        }
+        assertEquals(100_000_000L, lane.reserve(0));
+        assertEquals(200_000_000L, lane.reserve(0));
+        assertEquals(2, lane.queued(0));
+        assertEquals(AdmissionLane.REJECTED, lane.reserve(0));
+    }
+
+    @Test
+    public void testRefillsOverTime() {
+        AdmissionLane lane = lane(10, 1, 0);
+
+        assertEquals(0, lane.reserve(0));
+        assertEquals(AdmissionLane.REJECTED, lane.reserve(50_000_000L));
+        assertEquals(0, lane.reserve(100_000_000L));
+        assertEquals(0, lane.queued(100_000_000L));
+    }
+
+    @Test
+    public void testMaxWaitCapsQueue() {
+        AdmissionProperties.Quota quota = new AdmissionProperties.Quota();
+        quota.setPermitsPerSecond(10);
+        quota.setBurst(1);
+        quota.setQueueCapacity(100);
+        quota.setMaxWait(Duration.ofMillis(250));
+        AdmissionLane lane = new AdmissionLane(quota, 0);
+
+        assertEquals(0, lane.reserve(0));
+        assertEquals(100_000_000L, lane.reserve(0));
+        assertEquals(200_000_000L, lane.reserve(0));
+        assertEquals(AdmissionLane.REJECTED, lane.reserve(0));
+    }
+}
@@ -8,7 +8,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -60,4 +62,20 @@ public class ApprovalControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("approved"))
                 .andExpect(jsonPath("$.message").value("Approved by CEO"));
     }
+
+    @Test
+    public void testThresholdsCannotBeChangedThroughThePublicApi() throws Exception {
+        mockMvc.perform(put("/api/approval/thresholds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"team-leader\": 1000000}"))
+                .andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(post("/actuator/approvalthresholds/team-leader")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"limit\": 1000000}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/approval/thresholds"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['team-leader']").value(1000.0));
+    }
 }
@@ -0,0 +1,86 @@
+package com.example.chain.boot;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Chain walk vs compiled dispatch over a mix of amounts hitting every approver.
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=com.example.chain.boot.ApprovalDispatchBenchmark -Dexec.classpathScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ApprovalDispatchBenchmark {
+
+    private ApprovalHandler chain;
+    private ApprovalRouter router;
+    private ApprovalRequest[] requests;
+
+    @Setup
+    public void setUp() {
+        TeamLeader teamLeader = new TeamLeader(1000);
+        DepartmentManager departmentManager = new DepartmentManager(5000);
+        teamLeader.setNext(departmentManager);
+        departmentManager.setNext(new CEO());
+        chain = teamLeader;
+        router = ApprovalRouter.compile(chain);
+        requests = new ApprovalRequest[1024];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = new ApprovalRequest(ThreadLocalRandom.current().nextDouble(0, 10000), "bench");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public int chainLookup(Cursor cursor) {
+        ApprovalRequest request = requests[cursor.next++ & (requests.length - 1)];
+        int i = 0;
+        for (ApprovalHandler h = chain; h != null; h = h.getNext(), i++) {
+            if (h.canHandle(request)) {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    @Benchmark
+    public int compiledLookup(Cursor cursor) {
+        return router.indexOf(requests[cursor.next++ & (requests.length - 1)].getAmount());
+    }
+
+    @Benchmark
+    public void chainHandle(Cursor cursor, Blackhole bh) {
+        bh.consume(chain.handle(requests[cursor.next++ & (requests.length - 1)]));
+    }
+
+    @Benchmark
+    public void compiledRoute(Cursor cursor, Blackhole bh) {
+        bh.consume(router.route(requests[cursor.next++ & (requests.length - 1)]));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ApprovalDispatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.chain.boot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApprovalRouterTest {
+
+    private ApprovalHandler chain(double teamLeaderLimit, double departmentManagerLimit) {
+        TeamLeader teamLeader = new TeamLeader(teamLeaderLimit);
+        DepartmentManager departmentManager = new DepartmentManager(departmentManagerLimit);
+        teamLeader.setNext(departmentManager);
+        departmentManager.setNext(new CEO());
+        return teamLeader;
+    }
+
+    @Test
+    public void testRoutesLikeChain() {
+        ApprovalHandler chain = chain(1000, 5000);
+        ApprovalRouter router = ApprovalRouter.compile(chain);
+
+        for (double amount : new double[]{-1, 0, 999.99, 1000, 4999.99, 5000, 1e12, Double.POSITIVE_INFINITY}) {
+            ApprovalRequest request = new ApprovalRequest(amount, "test");
+            ApprovalResponse walked = chain.handle(request);
+            ApprovalResponse routed = router.route(request);
+            assertEquals(walked.isSuccess(), routed.isSuccess(), "amount " + amount);
+            assertEquals(walked.getApprover(), routed.getApprover(), "amount " + amount);
+            assertEquals(walked.getMessage(), routed.getMessage(), "amount " + amount);
+        }
+    }
+
+    @Test
+    public void testUnreachableHandlerIsDropped() {
+        // Department Manager's limit is below Team Leader's, so the chain never reaches it
+        ApprovalRouter router = ApprovalRouter.compile(chain(5000, 2000));
+
+        assertEquals(Map.of("Team Leader", 5000.0, "CEO", Double.POSITIVE_INFINITY), router.thresholds());
+        assertEquals("CEO", router.route(new ApprovalRequest(6000.0, "test")).getApprover());
+    }
+
+    @Test
+    public void testRejectedWhenNoOneCanApprove() {
+        ApprovalHandler chain = chain(1000, 5000);
+        chain.getNext().getNext().setLimit(10000);
+        ApprovalRouter router = ApprovalRouter.compile(chain);
+
+        ApprovalResponse response = router.route(new ApprovalRequest(20000.0, "Yacht"));
+        assertFalse(response.isSuccess());
+        assertEquals("rejected", response.getStatus());
+        assertEquals(3, router.indexOf(Double.NaN));
+    }
+
+    @Test
+    public void testReloadThresholds() {
+        TeamLeader teamLeader = new TeamLeader(1000);
+        ApprovalService service = new ApprovalService(teamLeader, new DepartmentManager(5000), new CEO());
+        service.init();
+
+        service.reloadThresholds(Map.of("team-leader", 3000.0));
+        assertEquals("Team Leader", service.processRequest(new ApprovalRequest(2500.0, "test")).getApprover());
+        assertEquals(3000.0, teamLeader.getLimit());
+
+        service.reloadThresholds(Map.of("approval.limit.department-manager", 8000.0));
+        assertEquals(8000.0, service.getThresholds().get("department-manager"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.reloadThresholds(Map.of("Team Leader", 10.0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.reloadThresholds(Map.of("team-leader", 10.0, "intern", 10.0)));
+        assertEquals(3000.0, service.getThresholds().get("team-leader"));
+
+        ApprovalThresholdsEndpoint endpoint = new ApprovalThresholdsEndpoint(service);
+        assertEquals(2000.0, endpoint.reload("team-leader", 2000.0).get("team-leader"));
+        assertEquals(service.getThresholds(), endpoint.thresholds());
+    }
+}
@@ -0,0 +1,37 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import org.mybatis.spring.boot.autoconfigure.ConfigurationCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Base64;
+
+/**
+ * Keys come in base64 from {@code crypto.data-key} (32 bytes, AES-256) and {@code crypto.index-key}
+ * (32+ bytes, HMAC). Keep them out of the repository; the properties file only points at environment variables.
+ * The MyBatis starter picks up the interceptor and customizer beans.
+ */
+@Configuration
+public class CryptoConfig {
+
+	@Bean
+	public FieldCipher fieldCipher(@Value("${crypto.data-key}") String dataKey, @Value("${crypto.index-key}") String indexKey) {
+		return new FieldCipher(Base64.getDecoder().decode(dataKey), Base64.getDecoder().decode(indexKey));
+	}
+
+	@Bean
+	public EncryptingParameterInterceptor encryptingParameterInterceptor(FieldCipher cipher) {
+		return new EncryptingParameterInterceptor(cipher);
+	}
+
+	@Bean
+	public DecryptingResultInterceptor decryptingResultInterceptor(FieldCipher cipher) {
+		return new DecryptingResultInterceptor(cipher);
+	}
+
+	@Bean
+	public ConfigurationCustomizer secretTypeHandler(FieldCipher cipher) {
+		return configuration -> configuration.getTypeHandlerRegistry().register(Secret.class, new SecretTypeHandler(cipher));
+	}
+}
@@ -0,0 +1,143 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link Encrypted} fields of a class, resolved once per class and cached in a {@link ClassValue}.
+ * Classes without such fields map to {@link #NONE}, so the interceptors cost one lookup for them.
+ * Parameters are never encrypted in place: {@link #sealedCopy} builds the copy that is bound instead.
+ */
+final class CryptoMetadata {
+	static final CryptoMetadata NONE = new CryptoMetadata(List.of(), List.of(), null);
+
+	private static final ClassValue<CryptoMetadata> CACHE = new ClassValue<>() {
+		@Override
+		protected CryptoMetadata computeValue(Class<?> type) {
+			return scan(type);
+		}
+	};
+
+	final List<EncryptedField> fields;
+	final boolean hasEagerFields;
+	/** names of the fields whose bound value differs from the object's: eager ciphertexts and blind indexes */
+	final Set<String> sealedNames;
+	private final List<Field> instanceFields;
+	private final Constructor<?> constructor;
+
+	private CryptoMetadata(List<EncryptedField> fields, List<Field> instanceFields, Constructor<?> constructor) {
+		this.fields = fields;
+		this.hasEagerFields = fields.stream().anyMatch(f -> !f.lazy());
+		this.instanceFields = instanceFields;
+		this.constructor = constructor;
+		Set<String> sealed = new HashSet<>();
+		for (EncryptedField f : fields) {
+			if (!f.lazy()) sealed.add(f.field().getName());
+			if (f.blindIndex() != null) sealed.add(f.blindIndex().getName());
+		}
+		this.sealedNames = Set.copyOf(sealed);
+	}
+
+	static CryptoMetadata of(Class<?> type) {
+		return CACHE.get(type);
+	}
+
+	boolean isEmpty() {
+		return fields.isEmpty();
+	}
+
+	/** the instance field named {@code name}; only called for names in {@link #sealedNames} */
+	Field field(String name) {
+		for (Field f : instanceFields) {
+			if (f.getName().equals(name)) return f;
+		}
+		throw new IllegalArgumentException(name);
+	}
+
+	/**
+	 * A field-by-field copy of {@code source} with eager fields replaced by their ciphertext and blind indexes filled.
+	 * {@link Secret} fields are shared; {@link SecretTypeHandler} encrypts them when bound.
+	 */
+	Object sealedCopy(Object source, FieldCipher cipher) throws ReflectiveOperationException {
+		if (constructor == null) {
+			throw new IllegalStateException(source.getClass().getName() + " needs a no-arg constructor to be bound with @Encrypted fields");
+		}
+		Object copy = constructor.newInstance();
+		for (Field f : instanceFields) f.set(copy, f.get(source));
+		for (EncryptedField f : fields) {
+			String plaintext = f.plaintext(source);
+			if (f.blindIndex() != null) f.blindIndex().set(copy, cipher.blindIndex(plaintext));
+			if (!f.lazy()) f.field().set(copy, cipher.encrypt(plaintext));
+		}
+		return copy;
+	}
+
+	/** {@code lazy} fields are {@link Secret}s; the others are plain Strings. {@code blindIndex} may be null. */
+	record EncryptedField(Field field, boolean lazy, Field blindIndex) {
+		String plaintext(Object target) throws IllegalAccessException {
+			Object value = field.get(target);
+			if (value == null) return null;
+			return lazy ? ((Secret) value).reveal() : (String) value;
+		}
+	}
+
+	private static CryptoMetadata scan(Class<?> type) {
+		if (type.isPrimitive() || type.isArray() || type.getName().startsWith("java.")) return NONE;
+		List<EncryptedField> fields = new ArrayList<>();
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			for (Field f : c.getDeclaredFields()) {
+				Encrypted encrypted = f.getAnnotation(Encrypted.class);
+				if (encrypted == null || Modifier.isStatic(f.getModifiers())) continue;
+				boolean lazy = f.getType() == Secret.class;
+				if (!lazy && f.getType() != String.class) {
+					throw new IllegalStateException("@Encrypted field " + c.getName() + "." + f.getName() + " must be a String or Secret");
+				}
+				f.setAccessible(true);
+				fields.add(new EncryptedField(f, lazy, blindIndexField(type, encrypted.blindIndex())));
+			}
+		}
+		return fields.isEmpty() ? NONE : new CryptoMetadata(List.copyOf(fields), instanceFields(type), noArgConstructor(type));
+	}
+
+	private static List<Field> instanceFields(Class<?> type) {
+		List<Field> all = new ArrayList<>();
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			for (Field f : c.getDeclaredFields()) {
+				if (Modifier.isStatic(f.getModifiers())) continue;
+				f.setAccessible(true);
+				all.add(f);
+			}
+		}
+		return List.copyOf(all);
+	}
+
+	private static Constructor<?> noArgConstructor(Class<?> type) {
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static Field blindIndexField(Class<?> type, String name) {
+		if (name.isEmpty()) return null;
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			try {
+				Field f = c.getDeclaredField(name);
+				if (f.getType() != String.class) throw new IllegalStateException("blind index field " + name + " must be a String");
+				f.setAccessible(true);
+				return f;
+			} catch (NoSuchFieldException ignored) {
+				// keep looking in the superclass
+			}
+		}
+		throw new IllegalStateException("blind index field " + name + " not found on " + type.getName());
+	}
+}
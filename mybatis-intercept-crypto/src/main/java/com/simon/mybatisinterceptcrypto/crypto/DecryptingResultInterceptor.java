@@ -0,0 +1,228 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.mapping.Discriminator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decrypts the plain String {@link Encrypted} fields of mapped rows, for lists and for cursors, where each row is
+ * decrypted as it is fetched. {@link Secret} fields are left sealed and decrypt on first read, so result types that
+ * only use Secrets skip the field loop entirely.
+ *
+ * <p>Objects built by nested result maps ({@code <association>}/{@code <collection>} with a {@code resultMap}) are
+ * decrypted too, following the statement's result maps rather than every field of the row. Nested selects are not
+ * followed: their rows come from a query of their own and were decrypted there. Each row is walked with an identity
+ * set, so a back reference to an ancestor (MyBatis links those to the same object) is not decrypted twice.
+ *
+ * <p>A cursor over a result map with a nested collection must be {@code resultOrdered}: otherwise MyBatis hands out
+ * each parent on its first row and adds the later members after the parent has been decrypted, so such cursors are
+ * rejected rather than returned with ciphertext in them.
+ */
+@Intercepts({
+		@Signature(type = ResultSetHandler.class, method = "handleResultSets", args = Statement.class),
+		@Signature(type = ResultSetHandler.class, method = "handleCursorResultSets", args = Statement.class)
+})
+public class DecryptingResultInterceptor implements Interceptor {
+	private final FieldCipher cipher;
+	private final Map<ResultMap, List<Nested>> nestedByResultMap = new ConcurrentHashMap<>();
+
+	public DecryptingResultInterceptor(FieldCipher cipher) {
+		this.cipher = cipher;
+	}
+
+	/** a property filled by a nested result map, and that map */
+	private record Nested(String property, ResultMap resultMap, boolean collection) { }
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Object result = invocation.proceed();
+		MappedStatement statement = mappedStatement(invocation.getTarget());
+		List<ResultMap> resultMaps = statement == null ? List.of() : statement.getResultMaps();
+		ResultMap first = resultMaps.isEmpty() ? null : resultMaps.get(0);
+		Configuration configuration = statement == null ? null : statement.getConfiguration();
+		if (result instanceof Cursor<?> cursor) {
+			if (statement != null && !statement.isResultOrdered() && hasNestedCollection(configuration, first, new HashSet<>())) {
+				cursor.close();
+				throw new IllegalStateException("cursor " + statement.getId() + " maps a nested collection and must be resultOrdered");
+			}
+			return new DecryptingCursor<>(cursor, configuration, first);
+		}
+		if (!(result instanceof List<?> rows) || rows.isEmpty()) return result;
+
+		if (resultMaps.size() > 1) {
+			// several result sets: one list per result map
+			for (int i = 0; i < rows.size() && i < resultMaps.size(); i++) {
+				if (rows.get(i) instanceof List<?> set) {
+					ResultMap resultMap = resultMaps.get(i);
+					boolean nested = !nested(configuration, resultMap).isEmpty();
+					for (Object row : set) decryptRow(row, configuration, resultMap, nested);
+				}
+			}
+			return result;
+		}
+		boolean nested = !nested(configuration, first).isEmpty();
+		for (Object row : rows) decryptRow(row, configuration, first, nested);
+		return result;
+	}
+
+	private void decryptRow(Object row, Configuration configuration, ResultMap resultMap, boolean nested) throws IllegalAccessException {
+		if (row == null) return;
+		if (nested) {
+			decrypt(row, configuration, resultMap, Collections.newSetFromMap(new IdentityHashMap<>()));
+		} else {
+			decryptFields(row);
+		}
+	}
+
+	private void decrypt(Object value, Configuration configuration, ResultMap resultMap, Set<Object> seen) throws IllegalAccessException {
+		if (value == null) return;
+		if (value instanceof Collection<?> items) {
+			for (Object item : items) decrypt(item, configuration, resultMap, seen);
+			return;
+		}
+		if (!seen.add(value)) return;
+		decryptFields(value);
+		List<Nested> nested = nested(configuration, resultMap);
+		if (nested.isEmpty()) return;
+		MetaObject meta = configuration.newMetaObject(value);
+		for (Nested n : nested) {
+			// a discriminator case may add properties this row's type does not have
+			if (meta.hasGetter(n.property())) decrypt(meta.getValue(n.property()), configuration, n.resultMap(), seen);
+		}
+	}
+
+	private void decryptFields(Object row) throws IllegalAccessException {
+		CryptoMetadata metadata = CryptoMetadata.of(row.getClass());
+		if (!metadata.hasEagerFields) return;
+		for (CryptoMetadata.EncryptedField f : metadata.fields) {
+			if (f.lazy()) continue;
+			String stored = (String) f.field().get(row);
+			if (stored != null) f.field().set(row, cipher.decrypt(stored));
+		}
+	}
+
+	private List<Nested> nested(Configuration configuration, ResultMap resultMap) {
+		if (configuration == null || resultMap == null) return List.of();
+		return nestedByResultMap.computeIfAbsent(resultMap, rm -> scan(configuration, rm));
+	}
+
+	private boolean hasNestedCollection(Configuration configuration, ResultMap resultMap, Set<String> visited) {
+		if (resultMap == null || !visited.add(resultMap.getId())) return false;
+		for (Nested n : nested(configuration, resultMap)) {
+			if (n.collection() || hasNestedCollection(configuration, n.resultMap(), visited)) return true;
+		}
+		return false;
+	}
+
+	private static List<Nested> scan(Configuration configuration, ResultMap resultMap) {
+		Map<String, Nested> nested = new LinkedHashMap<>();
+		collect(configuration, resultMap, nested);
+		Discriminator discriminator = resultMap.getDiscriminator();
+		if (discriminator != null) {
+			for (String caseId : discriminator.getDiscriminatorMap().values()) {
+				collect(configuration, configuration.getResultMap(caseId), nested);
+			}
+		}
+		return List.copyOf(nested.values());
+	}
+
+	private static void collect(Configuration configuration, ResultMap resultMap, Map<String, Nested> nested) {
+		for (ResultMapping mapping : resultMap.getPropertyResultMappings()) {
+			if (mapping.getNestedResultMapId() == null || mapping.getNestedQueryId() != null) continue;
+			nested.putIfAbsent(mapping.getProperty(), new Nested(mapping.getProperty(),
+					configuration.getResultMap(mapping.getNestedResultMapId()), Collection.class.isAssignableFrom(mapping.getJavaType())));
+		}
+	}
+
+	/** the statement behind the handler, through the proxies of other plugins; null for a handler of another kind */
+	private static MappedStatement mappedStatement(Object handler) {
+		Object target = handler;
+		while (Proxy.isProxyClass(target.getClass())) {
+			target = SystemMetaObject.forObject(Proxy.getInvocationHandler(target)).getValue("target");
+		}
+		if (!(target instanceof DefaultResultSetHandler)) return null;
+		return (MappedStatement) SystemMetaObject.forObject(target).getValue("mappedStatement");
+	}
+
+	/** Decrypts each row as the caller iterates, so a cursor over a large table still holds one row at a time. */
+	private final class DecryptingCursor<T> implements Cursor<T> {
+		private final Cursor<T> delegate;
+		private final Configuration configuration;
+		private final ResultMap resultMap;
+		private final boolean nested;
+
+		private DecryptingCursor(Cursor<T> delegate, Configuration configuration, ResultMap resultMap) {
+			this.delegate = delegate;
+			this.configuration = configuration;
+			this.resultMap = resultMap;
+			this.nested = !nested(configuration, resultMap).isEmpty();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return delegate.isOpen();
+		}
+
+		@Override
+		public boolean isConsumed() {
+			return delegate.isConsumed();
+		}
+
+		@Override
+		public int getCurrentIndex() {
+			return delegate.getCurrentIndex();
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			Iterator<T> rows = delegate.iterator();
+			return new Iterator<>() {
+				@Override
+				public boolean hasNext() {
+					return rows.hasNext();
+				}
+
+				@Override
+				public T next() {
+					T row = rows.next();
+					try {
+						decryptRow(row, configuration, resultMap, nested);
+					} catch (IllegalAccessException e) {
+						throw new IllegalStateException(e);
+					}
+					return row;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a column-backed field as encrypted at rest.
+ * <ul>
+ *   <li>{@link Secret} fields are encrypted by {@link SecretTypeHandler} and decrypted lazily on {@link Secret#reveal()};</li>
+ *   <li>{@link String} fields are bound as ciphertext through a copy of the entity and decrypted eagerly per row.</li>
+ * </ul>
+ * {@link #blindIndex()} names a String field of the same class that receives a keyed hash of the plaintext,
+ * so the column can still be searched by equality.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Encrypted {
+	String blindIndex() default "";
+}
@@ -0,0 +1,72 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binds {@link Encrypted} fields as ciphertext without touching the caller's objects: every entity the statement
+ * reads from is replaced, for this statement only, by a {@link CryptoMetadata#sealedCopy sealed copy} registered as a
+ * {@link BoundSql} additional parameter, which the parameter handler prefers over the parameter object.
+ * The caller's entity keeps its plaintext and its blind index stays unset.
+ * Parameter objects may be the entity itself, a {@code @Param} map, or a {@code foreach} over entities.
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "parameterize", args = Statement.class))
+public class EncryptingParameterInterceptor implements Interceptor {
+	private final FieldCipher cipher;
+
+	public EncryptingParameterInterceptor(FieldCipher cipher) {
+		this.cipher = cipher;
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		BoundSql boundSql = ((StatementHandler) invocation.getTarget()).getBoundSql();
+		Object parameter = boundSql.getParameterObject();
+		if (parameter != null) seal(boundSql, parameter);
+		return invocation.proceed();
+	}
+
+	private void seal(BoundSql boundSql, Object parameter) throws ReflectiveOperationException {
+		CryptoMetadata direct = CryptoMetadata.of(parameter.getClass());
+		Object directCopy = null;
+		Set<String> sealedRoots = new HashSet<>();
+		for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+			if (mapping.getMode() == ParameterMode.OUT) continue;
+			String property = mapping.getProperty();
+			PropertyTokenizer token = new PropertyTokenizer(property);
+			String root = token.getName();
+			if (!token.hasNext()) {
+				// a top-level property of the entity itself, e.g. #{phone} with the Customer as parameter
+				if (!direct.sealedNames.contains(property) || boundSql.hasAdditionalParameter(property)) continue;
+				if (directCopy == null) directCopy = direct.sealedCopy(parameter, cipher);
+				boundSql.setAdditionalParameter(property, direct.field(property).get(directCopy));
+				continue;
+			}
+			if (!sealedRoots.add(root)) continue;
+			// a nested property: #{c.phone} of a @Param map, or #{__frch_c_0.phone} of a foreach item
+			Object value;
+			if (boundSql.hasAdditionalParameter(root)) {
+				value = boundSql.getAdditionalParameter(root);
+			} else if (parameter instanceof Map<?, ?> map && map.containsKey(root)) {
+				value = map.get(root);
+			} else {
+				continue;
+			}
+			if (value == null) continue;
+			CryptoMetadata metadata = CryptoMetadata.of(value.getClass());
+			if (!metadata.isEmpty()) boundSql.setAdditionalParameter(root, metadata.sealedCopy(value, cipher));
+		}
+	}
+}
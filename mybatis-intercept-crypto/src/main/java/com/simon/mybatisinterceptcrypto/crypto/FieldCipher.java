@@ -0,0 +1,94 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * AES-256-GCM for column values and HMAC-SHA256 for blind indexes.
+ * <p>
+ * {@code Cipher} and {@code Mac} are not thread-safe, so each thread keeps its own instance. Re-initialising a
+ * cached cipher with the same key skips the AES key expansion, and a cached {@code Mac} keeps its keyed state,
+ * so per-value cost is the cipher work itself rather than provider lookup and key setup.
+ * <p>
+ * Stored format: {@code v1:} + base64(iv || ciphertext || tag). Values without the prefix are returned as they
+ * are, so existing plaintext rows stay readable while a column is migrated.
+ */
+public class FieldCipher {
+	private static final String PREFIX = "v1:";
+	private static final int IV_BYTES = 12;
+	private static final int TAG_BITS = 128;
+	private static final int INDEX_BYTES = 16;
+
+	private final SecretKeySpec dataKey;
+	private final SecretKeySpec indexKey;
+	private final SecureRandom random = new SecureRandom();
+	private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(FieldCipher::newCipher);
+	private final ThreadLocal<Mac> macs;
+
+	public FieldCipher(byte[] dataKey, byte[] indexKey) {
+		if (dataKey.length != 32) throw new IllegalArgumentException("data key must be 256 bits");
+		if (indexKey.length < 32) throw new IllegalArgumentException("index key must be at least 256 bits");
+		this.dataKey = new SecretKeySpec(dataKey, "AES");
+		this.indexKey = new SecretKeySpec(indexKey, "HmacSHA256");
+		this.macs = ThreadLocal.withInitial(this::newMac);
+	}
+
+	public String encrypt(String plaintext) {
+		if (plaintext == null) return null;
+		byte[] iv = new byte[IV_BYTES];
+		random.nextBytes(iv);
+		try {
+			Cipher cipher = ciphers.get();
+			cipher.init(Cipher.ENCRYPT_MODE, dataKey, new GCMParameterSpec(TAG_BITS, iv));
+			byte[] sealed = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+			return PREFIX + Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_BYTES + sealed.length).put(iv).put(sealed).array());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("encryption failed", e);
+		}
+	}
+
+	public String decrypt(String stored) {
+		if (stored == null || !stored.startsWith(PREFIX)) return stored;
+		byte[] raw = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+		try {
+			Cipher cipher = ciphers.get();
+			cipher.init(Cipher.DECRYPT_MODE, dataKey, new GCMParameterSpec(TAG_BITS, raw, 0, IV_BYTES));
+			return new String(cipher.doFinal(raw, IV_BYTES, raw.length - IV_BYTES), StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("decryption failed", e);
+		}
+	}
+
+	/** Deterministic keyed hash for equality lookups; the same plaintext always gives the same index. */
+	public String blindIndex(String plaintext) {
+		if (plaintext == null) return null;
+		byte[] mac = macs.get().doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(mac, 0, INDEX_BYTES);
+	}
+
+	private static Cipher newCipher() {
+		try {
+			return Cipher.getInstance("AES/GCM/NoPadding");
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(indexKey);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
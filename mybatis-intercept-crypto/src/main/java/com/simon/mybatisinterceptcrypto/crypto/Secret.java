@@ -0,0 +1,72 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import java.util.Objects;
+
+/**
+ * A column value that is encrypted at rest. Rows read from the database carry only the ciphertext; it is
+ * decrypted on the first {@link #reveal()} and kept, so a bulk select pays nothing for fields nobody reads.
+ *
+ * <p>Equality never decrypts: two values read from the database are equal when their stored ciphertexts are, and
+ * a value made with {@link #of} is only equal to itself, since the cipher is randomized and equal plaintexts do
+ * not share a ciphertext. Compare {@link #reveal()} results to compare contents. {@link #toString()} is masked.
+ */
+public final class Secret {
+	private final FieldCipher cipher;
+	/** the ciphertext this value was read with, null for values made with {@link #of} */
+	private final String sealed;
+	private volatile String plaintext;
+	private volatile String ciphertext;
+
+	private Secret(String plaintext, String ciphertext, FieldCipher cipher) {
+		this.plaintext = plaintext;
+		this.ciphertext = ciphertext;
+		this.sealed = ciphertext;
+		this.cipher = cipher;
+	}
+
+	public static Secret of(String plaintext) {
+		return new Secret(Objects.requireNonNull(plaintext), null, null);
+	}
+
+	static Secret sealed(String ciphertext, FieldCipher cipher) {
+		return new Secret(null, ciphertext, cipher);
+	}
+
+	public String reveal() {
+		String p = plaintext;
+		if (p == null) {
+			p = cipher.decrypt(ciphertext);
+			plaintext = p;
+		}
+		return p;
+	}
+
+	public boolean isRevealed() {
+		return plaintext != null;
+	}
+
+	/** Encrypts once; binding the same value again reuses the ciphertext. */
+	String ciphertext(FieldCipher with) {
+		String c = ciphertext;
+		if (c == null) {
+			c = with.encrypt(plaintext);
+			ciphertext = c;
+		}
+		return c;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o || o instanceof Secret other && sealed != null && sealed.equals(other.sealed);
+	}
+
+	@Override
+	public int hashCode() {
+		return sealed != null ? sealed.hashCode() : System.identityHashCode(this);
+	}
+
+	@Override
+	public String toString() {
+		return "******";
+	}
+}
@@ -0,0 +1,44 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/** Binds {@link Secret} as its ciphertext and reads the column back sealed, without decrypting. */
+@MappedTypes(Secret.class)
+public class SecretTypeHandler extends BaseTypeHandler<Secret> {
+	private final FieldCipher cipher;
+
+	public SecretTypeHandler(FieldCipher cipher) {
+		this.cipher = cipher;
+	}
+
+	@Override
+	public void setNonNullParameter(PreparedStatement ps, int i, Secret parameter, JdbcType jdbcType) throws SQLException {
+		ps.setString(i, parameter.ciphertext(cipher));
+	}
+
+	@Override
+	public Secret getNullableResult(ResultSet rs, String columnName) throws SQLException {
+		return seal(rs.getString(columnName));
+	}
+
+	@Override
+	public Secret getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+		return seal(rs.getString(columnIndex));
+	}
+
+	@Override
+	public Secret getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+		return seal(cs.getString(columnIndex));
+	}
+
+	private Secret seal(String stored) {
+		return stored == null ? null : Secret.sealed(stored, cipher);
+	}
+}
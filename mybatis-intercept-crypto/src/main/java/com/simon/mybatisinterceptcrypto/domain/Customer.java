@@ -0,0 +1,20 @@
+package com.simon.mybatisinterceptcrypto.domain;
+
+import com.simon.mybatisinterceptcrypto.crypto.Encrypted;
+import com.simon.mybatisinterceptcrypto.crypto.Secret;
+import lombok.Data;
+
+@Data
+public class Customer {
+	private Long id;
+	private String name;
+
+	/** decrypted on first {@code getEmail().reveal()}; {@code emailIndex} makes it searchable by equality */
+	@Encrypted(blindIndex = "emailIndex")
+	private Secret email;
+	private String emailIndex;
+
+	/** decrypted for every row that is read */
+	@Encrypted
+	private String phone;
+}
@@ -0,0 +1,27 @@
+package com.simon.mybatisinterceptcrypto.mapper;
+
+import com.simon.mybatisinterceptcrypto.domain.Customer;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+@Mapper
+public interface CustomerMapper {
+	@Insert("insert into customer(name, email, email_index, phone) values(#{name}, #{email}, #{emailIndex}, #{phone})")
+	@Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+	int insert(Customer customer);
+
+	@Select("select id, name, email, email_index, phone from customer where id = #{id}")
+	Customer findById(@Param("id") Long id);
+
+	/** pass {@code FieldCipher.blindIndex(email)}; the ciphertext itself is randomised and cannot be compared */
+	@Select("select id, name, email, email_index, phone from customer where email_index = #{emailIndex}")
+	List<Customer> findByEmailIndex(@Param("emailIndex") String emailIndex);
+
+	@Select("select id, name, email, email_index, phone from customer order by id")
+	List<Customer> findAll();
+}
@@ -0,0 +1,10 @@
+create table if not exists customer (
+	id          bigserial primary key,
+	name        varchar(255) not null,
+	-- v1:base64(iv || ciphertext || tag)
+	email       varchar(512),
+	email_index char(32),
+	phone       varchar(512)
+);
+
+create index if not exists idx_customer_email_index on customer(email_index);
@@ -1,13 +1,125 @@
 package com.simon.mybatisinterceptcrypto;
 
+import com.simon.mybatisinterceptcrypto.crypto.FieldCipher;
+import com.simon.mybatisinterceptcrypto.crypto.Secret;
+import com.simon.mybatisinterceptcrypto.domain.Customer;
+import com.simon.mybatisinterceptcrypto.mapper.CustomerMapper;
+import com.simon.mybatisinterceptcrypto.mapper.CustomerViewMapper;
+import com.simon.mybatisinterceptcrypto.mapper.CustomerViewMapper.CustomerCard;
+import com.simon.mybatisinterceptcrypto.mapper.CustomerViewMapper.CustomerGroup;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 class MybatisInterceptCryptoApplicationTests {
+	@Autowired
+	CustomerMapper mapper;
+	@Autowired
+	CustomerViewMapper views;
+	@Autowired
+	FieldCipher cipher;
+	@Autowired
+	JdbcTemplate jdbc;
 
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void customersRoundTripEncryptedWithoutTouchingTheCaller() {
+		Customer customer = new Customer();
+		customer.setName("alice");
+		customer.setEmail(Secret.of("alice@example.com"));
+		customer.setPhone("13800000000");
+
+		mapper.insert(customer);
+
+		assertThat(customer.getId()).isNotNull();
+		assertThat(customer.getPhone()).isEqualTo("13800000000");
+		assertThat(customer.getEmailIndex()).isNull();
+
+		Map<String, Object> row = jdbc.queryForMap("select email, phone from customer where id = ?", customer.getId());
+		assertThat((String) row.get("email")).startsWith("v1:");
+		assertThat((String) row.get("phone")).startsWith("v1:");
+
+		Customer found = mapper.findByEmailIndex(cipher.blindIndex("alice@example.com")).get(0);
+		assertThat(found.getId()).isEqualTo(customer.getId());
+		assertThat(found.getPhone()).isEqualTo("13800000000");
+		assertThat(found.getEmail().reveal()).isEqualTo("alice@example.com");
+	}
+
+	@Test
+	void nestedAssociationAndCollectionRowsAreDecrypted() {
+		Customer first = insert("nested", "first@example.com", "13800000001");
+		insert("nested", "second@example.com", "13800000002");
+
+		CustomerCard card = views.findCard(first.getId());
+		assertThat(card.getLabel()).isEqualTo("card-" + first.getId());
+		assertThat(card.getCustomer().getPhone()).isEqualTo("13800000001");
+		assertThat(card.getCustomer().getEmail().reveal()).isEqualTo("first@example.com");
+
+		List<CustomerGroup> groups = views.findGroups("nested");
+		assertThat(groups).singleElement().satisfies(g -> assertThat(g.getMembers())
+				.extracting(Customer::getPhone)
+				.containsExactly("13800000001", "13800000002"));
+	}
+
+	@Test
+	@Transactional
+	void cursorRowsAreDecryptedAsTheyAreFetched() throws Exception {
+		insert("cursor-a", "a1@example.com", "13900000001");
+		insert("cursor-a", "a2@example.com", "13900000002");
+		insert("cursor-b", "b1@example.com", "13900000003");
+
+		List<String> phones = new ArrayList<>();
+		try (Cursor<Customer> cursor = views.scanByName("cursor-a")) {
+			for (Customer c : cursor) phones.add(c.getPhone());
+		}
+		assertThat(phones).containsExactly("13900000001", "13900000002");
+
+		List<String> cards = new ArrayList<>();
+		try (Cursor<CustomerCard> cursor = views.scanCards("cursor-a")) {
+			for (CustomerCard card : cursor) cards.add(card.getCustomer().getPhone());
+		}
+		assertThat(cards).containsExactly("13900000001", "13900000002");
+
+		List<String> groups = new ArrayList<>();
+		try (Cursor<CustomerGroup> cursor = views.scanGroupsOrdered("cursor-")) {
+			for (CustomerGroup g : cursor) {
+				groups.add(g.getName() + g.getMembers().stream().map(Customer::getPhone).toList());
+			}
+		}
+		assertThat(groups).containsExactly("cursor-a[13900000001, 13900000002]", "cursor-b[13900000003]");
+	}
+
+	@Test
+	@Transactional
+	void unorderedCursorOverNestedCollectionIsRejected() {
+		insert("cursor-unordered", "u1@example.com", "13900000004");
+
+		// MyBatis would hand the group out on its first row and add later members after it was decrypted
+		assertThatThrownBy(() -> views.scanGroups("cursor-unordered"))
+				.hasRootCauseInstanceOf(IllegalStateException.class)
+				.hasRootCauseMessage("cursor com.simon.mybatisinterceptcrypto.mapper.CustomerViewMapper.scanGroups maps a nested collection and must be resultOrdered");
+	}
+
+	private Customer insert(String name, String email, String phone) {
+		Customer customer = new Customer();
+		customer.setName(name);
+		customer.setEmail(Secret.of(email));
+		customer.setPhone(phone);
+		mapper.insert(customer);
+		return customer;
+	}
 }
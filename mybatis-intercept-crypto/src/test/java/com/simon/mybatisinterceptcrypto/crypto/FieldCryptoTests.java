@@ -0,0 +1,178 @@
+package com.simon.mybatisinterceptcrypto.crypto;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.statement.PreparedStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldCryptoTests {
+	private final FieldCipher cipher = new FieldCipher(key(1), key(2));
+
+	static class Person {
+		@Encrypted(blindIndex = "emailIndex")
+		Secret email;
+		String emailIndex;
+		@Encrypted
+		String phone;
+	}
+
+	@Test
+	void encryptIsRandomisedAndRoundTrips() {
+		String a = cipher.encrypt("alice@example.com");
+		String b = cipher.encrypt("alice@example.com");
+
+		assertThat(a).startsWith("v1:").isNotEqualTo(b);
+		assertThat(cipher.decrypt(a)).isEqualTo("alice@example.com");
+		assertThat(cipher.decrypt("legacy plaintext")).isEqualTo("legacy plaintext");
+	}
+
+	@Test
+	void blindIndexIsDeterministicPerKey() {
+		assertThat(cipher.blindIndex("alice@example.com"))
+				.hasSize(32)
+				.isEqualTo(cipher.blindIndex("alice@example.com"))
+				.isNotEqualTo(cipher.blindIndex("bob@example.com"))
+				.isNotEqualTo(new FieldCipher(key(1), key(3)).blindIndex("alice@example.com"));
+	}
+
+	@Test
+	void sealedSecretDecryptsOnFirstRead() {
+		Secret sealed = Secret.sealed(cipher.encrypt("13800000000"), cipher);
+
+		assertThat(sealed.isRevealed()).isFalse();
+		assertThat(sealed.reveal()).isEqualTo("13800000000");
+		assertThat(sealed.isRevealed()).isTrue();
+		assertThat(sealed).hasToString("******");
+	}
+
+	@Test
+	void secretsCompareByStoredCiphertextWithoutDecrypting() {
+		String stored = cipher.encrypt("alice@example.com");
+		Secret a = Secret.sealed(stored, cipher);
+		Secret b = Secret.sealed(stored, cipher);
+
+		assertThat(a).isEqualTo(b).hasSameHashCodeAs(b);
+		assertThat(a).isNotEqualTo(Secret.sealed(cipher.encrypt("alice@example.com"), cipher));
+		assertThat(a.isRevealed()).isFalse();
+		assertThat(Secret.of("alice@example.com")).isNotEqualTo(Secret.of("alice@example.com"));
+	}
+
+	@Test
+	void entityParameterIsBoundEncryptedAndLeftUntouched() throws Throwable {
+		Person p = person();
+
+		List<String> bound = bind(p, Map.of(), "email", "emailIndex", "phone");
+
+		assertThat(cipher.decrypt(bound.get(0))).isEqualTo("alice@example.com");
+		assertThat(bound.get(1)).isEqualTo(cipher.blindIndex("alice@example.com"));
+		assertThat(cipher.decrypt(bound.get(2))).isEqualTo("13800000000");
+		assertUntouched(p);
+	}
+
+	@Test
+	void paramMapAndForeachItemsAreBoundEncryptedAndLeftUntouched() throws Throwable {
+		Person p = person();
+		Person q = person();
+
+		List<String> named = bind(Map.of("person", p, "param1", p), Map.of(), "person.emailIndex", "person.phone");
+		List<String> items = bind(Map.of("list", List.of(q)), Map.of("__frch_person_0", q),
+				"__frch_person_0.emailIndex", "__frch_person_0.phone");
+
+		for (List<String> bound : List.of(named, items)) {
+			assertThat(bound.get(0)).isEqualTo(cipher.blindIndex("alice@example.com"));
+			assertThat(cipher.decrypt(bound.get(1))).isEqualTo("13800000000");
+		}
+		assertUntouched(p);
+		assertUntouched(q);
+	}
+
+	/** runs a real {@link DefaultParameterHandler} through the interceptor and returns the strings it set */
+	private List<String> bind(Object parameter, Map<String, Object> additional, String... properties) throws Throwable {
+		Configuration configuration = new Configuration();
+		configuration.getTypeHandlerRegistry().register(Secret.class, new SecretTypeHandler(cipher));
+		List<ParameterMapping> mappings = new ArrayList<>();
+		for (String property : properties) mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+		MappedStatement statement = new MappedStatement.Builder(configuration, "bind",
+				new StaticSqlSource(configuration, "bind"), SqlCommandType.INSERT).build();
+		BoundSql boundSql = new BoundSql(configuration, "bind", mappings, parameter);
+		additional.forEach(boundSql::setAdditionalParameter);
+		StatementHandler handler = new PreparedStatementHandler(null, statement, parameter, RowBounds.DEFAULT, null, boundSql);
+
+		List<String> bound = new ArrayList<>();
+		PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+					if (method.getName().equals("setString")) bound.add((String) args[1]);
+					return null;
+				});
+		new EncryptingParameterInterceptor(cipher).intercept(new Invocation(handler,
+				StatementHandler.class.getMethod("parameterize", Statement.class), new Object[]{ps}));
+		return bound;
+	}
+
+	private static Person person() {
+		Person p = new Person();
+		p.email = Secret.of("alice@example.com");
+		p.phone = "13800000000";
+		return p;
+	}
+
+	private static void assertUntouched(Person p) {
+		assertThat(p.phone).isEqualTo("13800000000");
+		assertThat(p.emailIndex).isNull();
+		assertThat(p.email.reveal()).isEqualTo("alice@example.com");
+	}
+
+	@Test
+	void resultsDecryptStringsAndLeaveSecretsSealed() throws Throwable {
+		Person row = new Person();
+		row.email = Secret.sealed(cipher.encrypt("alice@example.com"), cipher);
+		row.phone = cipher.encrypt("13800000000");
+		ResultSetHandler handler = new ResultSetHandler() {
+			@Override
+			public <E> List<E> handleResultSets(Statement stmt) {
+				@SuppressWarnings("unchecked") List<E> rows = (List<E>) List.of(row);
+				return rows;
+			}
+
+			@Override
+			public <E> org.apache.ibatis.cursor.Cursor<E> handleCursorResultSets(Statement stmt) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void handleOutputParameters(java.sql.CallableStatement cs) {
+			}
+		};
+
+		new DecryptingResultInterceptor(cipher).intercept(new Invocation(handler,
+				ResultSetHandler.class.getMethod("handleResultSets", Statement.class), new Object[]{null}));
+
+		assertThat(row.phone).isEqualTo("13800000000");
+		assertThat(row.email.isRevealed()).isFalse();
+		assertThat(row.email.reveal()).isEqualTo("alice@example.com");
+	}
+
+	private static byte[] key(int seed) {
+		byte[] key = new byte[32];
+		for (int i = 0; i < key.length; i++) key[i] = (byte) (seed * 31 + i);
+		return key;
+	}
+}
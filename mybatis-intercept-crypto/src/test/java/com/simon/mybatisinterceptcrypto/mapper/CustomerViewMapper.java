@@ -0,0 +1,72 @@
+package com.simon.mybatisinterceptcrypto.mapper;
+
+import com.simon.mybatisinterceptcrypto.domain.Customer;
+import lombok.Data;
+import org.apache.ibatis.annotations.Many;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.One;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.List;
+
+/** Nested result maps and cursors over {@code customer}, for the result interceptor tests. */
+@Mapper
+public interface CustomerViewMapper {
+
+	@Data
+	class CustomerCard {
+		private String label;
+		private Customer customer;
+	}
+
+	@Data
+	class CustomerGroup {
+		private String name;
+		private List<Customer> members;
+	}
+
+	// nested result maps are not auto-mapped, so every column is listed
+	@Select("select id, name, email, email_index, phone from customer where id = #{id}")
+	@Results(id = "customer", value = {
+			@Result(id = true, column = "id", property = "id"),
+			@Result(column = "name", property = "name"),
+			@Result(column = "email", property = "email"),
+			@Result(column = "email_index", property = "emailIndex"),
+			@Result(column = "phone", property = "phone")
+	})
+	Customer findById(@Param("id") Long id);
+
+	@Select("select 'card-' || id as label, id, name, email, email_index, phone from customer where id = #{id}")
+	@Results(id = "card", value = {
+			@Result(id = true, column = "label", property = "label"),
+			@Result(property = "customer", one = @One(resultMap = "customer"))
+	})
+	CustomerCard findCard(@Param("id") Long id);
+
+	@Select("select name as group_name, id, name, email, email_index, phone from customer where name = #{name} order by id")
+	@Results(id = "group", value = {
+			@Result(id = true, column = "group_name", property = "name"),
+			@Result(property = "members", many = @Many(resultMap = "customer"))
+	})
+	List<CustomerGroup> findGroups(@Param("name") String name);
+
+	@Select("select id, name, email, email_index, phone from customer where name = #{name} order by id")
+	@ResultMap("customer")
+	Cursor<Customer> scanByName(@Param("name") String name);
+
+	@Select("select name as group_name, id, name, email, email_index, phone from customer where name like #{prefix} || '%' order by name, id")
+	@ResultMap("group")
+	Cursor<CustomerGroup> scanGroups(@Param("prefix") String prefix);
+
+	/** the same cursor, resultOrdered (see CustomerViewMapper.xml), so each group is complete when it is handed out */
+	Cursor<CustomerGroup> scanGroupsOrdered(@Param("prefix") String prefix);
+
+	@Select("select 'card-' || id as label, id, name, email, email_index, phone from customer where name = #{name} order by id")
+	@ResultMap("card")
+	Cursor<CustomerCard> scanCards(@Param("name") String name);
+}
@@ -0,0 +1,13 @@
+package com.simon.permissionannotation;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Where {@link PermissionInterceptor} learns the caller's level. Levels are ordered by declaration in
+ * {@link PermissionEnum}: a caller holding a level may call every handler that requires it or a lower one.
+ */
+public interface GrantedPermissionsResolver {
+
+    /** Highest level the caller holds, {@code null} if none. */
+    PermissionEnum resolve(HttpServletRequest request);
+}
@@ -0,0 +1,34 @@
+package com.simon.permissionannotation;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Dev/test resolver: trusts the comma-separated {@value #HEADER} header, e.g. {@code KID,MOM}. Any client can send
+ * it, so it is only registered with {@code permission.header-resolver.enabled=true}.
+ */
+public class HeaderPermissionsResolver implements GrantedPermissionsResolver {
+    public static final String HEADER = "X-Permissions";
+    private static final PermissionEnum[] LEVELS = PermissionEnum.values();
+
+    @Override
+    public PermissionEnum resolve(HttpServletRequest request) {
+        return highest(request.getHeader(HEADER));
+    }
+
+    /** Unknown names are ignored, so a stale client cannot break the request, only lose access. */
+    static PermissionEnum highest(String header) {
+        if (header == null) {
+            return null;
+        }
+        PermissionEnum highest = null;
+        for (String name : header.split(",")) {
+            String trimmed = name.trim();
+            for (PermissionEnum level : LEVELS) {
+                if (level.name().equals(trimmed) && (highest == null || level.compareTo(highest) > 0)) {
+                    highest = level;
+                }
+            }
+        }
+        return highest;
+    }
+}
@@ -6,8 +6,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/hi")
+@Permission(level = PermissionEnum.KID)
 public class HiController {
-    @Permission(level = PermissionEnum.KID)
     @GetMapping("/kid")
     public String hiKid() {
         return "Hi kid!";
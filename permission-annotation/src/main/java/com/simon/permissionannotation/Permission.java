@@ -2,8 +2,13 @@ package com.simon.permissionannotation;
 
 import java.lang.annotation.*;
 
+/**
+ * Permission a handler requires. On a controller class it applies to every handler method that does not declare its
+ * own; a method-level annotation always wins.
+ */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.METHOD)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Inherited
 @Documented
 public @interface Permission {
     PermissionEnum level() default PermissionEnum.KID;
@@ -1,5 +1,6 @@
 package com.simon.permissionannotation;
 
+/** Declared from lowest to highest: a level includes every level before it. */
 public enum PermissionEnum {
     KID, MOM, DAD
 }
@@ -4,35 +4,43 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+/**
+ * Rejects a request with 403 unless the caller's level, from the {@link GrantedPermissionsResolver}, is at least the
+ * one its handler requires. The requirement comes from {@link PermissionRegistry}, so the check is one table probe
+ * and one ordinal comparison.
+ */
 @Slf4j
 @Component
-//public class PermissionInterceptor extends HandlerInterceptorAdapter {
 public class PermissionInterceptor implements HandlerInterceptor {
+    private final PermissionRegistry registry;
+    private final GrantedPermissionsResolver resolver;
+
+    public PermissionInterceptor(PermissionRegistry registry, GrantedPermissionsResolver resolver) {
+        this.registry = registry;
+        this.resolver = resolver;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        HandlerMethod handlerMethod = (HandlerMethod) handler;
-        Permission methodAnnotation = handlerMethod.getMethodAnnotation(Permission.class);
-        if (methodAnnotation == null) {
-            // ... check user
+        // static resources and other non-controller handlers carry no permission
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
             return true;
         }
-        PermissionEnum level = methodAnnotation.level();
-        if (PermissionEnum.KID.equals(level)) {
-            log.info("I'm  kid");
-        }
-        if (PermissionEnum.MOM.equals(level)) {
-            log.info("I'm  mom");
-        }
-        if (PermissionEnum.DAD.equals(level)) {
-            log.info("I'm  dad");
+        PermissionEnum required = registry.required(handlerMethod);
+        if (required == null || satisfies(resolver.resolve(request), required)) {
+            return true;
         }
-//        return super.preHandle(request, response, handler);
-        return true;
+        log.debug("{} {} needs {}", request.getMethod(), request.getRequestURI(), required);
+        response.sendError(HttpServletResponse.SC_FORBIDDEN);
+        return false;
+    }
+
+    /** Levels are ordered by declaration, so DAD passes a KID check. */
+    static boolean satisfies(PermissionEnum held, PermissionEnum required) {
+        return held != null && held.compareTo(required) >= 0;
     }
 }
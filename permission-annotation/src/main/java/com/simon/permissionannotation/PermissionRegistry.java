@@ -0,0 +1,66 @@
+package com.simon.permissionannotation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Required permission of every mapped handler method, resolved once after startup instead of per request.
+ * The table is keyed by the {@link Method} instance: the per-request {@link HandlerMethod} copies share it, so lookups
+ * are identity hash probes. Methods mapped after startup are resolved on each call.
+ */
+@Slf4j
+@Component
+public class PermissionRegistry implements SmartInitializingSingleton {
+    // looked up lazily: the handler mappings are built from WebMvcConfig, which needs the interceptor, which needs us
+    private final ObjectProvider<RequestMappingHandlerMapping> mappings;
+    private volatile Map<Method, Optional<PermissionEnum>> table = Collections.emptyMap();
+
+    public PermissionRegistry(ObjectProvider<RequestMappingHandlerMapping> mappings) {
+        this.mappings = mappings;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load(mappings.orderedStream()
+                .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                .collect(Collectors.toList()));
+    }
+
+    void load(Collection<HandlerMethod> handlerMethods) {
+        Map<Method, Optional<PermissionEnum>> built = new IdentityHashMap<>();
+        for (HandlerMethod handlerMethod : handlerMethods) {
+            built.put(handlerMethod.getMethod(), resolve(handlerMethod));
+        }
+        table = Collections.unmodifiableMap(built);
+        log.info("permission table: {} handler methods, {} guarded", built.size(),
+                built.values().stream().filter(Optional::isPresent).count());
+    }
+
+    /** Permission the handler requires, {@code null} if it is open to everyone. */
+    public PermissionEnum required(HandlerMethod handlerMethod) {
+        Optional<PermissionEnum> required = table.get(handlerMethod.getMethod());
+        if (required == null) required = resolve(handlerMethod);
+        return required.orElse(null);
+    }
+
+    private static Optional<PermissionEnum> resolve(HandlerMethod handlerMethod) {
+        Permission permission = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Permission.class);
+        if (permission == null) {
+            permission = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Permission.class);
+        }
+        return Optional.ofNullable(permission).map(Permission::level);
+    }
+}
@@ -0,0 +1,26 @@
+package com.simon.permissionannotation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Picks the {@link GrantedPermissionsResolver}: the header resolver when explicitly enabled, otherwise the
+ * principal's roles. Declaring another resolver bean replaces the default.
+ */
+@Configuration
+public class PermissionResolverConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "permission.header-resolver", name = "enabled", havingValue = "true")
+    public GrantedPermissionsResolver headerPermissionsResolver() {
+        return new HeaderPermissionsResolver();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(GrantedPermissionsResolver.class)
+    public GrantedPermissionsResolver rolePermissionsResolver() {
+        return new RolePermissionsResolver();
+    }
+}
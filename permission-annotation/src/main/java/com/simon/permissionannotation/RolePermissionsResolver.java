@@ -0,0 +1,25 @@
+package com.simon.permissionannotation;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Default resolver: the caller's levels are the roles of the authenticated principal, checked through
+ * {@link HttpServletRequest#isUserInRole}, so it works with container authentication as well as a security filter
+ * that wraps the request. Anonymous callers hold no level.
+ */
+public class RolePermissionsResolver implements GrantedPermissionsResolver {
+    private static final PermissionEnum[] LEVELS = PermissionEnum.values();
+
+    @Override
+    public PermissionEnum resolve(HttpServletRequest request) {
+        if (request.getUserPrincipal() == null) {
+            return null;
+        }
+        for (int i = LEVELS.length - 1; i >= 0; i--) {
+            if (request.isUserInRole(LEVELS[i].name())) {
+                return LEVELS[i];
+            }
+        }
+        return null;
+    }
+}
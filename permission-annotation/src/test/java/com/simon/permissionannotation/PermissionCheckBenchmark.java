@@ -0,0 +1,104 @@
+package com.simon.permissionannotation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Per-request annotation lookup with the old if-chain vs the startup permission table, over all {@link HiController}
+ * handlers. Run with {@code mvn test-compile exec:java -Dexec.mainClass=com.simon.permissionannotation.PermissionCheckBenchmark -Dexec.classpathScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PermissionCheckBenchmark {
+
+    private HandlerMethod[] handlers;
+    private PermissionRegistry registry;
+    private PermissionInterceptor interceptor;
+    private PermissionEnum held;
+
+    @Setup
+    public void setUp() {
+        HiController controller = new HiController();
+        List<HandlerMethod> methods = new ArrayList<>();
+        for (Method method : HiController.class.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(GetMapping.class)) methods.add(new HandlerMethod(controller, method));
+        }
+        handlers = methods.toArray(new HandlerMethod[0]);
+        registry = new PermissionRegistry(null);
+        registry.load(methods);
+        interceptor = new PermissionInterceptor(registry, new HeaderPermissionsResolver());
+        held = HeaderPermissionsResolver.highest("KID,MOM");
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        HandlerMethod next(HandlerMethod[] handlers) {
+            if (next == handlers.length) next = 0;
+            return handlers[next++];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hi");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        @Setup
+        public void setUp() {
+            // every handler passes: a denial would commit the mock response and fail the next call
+            request.addHeader(HeaderPermissionsResolver.HEADER, "DAD");
+        }
+    }
+
+    @Benchmark
+    public int annotationLookup(Cursor cursor) {
+        Permission permission = cursor.next(handlers).getMethodAnnotation(Permission.class);
+        if (permission == null) return -1;
+        PermissionEnum level = permission.level();
+        if (PermissionEnum.KID.equals(level)) return 0;
+        if (PermissionEnum.MOM.equals(level)) return 1;
+        if (PermissionEnum.DAD.equals(level)) return 2;
+        return -1;
+    }
+
+    @Benchmark
+    public boolean tableLookup(Cursor cursor) {
+        PermissionEnum required = registry.required(cursor.next(handlers));
+        return required == null || PermissionInterceptor.satisfies(held, required);
+    }
+
+    @Benchmark
+    public boolean preHandle(Cursor cursor, Exchange exchange) throws Exception {
+        return interceptor.preHandle(exchange.request, exchange.response, cursor.next(handlers));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PermissionCheckBenchmark.class.getSimpleName()).build()).run();
+    }
+}
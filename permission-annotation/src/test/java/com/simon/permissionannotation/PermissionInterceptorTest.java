@@ -0,0 +1,51 @@
+package com.simon.permissionannotation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "permission.header-resolver.enabled=true")
+@AutoConfigureMockMvc
+class PermissionInterceptorTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void classLevelPermissionAppliesToUnannotatedMethods() throws Exception {
+        mvc.perform(get("/hi/kid")).andExpect(status().isForbidden());
+        mvc.perform(get("/hi/kid").header(HeaderPermissionsResolver.HEADER, "KID"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Hi kid!"));
+    }
+
+    @Test
+    void methodLevelPermissionOverridesClassLevel() throws Exception {
+        mvc.perform(get("/hi/dad").header(HeaderPermissionsResolver.HEADER, "KID"))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/hi/dad").header(HeaderPermissionsResolver.HEADER, "KID, DAD"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void higherLevelsPassLowerChecks() throws Exception {
+        mvc.perform(get("/hi/kid").header(HeaderPermissionsResolver.HEADER, "DAD"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/hi/mom").header(HeaderPermissionsResolver.HEADER, "DAD"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/hi/dad").header(HeaderPermissionsResolver.HEADER, "MOM"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unknownPermissionNamesAreIgnored() throws Exception {
+        mvc.perform(get("/hi/mom").header(HeaderPermissionsResolver.HEADER, "GRANDMA,MOM"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,41 @@
+package com.simon.permissionannotation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Without the header resolver enabled, levels come only from the authenticated principal's roles. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RolePermissionsResolverTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void headerIsNotTrustedByDefault() throws Exception {
+        mvc.perform(get("/hi/dad").header(HeaderPermissionsResolver.HEADER, "DAD"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void principalRolesGrantTheirLevelAndBelow() throws Exception {
+        mvc.perform(get("/hi/kid").with(user("dad", "DAD"))).andExpect(status().isOk());
+        mvc.perform(get("/hi/dad").with(user("dad", "DAD"))).andExpect(status().isOk());
+        mvc.perform(get("/hi/mom").with(user("kid", "KID"))).andExpect(status().isForbidden());
+    }
+
+    private static RequestPostProcessor user(String name, String role) {
+        return request -> {
+            request.setUserPrincipal(() -> name);
+            request.addUserRole(role);
+            return request;
+        };
+    }
+}